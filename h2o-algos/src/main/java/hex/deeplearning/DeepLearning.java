@@ -9,7 +9,7 @@ import water.*;
 import water.exceptions.H2OIllegalArgumentException;
 import water.exceptions.H2OModelBuilderIllegalArgumentException;
 import water.fvec.Frame;
-import water.fvec.RebalanceDataSet;
+import water.fvec.LayoutPolicy;
 import water.fvec.Vec;
 import water.init.Linpack;
 import water.init.NetworkTest;
@@ -177,11 +177,13 @@ public class DeepLearning extends ModelBuilder<DeepLearningModel,DeepLearningMod
       _job.update(0,"Load balancing " + name.substring(name.length() - 5) + " data...");
       int chunks = desiredChunks(original_fr, local);
       if (!_parms._reproducible)  {
-        if (original_chunks >= chunks){
+        int to = LayoutPolicy.rebalanceTo(original_fr, chunks);
+        if (to < 0){
           if (!_parms._quiet_mode)
             Log.info("Dataset already contains " + original_chunks + " chunks. No need to rebalance.");
           return original_fr;
         }
+        chunks = to;
       } else { //reproducible, set chunks to 1
         assert chunks == 1;
         if (!_parms._quiet_mode)
@@ -191,12 +193,7 @@ public class DeepLearning extends ModelBuilder<DeepLearningModel,DeepLearningMod
       }
       if (!_parms._quiet_mode)
         Log.info("Rebalancing " + name.substring(name.length()-5) + " dataset into " + chunks + " chunks.");
-      Key newKey = Key.make(name + ".chks" + chunks);
-      RebalanceDataSet rb = new RebalanceDataSet(original_fr, newKey, chunks);
-      H2O.submitTask(rb).join();
-      Frame rebalanced_fr = DKV.get(newKey).get();
-      Scope.track(rebalanced_fr);
-      return rebalanced_fr;
+      return LayoutPolicy.rebalance(original_fr, chunks, name, _job._key);
     }
     return original_fr;
   }
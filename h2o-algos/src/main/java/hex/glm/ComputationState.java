@@ -626,10 +626,18 @@ public final class ComputationState {
     }
   }
 
+  // Opt-in: bounded partials fold map results in whatever order maps finish,
+  // so the Gram, and the coefficients, are no longer reproducible bit for bit
+  private static final boolean BOUNDED_PARTIALS = Boolean.getBoolean(H2O.OptArgs.SYSTEM_PROP_PREFIX + "glm.boundedPartials");
+  private static final int BOUNDED_PARTIALS_COLS = 1000;
+
   protected GramXY computeNewGram(DataInfo activeData, double [] beta, GLMParameters.Solver s){
     double obj_reg = _parms._obj_reg;
     if(_glmw == null) _glmw = new GLMModel.GLMWeightsFun(_parms);
-    GLMTask.GLMIterationTask gt = new GLMTask.GLMIterationTask(_job._key, activeData, _glmw, beta,_activeClass).doAll(activeData._adaptedFrame);
+    GLMTask.GLMIterationTask gt = new GLMTask.GLMIterationTask(_job._key, activeData, _glmw, beta,_activeClass);
+    // Every map makes a full Gram; for wide data do not keep a reduce tree's worth of them alive
+    if(BOUNDED_PARTIALS && activeData.fullN() >= BOUNDED_PARTIALS_COLS) gt.withBoundedPartials();
+    gt.doAll(activeData._adaptedFrame);
     gt._gram.mul(obj_reg);
     ArrayUtils.mult(gt._xy,obj_reg);
     int [] activeCols = activeData.activeCols();
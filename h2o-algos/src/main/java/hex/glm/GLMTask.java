@@ -278,8 +278,8 @@ public abstract class GLMTask  {
          int n = vals.length;
          if(chunks[i].isSparseZero())
            n = chunks[i].getSparseDoubles(vals,ids);
-         else
-          chunks[i].getDoubles(vals,0,n);
+         else if(chunks[i].decodeDoubles(vals,null,0,n) == 0)
+           continue; // no NAs in this chunk
          for (int r = 0; r < n; ++r) {
            if (ws[r] != 0 && Double.isNaN(vals[r])) {
              ws[r] = 0;
@@ -627,6 +627,9 @@ public class KMeans extends ClusteringModelBuilder<KMeansModel,KMeansModel.KMean
   //   Compute distance between clusters
   //   Compute total sqr distance
 
+  // Rows decoded per column at a time by Chunk.decodeDoubles
+  private static final int DECODE_BATCH = 1024;
+
   private static class LloydsIterationTask extends MRTask<LloydsIterationTask> {
     // IN
     double[][] _centers;
@@ -679,37 +682,45 @@ public class KMeans extends ClusteringModelBuilder<KMeansModel,KMeansModel.KMean
       // Find closest cluster center for each row
       double[] values = new double[N]; // Temp data to hold row as doubles
       ClusterDist cd = new ClusterDist();
-      for( int row = 0; row < cs[0]._len; row++ ) {
-        double weight = _hasWeight ? cs[N].atd(row) : 1;
-        if (weight == 0) continue; //skip holdout rows
-        assert(weight == 1); //K-Means only works for weight 1 (or weight 0 for holdout)
-        data(values, cs, row, _means, _mults, _modes); // Load row as doubles
-        closest(_centers, values, _isCats, cd); // Find closest cluster center
-        if (cd._cluster != assignment.at8(row)) {
-          _reassigned_count+=weight;
-          assignment.set(row, cd._cluster);
-        }
-        for( int clu=0; clu< _k; clu++ ) {
-          for( int col=0; col<N; col++ ) {
-            if (cd._cluster == clu) {
-              _lo[clu][col] = Math.min(values[col], _lo[clu][col]);
-              _hi[clu][col] = Math.max(values[col], _hi[clu][col]);
+      // Batch-decode the columns a block of rows at a time
+      final int len = cs[0]._len;
+      double[][] block = new double[N][Math.min(len, DECODE_BATCH)];
+      for( int from = 0; from < len; from += DECODE_BATCH ) {
+        final int to = Math.min(len, from + DECODE_BATCH);
+        for( int col = 0; col < N; col++ )
+          cs[col].decodeDoubles(block[col], null, from, to);
+        for( int row = from; row < to; row++ ) {
+          double weight = _hasWeight ? cs[N].atd(row) : 1;
+          if (weight == 0) continue; //skip holdout rows
+          assert(weight == 1); //K-Means only works for weight 1 (or weight 0 for holdout)
+          data(values, block, row-from, _means, _mults, _modes); // Load row as doubles
+          closest(_centers, values, _isCats, cd); // Find closest cluster center
+          if (cd._cluster != assignment.at8(row)) {
+            _reassigned_count+=weight;
+            assignment.set(row, cd._cluster);
+          }
+          for( int clu=0; clu< _k; clu++ ) {
+            for( int col=0; col<N; col++ ) {
+              if (cd._cluster == clu) {
+                _lo[clu][col] = Math.min(values[col], _lo[clu][col]);
+                _hi[clu][col] = Math.max(values[col], _hi[clu][col]);
+              }
             }
           }
+          int clu = cd._cluster;
+          assert clu != -1;       // No broken rows
+          _cSqr[clu] += cd._dist;
+
+          // Add values and increment counter for chosen cluster
+          for( int col = 0; col < N; col++ )
+            if( _isCats[col] != null )
+              _cats[clu][col][(int)values[col]]++; // Histogram the cats
+            else 
+              _cMeans[clu][col] += values[col]; // Sum the column centers
+          _size[clu]++;
+          // Track worst row
+          if( cd._dist > _worst_err) { _worst_err = cd._dist; _worst_row = cs[0].start()+row; }
         }
-        int clu = cd._cluster;
-        assert clu != -1;       // No broken rows
-        _cSqr[clu] += cd._dist;
-
-        // Add values and increment counter for chosen cluster
-        for( int col = 0; col < N; col++ )
-          if( _isCats[col] != null )
-            _cats[clu][col][(int)values[col]]++; // Histogram the cats
-          else 
-            _cMeans[clu][col] += values[col]; // Sum the column centers
-        _size[clu]++;
-        // Track worst row
-        if( cd._dist > _worst_err) { _worst_err = cd._dist; _worst_row = cs[0].start()+row; }
       }
       // Scale back down to local mean
       for( int clu = 0; clu < _k; clu++ )
@@ -852,6 +863,12 @@ public class KMeans extends ClusteringModelBuilder<KMeansModel,KMeansModel.KMean
     }
   }
 
+  private static void data(double[] values, double[][] block, int r, double[] means, double[] mults, int[] modes) {
+    for( int i = 0; i < values.length; i++ ) {
+      values[i] = Kmeans_preprocessData(block[i][r], i, means, mults, modes);
+    }
+  }
+
   private static void data(double[] values, Chunk[] chks, int row, double[] means, double[] mults, int[] modes) {
     for( int i = 0; i < values.length; i++ ) {
       values[i] = Kmeans_preprocessData(chks[i].atd(row), i, means, mults, modes);
@@ -308,7 +308,7 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
       Chunk resChk = _chks[id][_workIdx];
       int len = resChk._len;
       double [] ys = ScoreBuildHistogram2.this._ys[id];
-      if(_weightIdx != -1) _chks[id][_weightIdx].getDoubles(ws, 0, len);
+      if(_weightIdx != -1) _chks[id][_weightIdx].decodeDoubles(ws, null, 0, len);
       final int hcslen = _lh.length;
       boolean extracted = false;
       for (int n = 0; n < hcslen; n++) {
@@ -320,7 +320,7 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
           if (hi == lo || h == null) continue; // Ignore untracked columns in this split
           if (h._vals == null) h.init();
           if (!extracted) {
-            _chks[id][_col].getDoubles(cs,0,len);
+            _chks[id][_col].decodeDoubles(cs,null,0,len);
             extracted = true;
           }
           h.updateHisto(ws, cs, ys, rs, hi, lo);
@@ -1061,6 +1061,42 @@ public class GLMTest  extends TestUtil {
   }
 
 
+  // Floating point reductions must not depend on the order maps finish in
+  @Test public void testGramReproducible() {
+    Random rnd = new Random(0xC0FFEE);
+    int rows = 20000;
+    double[][] cols = new double[5][rows];
+    for (double[] c : cols)
+      for (int i = 0; i < rows; ++i) c[i] = rnd.nextGaussian() * Math.pow(10, rnd.nextInt(8));
+    long[] layout = new long[40];
+    Arrays.fill(layout, rows / layout.length);
+    Frame f = new TestFrameBuilder()
+        .withName("GramRepro")
+        .withColNames("a", "b", "c", "d", "y")
+        .withVecTypes(Vec.T_NUM, Vec.T_NUM, Vec.T_NUM, Vec.T_NUM, Vec.T_NUM)
+        .withDataForCol(0, cols[0]).withDataForCol(1, cols[1]).withDataForCol(2, cols[2])
+        .withDataForCol(3, cols[3]).withDataForCol(4, cols[4])
+        .withChunkLayout(layout)
+        .build();
+    DataInfo dinfo = null;
+    try {
+      dinfo = new DataInfo(f, null, 1, true, DataInfo.TransformType.NONE, DataInfo.TransformType.NONE, true, false, false, false, false, false);
+      GLMParameters params = new GLMParameters(Family.gaussian);
+      GLMIterationTask t1 = new GLMIterationTask(null, dinfo, new GLMWeightsFun(params), null).doAll(dinfo._adaptedFrame);
+      for (int run = 0; run < 5; ++run) {
+        GLMIterationTask t2 = new GLMIterationTask(null, dinfo, new GLMWeightsFun(params), null).doAll(dinfo._adaptedFrame);
+        for (int i = 0; i < t1._xy.length; ++i) {
+          for (int j = 0; j <= i; ++j)
+            assertEquals(Double.doubleToRawLongBits(t1._gram.get(i, j)), Double.doubleToRawLongBits(t2._gram.get(i, j)));
+          assertEquals(Double.doubleToRawLongBits(t1._xy[i]), Double.doubleToRawLongBits(t2._xy[i]));
+        }
+      }
+    } finally {
+      if (dinfo != null) dinfo.remove();
+      f.delete();
+    }
+  }
+
   @Test @Ignore public void testConstantColumns(){
     GLMModel model1 = null, model2 = null, model3 = null, model4 = null;
     Frame fr = parse_test_file(Key.make("Airlines"), "smalldata/airlines/allyears2k_headers.zip");
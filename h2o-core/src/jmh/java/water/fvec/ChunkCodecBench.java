@@ -0,0 +1,111 @@
+package water.fvec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read throughput of every Chunk encoding: row-at-a-time atd/at8/isNA, and
+ * the batch decodes.  Scores are per Chunk of {@code rows} rows.
+ */
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChunkCodecBench {
+
+  @Param({"CONST_LONG", "CONST_DOUBLE", "BYTE", "BYTE_NA", "SCALED_BYTE", "SHORT", "SCALED_SHORT", "INT",
+          "SCALED_INT", "LONG", "DOUBLE", "FEW_DOUBLES", "BOOL", "SPARSE_INT", "SPARSE_DOUBLE",
+          "TIMESTAMP", "SORTED_LONG", "RUNS_DOUBLE", "FLOAT"})
+  private ChunkDistribution dist;
+  @Param({"100000"})
+  private int rows;
+
+  private Chunk chunk;
+  private double[] dvals;
+  private long[] lvals;
+  private long[] nas;
+
+  @Setup
+  public void setup() {
+    chunk = dist.make(rows, 0xC0DEC);
+    dvals = new double[rows];
+    lvals = new long[rows];
+    nas = new long[Chunk.naMaskLen(rows)];
+  }
+
+  @Benchmark
+  public double atd() {
+    final Chunk c = chunk;
+    double sum = 0;
+    for (int row = 0; row < rows; ++row) {
+      double d = c.atd(row);
+      if (!Double.isNaN(d)) sum += d;
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long at8() {
+    final Chunk c = chunk;
+    long sum = 0;
+    for (int row = 0; row < rows; ++row) {
+      if (!c.isNA(row)) sum += c.at8(row);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public int isNA() {
+    final Chunk c = chunk;
+    int cnt = 0;
+    for (int row = 0; row < rows; ++row) {
+      if (c.isNA(row)) cnt++;
+    }
+    return cnt;
+  }
+
+  @Benchmark
+  public double decodeDoubles() {
+    chunk.decodeDoubles(dvals, nas, 0, rows);
+    double sum = 0;
+    for (int row = 0; row < rows; ++row) {
+      if (!Chunk.isNA(nas, row)) sum += dvals[row];
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long decodeLongs() {
+    chunk.decodeLongs(lvals, nas, 0, rows);
+    long sum = 0;
+    for (int row = 0; row < rows; ++row) {
+      sum += lvals[row]; // NAs decode to 0
+    }
+    return sum;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(ChunkCodecBench.class.getSimpleName())
+        .build();
+
+    new Runner(opt).run();
+  }
+}
@@ -0,0 +1,71 @@
+package water.fvec;
+
+import water.util.UnsafeUtils;
+
+import java.util.Random;
+
+/**
+ * Value distributions for the fvec micro-benchmarks, one per Chunk encoding
+ * that {@link NewChunk#compress()} is expected to pick for it.  A benchmark
+ * run warns if the choice changes: a codec regression shows up there first.
+ */
+enum ChunkDistribution {
+  CONST_LONG(C0LChunk.class)         { void add(NewChunk nc, int i, Random r) { nc.addNum(42); } },
+  CONST_DOUBLE(C0DChunk.class)       { void add(NewChunk nc, int i, Random r) { nc.addNum(3.25); } },
+  BYTE(C1NChunk.class)               { void add(NewChunk nc, int i, Random r) { nc.addNum(r.nextInt(256)); } },
+  BYTE_NA(C1Chunk.class)             { void add(NewChunk nc, int i, Random r) { if (na(r)) nc.addNA(); else nc.addNum(r.nextInt(200)); } },
+  SCALED_BYTE(C1SChunk.class)        { void add(NewChunk nc, int i, Random r) { if (na(r)) nc.addNA(); else nc.addNum(r.nextInt(200), -1); } },
+  SHORT(C2Chunk.class)               { void add(NewChunk nc, int i, Random r) { if (na(r)) nc.addNA(); else nc.addNum(r.nextInt(60000) - 30000); } },
+  SCALED_SHORT(C2SChunk.class)       { void add(NewChunk nc, int i, Random r) { if (na(r)) nc.addNA(); else nc.addNum(r.nextInt(60000), -2); } },
+  INT(C4Chunk.class)                 { void add(NewChunk nc, int i, Random r) { if (na(r)) nc.addNA(); else nc.addNum(r.nextInt() | 1); } },
+  SCALED_INT(C4SChunk.class)         { void add(NewChunk nc, int i, Random r) { if (na(r)) nc.addNA(); else nc.addNum(r.nextInt(1000000000) | 1, -3); } },
+  LONG(C8Chunk.class)                { void add(NewChunk nc, int i, Random r) { if (na(r)) nc.addNA(); else nc.addNum(r.nextLong() >> 4); } },
+  DOUBLE(C8DChunk.class)             { void add(NewChunk nc, int i, Random r) { if (na(r)) nc.addNA(); else nc.addNum(r.nextGaussian()); } },
+  FEW_DOUBLES(CUDChunk.class)        { void add(NewChunk nc, int i, Random r) { nc.addNum(UNIQUES[r.nextInt(UNIQUES.length)]); } },
+  BOOL(CBSChunk.class)               { void add(NewChunk nc, int i, Random r) { if (na(r)) nc.addNA(); else nc.addNum(r.nextInt(2)); } },
+  SPARSE_INT(CXIChunk.class)         { void add(NewChunk nc, int i, Random r) { if (r.nextInt(100) == 0) nc.addNum(r.nextInt(1000) + 1); else nc.addNum(0); } },
+  SPARSE_DOUBLE(CXFChunk.class)      { void add(NewChunk nc, int i, Random r) { if (r.nextInt(100) == 0) nc.addNum(r.nextGaussian()); else nc.addNum(0); } },
+  TIMESTAMP(CDeltaChunk.class)       { void add(NewChunk nc, int i, Random r) { nc.addNum(1500000000000L + i * 1000L + r.nextInt(1000), 0); } },
+  SORTED_LONG(CRLChunk.class)        { void add(NewChunk nc, int i, Random r) { nc.addNum(1500000000000L + (i >> 7) * 1000L, 0); } },
+  RUNS_DOUBLE(CRLChunk.class)        { void add(NewChunk nc, int i, Random r) { nc.addNum(UNIQUES[(i >> 10) % UNIQUES.length]); } },
+  // NewChunk never picks floats for dense data; the same values are encoded directly
+  FLOAT(C4FChunk.class)              {
+    void add(NewChunk nc, int i, Random r) { if (na(r)) nc.addNA(); else nc.addNum(nextFloat(r)); }
+    @Override Chunk make(int rows, long seed) {
+      Random r = new Random(seed);
+      byte[] bs = new byte[rows << 2];
+      for (int i = 0; i < rows; i++) UnsafeUtils.set4f(bs, i << 2, na(r) ? Float.NaN : nextFloat(r));
+      return new C4FChunk(bs);
+    }
+  };
+
+  private static final double[] UNIQUES = {Math.PI, Math.E, -1e-300, 1e300, 0.1, Double.NaN};
+
+  final Class<? extends Chunk> _expected;
+  ChunkDistribution(Class<? extends Chunk> expected) { _expected = expected; }
+
+  /** Append row i */
+  abstract void add(NewChunk nc, int i, Random r);
+
+  // About 1% NAs
+  static boolean na(Random r) { return r.nextInt(100) == 0; }
+
+  static float nextFloat(Random r) { return (float) r.nextGaussian(); }
+
+  /** A filled, not yet compressed NewChunk */
+  NewChunk fill(int rows, long seed) {
+    Random r = new Random(seed);
+    NewChunk nc = new NewChunk(null, 0);
+    for (int i = 0; i < rows; i++) add(nc, i, r);
+    return nc;
+  }
+
+  /** A compressed Chunk, warning if it is not of the expected encoding */
+  Chunk make(int rows, long seed) {
+    Chunk c = fill(rows, seed).compress();
+    if (c.getClass() != _expected)
+      System.err.println("[" + name() + "] NewChunk.compress() chose " + c.getClass().getSimpleName() +
+                         ", expected " + _expected.getSimpleName());
+    return c;
+  }
+}
@@ -0,0 +1,76 @@
+package water.fvec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link NewChunk#compress()} (picking the encoding and writing it)
+ * for each value distribution.  The chosen encoding and its size are printed
+ * at the end of each trial; a different choice is also warned about in setup.
+ */
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NewChunkCompressBench {
+
+  @Param({"CONST_LONG", "CONST_DOUBLE", "BYTE", "BYTE_NA", "SCALED_BYTE", "SHORT", "SCALED_SHORT", "INT",
+          "SCALED_INT", "LONG", "DOUBLE", "FEW_DOUBLES", "BOOL", "SPARSE_INT", "SPARSE_DOUBLE",
+          "TIMESTAMP", "SORTED_LONG", "RUNS_DOUBLE", "FLOAT"})
+  private ChunkDistribution dist;
+  @Param({"100000"})
+  private int rows;
+
+  private NewChunk nc;
+  private Chunk last;
+
+  @Setup(Level.Trial)
+  public void checkChoice() {
+    dist.make(rows, 0xC0DEC);
+  }
+
+  // compress() is not idempotent on the NewChunk, so refill it every time
+  @Setup(Level.Invocation)
+  public void fill() {
+    nc = dist.fill(rows, 0xC0DEC);
+  }
+
+  @Benchmark
+  public Chunk compress() {
+    return last = nc.compress();
+  }
+
+  @TearDown(Level.Trial)
+  public void report() {
+    if (last != null)
+      System.out.println("[" + dist + "] " + last.getClass().getSimpleName() + ", " +
+                         String.format("%.3f", (double) last.getBytes().length / rows) + " bytes/row");
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(NewChunkCompressBench.class.getSimpleName())
+        .build();
+
+    new Runner(opt).run();
+  }
+}
@@ -0,0 +1,115 @@
+package water.jmh;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares a ubench result file (as written by {@link H2oJmhRunner}) against
+ * a baseline result file of an earlier commit, and fails if any benchmark
+ * present in both got slower by more than the allowed fraction.
+ *
+ * Usage: {@code UbenchBaselineCheck <baseline.csv> <current.csv> [maxRegression]},
+ * where maxRegression defaults to 0.10 (10%).  A difference within the sum of
+ * both reported score errors is never counted as a regression.
+ */
+public class UbenchBaselineCheck {
+
+  static class Score {
+    final String mode;
+    final double score;
+    final double error;
+    final String unit;
+    Score(String mode, double score, double error, String unit) {
+      this.mode = mode;
+      this.score = score;
+      this.error = error;
+      this.unit = unit;
+    }
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      System.err.println("Usage: UbenchBaselineCheck <baseline.csv> <current.csv> [maxRegression]");
+      System.exit(2);
+    }
+    double maxRegression = args.length > 2 ? Double.parseDouble(args[2]) : 0.10;
+    Map<String, Score> baseline = read(args[0]);
+    Map<String, Score> current = read(args[1]);
+    List<String> regressions = compare(baseline, current, maxRegression);
+    for (String r : regressions) System.err.println("REGRESSION: " + r);
+    System.out.println("Compared " + current.size() + " results against " + args[0] + ": " +
+                       regressions.size() + " regression(s) over " + (int) (maxRegression * 100) + "%");
+    if (!regressions.isEmpty()) System.exit(1);
+  }
+
+  /** Benchmarks which regressed by more than maxRegression */
+  static List<String> compare(Map<String, Score> baseline, Map<String, Score> current, double maxRegression) {
+    List<String> res = new ArrayList<>();
+    for (Map.Entry<String, Score> e : current.entrySet()) {
+      Score b = baseline.get(e.getKey());
+      Score c = e.getValue();
+      if (b == null || !b.mode.equals(c.mode) || !b.unit.equals(c.unit) || b.score <= 0) continue;
+      // Throughput: lower is worse; everything else is a time, higher is worse
+      double delta = "thrpt".equals(c.mode) ? b.score - c.score : c.score - b.score;
+      if (delta <= b.error + c.error) continue; // Within noise
+      double rel = delta / b.score;
+      if (rel > maxRegression)
+        res.add(String.format("%s: %.3f -> %.3f %s (%+.1f%%)", e.getKey(), b.score, c.score, c.unit, rel * 100));
+    }
+    return res;
+  }
+
+  /** Results by "benchmark [params]" */
+  static Map<String, Score> read(String file) throws IOException {
+    Map<String, Score> res = new LinkedHashMap<>();
+    try (BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+      String line = br.readLine(); // Header
+      while ((line = br.readLine()) != null) {
+        if (line.trim().isEmpty()) continue;
+        List<String> f = split(line);
+        if (f.size() < 10) continue;
+        // SHA, Date, Benchmark, Mode, Threads, Samples, Score, Score Error, Unit, Params
+        double error = parse(f.get(7));
+        res.put(f.get(2) + " [" + f.get(9) + "]",
+                new Score(f.get(3), parse(f.get(6)), Double.isNaN(error) ? 0 : error, f.get(8)));
+      }
+    }
+    return res;
+  }
+
+  private static double parse(String s) {
+    try {
+      return Double.parseDouble(s);
+    } catch (NumberFormatException e) {
+      return Double.NaN;
+    }
+  }
+
+  // Comma separated, fields optionally double-quoted
+  static List<String> split(String line) {
+    List<String> res = new ArrayList<>();
+    StringBuilder sb = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      char ch = line.charAt(i);
+      if (ch == '"') {
+        if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') { sb.append('"'); i++; }
+        else quoted = !quoted;
+      } else if (ch == ',' && !quoted) {
+        res.add(sb.toString());
+        sb.setLength(0);
+      } else {
+        sb.append(ch);
+      }
+    }
+    res.add(sb.toString());
+    return res;
+  }
+}
@@ -0,0 +1,96 @@
+package water.parser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static water.parser.DefaultParserProviders.CSV_INFO;
+
+/**
+ * CsvParser throughput on one 4MB chunk, with and without the word-at-a-time
+ * {@link FastLines} tokenizer.  Quoted data always takes the state machine,
+ * so there the two should score the same.
+ */
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CsvParserBench {
+
+  public enum Data { NUMERIC, STRINGS, QUOTED }
+
+  @Param({"NUMERIC", "STRINGS", "QUOTED"})
+  private Data data;
+  @Param({"false", "true"})
+  private boolean fast;
+
+  private static final int COLS = 10;
+  private CsvParser parser;
+  private byte[] bits;
+
+  // Counts what a parse emits, without building any columns
+  private static class CountingWriter extends PreviewParseWriter {
+    long _nums, _strs, _nas, _lines;
+    CountingWriter() { super(COLS); }
+    @Override public boolean isString(int colIdx) { return false; }
+    @Override public void newLine() { _lines++; }
+    @Override public void addNumCol(int colIdx, long number, int exp) { _nums += number; }
+    @Override public void addInvalidCol(int colIdx) { _nas++; }
+    @Override public void addStrCol(int colIdx, BufferedString str) { _strs += str.length(); }
+    @Override public void setIsAllASCII(int colIdx, boolean b) { }
+    @Override public void rollbackLine() { _lines--; }
+  }
+
+  @Setup
+  public void setup() {
+    Random r = new Random(0xC5F);
+    StringBuilder sb = new StringBuilder();
+    while (sb.length() < (4 << 20)) {
+      for (int c = 0; c < COLS; c++) {
+        if (c > 0) sb.append(',');
+        switch (data) {
+          case NUMERIC: sb.append(c % 2 == 0 ? Integer.toString(r.nextInt(1000000)) : Double.toString(r.nextGaussian())); break;
+          case STRINGS: sb.append("user_").append(r.nextInt(100000)).append(c % 3 == 0 ? " name" : ""); break;
+          case QUOTED: sb.append('"').append("item ").append(r.nextInt(1000)).append(", x").append('"'); break;
+        }
+      }
+      sb.append('\n');
+    }
+    bits = sb.toString().getBytes(StandardCharsets.UTF_8);
+    ParseSetup ps = new ParseSetup(CSV_INFO, (byte)',', false, ParseSetup.NO_HEADER, COLS, null, null, null, null, null, null, bits.length);
+    parser = new CsvParser(ps, null, fast);
+  }
+
+  @Benchmark
+  public long parseChunk() {
+    CountingWriter w = new CountingWriter();
+    parser.parseChunk(0, new Parser.ByteAryData(bits, 0), w);
+    return w._nums + w._strs + w._nas + w._lines;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+            .include(CsvParserBench.class.getSimpleName())
+            .build();
+
+    new Runner(opt).run();
+  }
+}
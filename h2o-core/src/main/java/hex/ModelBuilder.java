@@ -208,21 +208,41 @@ abstract public class ModelBuilder<M extends Model<M,P,O>, P extends Model.Param
     // 2) Train/Valid frame locking and unlocking
     // 3) calling tryComplete()
     public void compute2() {
+      Key[] pinned = null;
       try {
         Scope.enter();
         _parms.read_lock_frames(_job); // Fetch & read-lock input frames
+        pinned = pinFrames();
         computeImpl();
       } finally {
         setFinalState();
-        _parms.read_unlock_frames(_job);
-        if (!_parms._is_cv_model) cleanUp(); //cv calls cleanUp on its own terms
-        Scope.exit();
+        try {
+          if (pinned != null) EvictionPolicy.unpin(pinned);
+        } finally { // Never leave the input frames locked
+          _parms.read_unlock_frames(_job);
+          if (!_parms._is_cv_model) cleanUp(); //cv calls cleanUp on its own terms
+          LayoutPolicy.release(_job._key); // Shared rebalanced copies leased by init
+          Scope.exit();
+        }
       }
       tryComplete();
     }
     public abstract void computeImpl();
   }
 
+  // With -pin_training_frames, keep the input Vecs from being spilled while
+  // the model builds; iterative algorithms re-read them on every pass.
+  // Returns the pinned Keys, as the algo may swap Vecs in _train meanwhile.
+  private Key[] pinFrames() {
+    if (!H2O.ARGS.pin_training_frames) return null;
+    ArrayList<Key> keys = new ArrayList<>();
+    if (_train != null) keys.addAll(Arrays.asList(_train.keys()));
+    if (_valid != null) keys.addAll(Arrays.asList(_valid.keys()));
+    Key[] pinned = keys.toArray(new Key[keys.size()]);
+    EvictionPolicy.pin(pinned);
+    return pinned;
+  }
+
   private void setFinalState() {
     Key<M> reskey = dest();
     if (reskey == null) return;
@@ -1206,19 +1226,16 @@ abstract public class ModelBuilder<M extends Model<M,P,O>, P extends Model.Param
   protected Frame rebalance(final Frame original_fr, boolean local, final String name) {
     if (original_fr == null) return null;
     int chunks = desiredChunks(original_fr, local);
-    if (original_fr.anyVec().nonEmptyChunks() >= chunks) {
+    int to = LayoutPolicy.rebalanceTo(original_fr, chunks);
+    if (to < 0) {
       if (chunks>1)
         Log.info(name.substring(name.length()-5)+ " dataset already contains " + original_fr.anyVec().nChunks() +
               " chunks. No need to rebalance.");
       return original_fr;
     }
-    Log.info("Rebalancing " + name.substring(name.length()-5)  + " dataset into " + chunks + " chunks.");
-    Key newKey = Key.makeUserHidden(name + ".chunks" + chunks);
-    RebalanceDataSet rb = new RebalanceDataSet(original_fr, newKey, chunks);
-    H2O.submitTask(rb).join();
-    Frame rebalanced_fr = DKV.get(newKey).get();
-    Scope.track(rebalanced_fr);
-    return rebalanced_fr;
+    Log.info("Rebalancing " + name.substring(name.length()-5)  + " dataset into " + to + " chunks; layout was " +
+            LayoutPolicy.layout(original_fr) + ".");
+    return LayoutPolicy.rebalance(original_fr, to, name, _job._key);
   }
 
   /**
@@ -7,7 +7,9 @@ import java.nio.*;
 import java.nio.channels.*;
 import java.util.ArrayList;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
 
+import water.network.CompressedByteChannel;
 import water.network.SocketChannelUtils;
 import water.util.Log;
 import water.util.StringUtils;
@@ -177,6 +179,9 @@ public final class AutoBuffer {
    *  that e.g. NACK and ACKACK messages have priority over most anything else.
    *  This helps in UDP floods to shut down flooding senders. */
   private byte _msg_priority; 
+  // Message type for the per-type sent-bytes stats (see WireBytes); the UDP
+  // type unless set more precisely, e.g. to the DTask class, by msgType
+  private String _msgType;
   AutoBuffer( H2ONode h2o, byte priority ) {
     // If UDP goes via UDP, we write into a DBB up front - because we plan on
     // sending it out via a Datagram socket send call.  If UDP goes via batched
@@ -464,6 +469,8 @@ public final class AutoBuffer {
             // either TCP con was dropped or other side closed connection without reading/confirming (e.g. task was cancelled).
             if( x == -1 ) throw new IOException("Other side closed connection before handshake byte read");
             assert x == 0xcd : "Handshake; writer expected a 0xcd from reader but got "+x;
+            WireBytes.record(_msgType == null ? "tcp" : _msgType, _size,
+                             _chan instanceof CompressedByteChannel ? ((CompressedByteChannel)_chan).takeWireBytes() : _size);
           }
         } catch( IOException ioe ) {
           try { _chan.close(); } catch( IOException ignore ) {} // Silently close
@@ -575,6 +582,7 @@ public final class AutoBuffer {
     TimeLine.record_send(this,false);
     _size = _bb.position();
     assert _size < AutoBuffer.BBP_SML._size;
+    WireBytes.record(_msgType == null ? "udp" : _msgType, _size, _size);
     _bb.flip();                 // Flip for sending
     if( _h2o==H2O.SELF ) {      // SELF-send is the multi-cast signal
       water.init.NetworkInit.multicast(_bb, _msg_priority);
@@ -1026,9 +1034,13 @@ public final class AutoBuffer {
     putSp(_bb.position()+1+2);
     _bb.put    ((byte)type.ordinal());
     _bb.putChar((char)senderPort    );
+    if( _msgType == null ) _msgType = type.name();
     return this;
   }
 
+  /** Name the message being written, for the per-type {@link WireBytes} stats */
+  AutoBuffer msgType( String type ) { _msgType = type; return this; }
+
   /**
    * Write UDP into the ByteBuffer with the current node as the sender.
    *
@@ -1303,6 +1315,88 @@ public final class AutoBuffer {
     }
     return this;
   }
+
+  // Payloads at least this big, bound for a channel, are written straight
+  // from their source instead of being copied through _bb
+  static final int BULK_MIN = BBP_BIG._size;
+  private static final AtomicLong BULK_BYTES = new AtomicLong();
+  /** Bytes written straight from their source buffer or file, bypassing the
+   *  heap, since startup */
+  public static long bulkBytes() { return BULK_BYTES.get(); }
+
+  /** True if a payload of len bytes put now is written straight to a socket
+   *  or file, not copied through this AutoBuffer */
+  public boolean isBulk( int len ) {
+    return !_read && len >= BULK_MIN && (_h2o != null || _chan instanceof WritableByteChannel);
+  }
+
+  // Flush the bytes so far (opening the socket if need be), for a bulk write
+  // to follow them directly
+  private WritableByteChannel bulkChannel() {
+    sendPartial();
+    return (WritableByteChannel) _chan;
+  }
+
+  /** Put the remaining bytes of src as a byte array, read back by {@link
+   *  #getA1()}.  Big payloads bound for a socket or file go straight from src,
+   *  so a direct or memory-mapped buffer is sent with no copy on the heap. */
+  public AutoBuffer putBulkA1( ByteBuffer src ) {
+    src = src.duplicate();      // Private position; racing senders are fine
+    final int len = src.remaining();
+    putInt(len);
+    if( !isBulk(len) ) {
+      if( len > _bb.remaining() ) expandByteBuffer(len);
+      while( src.hasRemaining() ) {
+        if( !_bb.hasRemaining() ) sendPartial();
+        ByteBuffer part = src.duplicate();
+        part.limit(part.position() + Math.min(part.remaining(), _bb.remaining()));
+        _bb.put(part);
+        src.position(part.position());
+      }
+      return this;
+    }
+    try {
+      WritableByteChannel chan = bulkChannel();
+      long ns = System.nanoTime();
+      while( src.hasRemaining() ) chan.write(src);
+      _time_io_ns += (System.nanoTime()-ns);
+    } catch( IOException e ) {
+      throw new AutoBufferException(e);
+    }
+    _size += len;
+    BULK_BYTES.addAndGet(len);
+    return this;
+  }
+
+  /** Put len bytes of the file from pos as a byte array, read back by {@link
+   *  #getA1()}.  Big payloads bound for a socket or file are moved by {@link
+   *  FileChannel#transferTo}, never entering the heap. */
+  public AutoBuffer putBulkA1( FileChannel fc, long pos, int len ) {
+    try {
+      if( !isBulk(len) ) {
+        byte[] ary = MemoryManager.malloc1(len);
+        ByteBuffer bb = ByteBuffer.wrap(ary);
+        while( bb.hasRemaining() )
+          if( fc.read(bb, pos + bb.position()) < 0 ) throw new EOFException("Reading "+len+" bytes from "+fc);
+        return putA1(ary);
+      }
+      putInt(len);
+      WritableByteChannel chan = bulkChannel();
+      long ns = System.nanoTime();
+      for( long done = 0; done < len; ) {
+        long n = fc.transferTo(pos + done, len - done, chan);
+        if( n <= 0 && fc.size() < pos + len ) throw new EOFException("Reading "+len+" bytes from "+fc);
+        done += n;
+      }
+      _time_io_ns += (System.nanoTime()-ns);
+    } catch( IOException e ) {
+      throw new AutoBufferException(e);
+    }
+    _size += len;
+    BULK_BYTES.addAndGet(len);
+    return this;
+  }
+
   AutoBuffer putA2( short[] ary ) {
     //_arys++;
     if( ary == null ) return putInt(-1);
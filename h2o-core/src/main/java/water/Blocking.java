@@ -0,0 +1,81 @@
+package water;
+
+import jsr166y.ForkJoinPool;
+import jsr166y.ForkJoinWorkerThread;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Blocking waits of F/J tasks on work done by other threads: RPC results
+ * (including remote DKV gets) and Value read/write locks.
+ * <p>
+ * {@link ForkJoinPool#managedBlock} keeps a pool's parallelism up by starting
+ * or waking a compensating worker for each blocked one.  Many concurrent
+ * sessions all waiting on the network thus grow each pool to hundreds of
+ * threads, mostly parked, and the wake-ups thrash the scheduler.  In the
+ * {@code bounded} mode ({@code -Dsys.ai.h2o.fj.blocking=bounded}) a pool
+ * compensates at most {@link #MAX_COMPENSATED} waits at a time; further waits
+ * park their worker in place.  That is only safe for waits which other
+ * threads release without needing this pool - never for a task joining work
+ * queued on its own pool or at its own priority, e.g. an MRTask waiting on
+ * its remote subtrees, which always compensates.
+ */
+public final class Blocking {
+  public static final boolean BOUNDED = "bounded".equals(System.getProperty(H2O.OptArgs.SYSTEM_PROP_PREFIX + "fj.blocking", "compensate"));
+  public static final int MAX_COMPENSATED = Integer.getInteger(H2O.OptArgs.SYSTEM_PROP_PREFIX + "fj.blocking.max", H2O.NUMCPUS);
+
+  static volatile boolean _bounded = BOUNDED; // Settable for tests
+  static volatile int _maxCompensated = MAX_COMPENSATED;
+
+  private static final ConcurrentHashMap<ForkJoinPool,AtomicInteger> COMPENSATING = new ConcurrentHashMap<>();
+  static final AtomicLong COMPENSATED = new AtomicLong(), DIRECT = new AtomicLong();
+  private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+  private Blocking() {}
+
+  /** Block until b is releasable; a wait released by another thread */
+  public static void block( ForkJoinPool.ManagedBlocker b ) { block(b, true); }
+
+  /** Block until b is releasable.
+   *  @param mayPark false if b may need work queued at this thread's
+   *  priority, so the pool must always compensate */
+  public static void block( ForkJoinPool.ManagedBlocker b, boolean mayPark ) {
+    if( b.isReleasable() ) return;
+    try {
+      Thread t = Thread.currentThread();
+      if( !_bounded || !mayPark || !(t instanceof ForkJoinWorkerThread) ) {
+        if( t instanceof ForkJoinWorkerThread ) COMPENSATED.incrementAndGet();
+        ForkJoinPool.managedBlock(b);
+        return;
+      }
+      ForkJoinPool p = ((ForkJoinWorkerThread)t).getPool();
+      AtomicInteger n = COMPENSATING.get(p);
+      if( n == null ) {
+        AtomicInteger n2 = COMPENSATING.putIfAbsent(p, n = new AtomicInteger());
+        if( n2 != null ) n = n2;
+      }
+      if( n.incrementAndGet() <= _maxCompensated ) {
+        COMPENSATED.incrementAndGet();
+        try { ForkJoinPool.managedBlock(b); }
+        finally { n.decrementAndGet(); }
+      } else {
+        n.decrementAndGet();
+        DIRECT.incrementAndGet();
+        while( !b.isReleasable() && !b.block() ) ;
+      }
+    } catch( InterruptedException ignore ) { }
+  }
+
+  /** Waits by F/J workers that let their pool compensate */
+  public static long compensated() { return COMPENSATED.get(); }
+  /** Waits by F/J workers parked in place, without compensation */
+  public static long direct() { return DIRECT.get(); }
+  /** Live JVM threads */
+  public static int threads() { return THREADS.getThreadCount(); }
+  /** Most live JVM threads since start */
+  public static int peakThreads() { return THREADS.getPeakThreadCount(); }
+}
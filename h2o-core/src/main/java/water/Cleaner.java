@@ -113,6 +113,9 @@ class Cleaner extends Thread {
       long cleaned = 0;         // Disk i/o bytes
       long freed = 0;           // memory freed bytes
       long io_ns = 0;           // i/o ns writing
+      long offheaped = 0;       // bytes moved off-heap
+      long zipped = 0;          // bytes saved by compressing in place
+      final EvictionPolicy policy = h._policy;
 
       // For faster K/V store walking get the NBHM raw backing array,
       // and walk it directly.
@@ -127,22 +130,45 @@ class Cleaner extends Thread {
         Value val = (Value)ov;
         byte[] m = val.rawMem();
         Object p = val.rawPOJO();
-        if( m == null && p == null ) continue; // Nothing to throw out
+        byte[] z = val.rawCompressed();
+        if( m == null && p == null && z == null ) continue; // Nothing to throw out
         if( val.isLockable() ) continue; // we do not want to throw out Lockables.
-        boolean isChunk = p instanceof Chunk && !((Chunk)p).isVolatile();
+        // Only non-volatile Chunks are ever compressed
+        boolean isChunk = (p instanceof Chunk && !((Chunk)p).isVolatile()) || (p == null && z != null);
         // Ignore things younger than the required age.  In particular, do
-        // not spill-to-disk all dirty things we find.
-        long touched = val._lastAccessedTime;
-        if( touched > clean_to_age ) { // Too recently touched?
+        // not spill-to-disk all dirty things we find.  Pinned things are
+        // never old enough.
+        long touched = policy.evictionTime(val);
+        if( touched > clean_to_age || EvictionPolicy.isPinned((Key)ok) ) { // Too recently touched?
           // But can toss out a byte-array if already deserialized & on disk
           // (no need for both forms).  Note no savings for Chunks, for which m==p._mem
           if( val.isPersisted() && m != null && p != null && !isChunk ) {
             val.freeMem();      // Toss serialized form, since can rebuild from POJO
             freed += val._max;
           }
+          // Inflated and back in use: the compressed copy is just overhead
+          if( z != null && m != null ) {
+            val.freeCompressed();
+            freed += z.length;
+          }
           dirty_store(touched); // But may write it out later
           continue;             // Too young
         }
+
+        // Under pressure, first squeeze cold Chunks in place.  Not a spill,
+        // so done even with spilling off.  Compressed Chunks are pushed out
+        // to the off-heap and disk tiers only on a later pass, if still cold
+        // and still under pressure.
+        if( isChunk && force && m != null && ColdCompressor.enabled() ) {
+          long saved = 0;
+          if( z == null ) saved = val.compressMem(ColdCompressor.elemWidth(p));
+          else { val.freeMem(); val.freePOJO(); saved = m.length; } // Already have a compressed copy
+          if( saved > 0 ) {
+            policy.spilled(val._max);
+            freed += saved;  zipped += saved;
+            continue;
+          }
+        }
         // Spiller turned off?
         if( !H2O.ARGS.cleaner ) continue;
 
@@ -150,9 +176,17 @@ class Cleaner extends Thread {
         // Too many POJOs are written to dynamically; cannot spill & reload
         // them without losing changes.
 
+        // Under pressure, first try moving home Chunks to the off-heap tier:
+        // no disk i/o going out, and a memcpy coming back.
+        if( isChunk && force && !val.isPersisted() && !val.isOffHeap() && ((Key)ok).home() && OffHeapStore.enabled() ) {
+          if( val.storeOffHeap() ) offheaped += val._max;
+        }
+
         // Should I write this value out to disk?
         // Should I further force it from memory?
-        if( isChunk && !val.isPersisted() && !diskFull && ((Key)ok).home() ) { // && (force || (lazyPersist() && lazy_clean(key)))) {
+        // Values held off-heap only go to disk once that tier fills up.
+        if( isChunk && !val.isPersisted() && !diskFull && ((Key)ok).home() &&
+            (!val.isOffHeap() || (force && OffHeapStore.full())) ) { // && (force || (lazyPersist() && lazy_clean(key)))) {
           long now_ns = System.nanoTime();
           try { val.storePersist(); } // Write to disk
           catch( FileNotFoundException fnfe ) { continue; } // Can happen due to racing key delete/remove
@@ -167,12 +201,15 @@ class Cleaner extends Thread {
           if( m == null ) m = val.rawMem();
           if( m != null ) cleaned += m.length; // Accumulate i/o bytes
           io_ns += System.nanoTime() - now_ns; // Accumulate i/o time
+          if( val.isPersisted() ) val.freeOffHeap(); // Demoted to disk; make room off-heap
         }
         // And, under pressure, free all
-        if( isChunk && force && (val.isPersisted() || !((Key)ok).home()) ) {
+        if( isChunk && force && (val.isPersisted() || val.isOffHeap() || !((Key)ok).home()) ) {
+          policy.spilled(val._max);
           val.freeMem ();  if( m != null ) freed += val._max;  m = null;
           val.freePOJO();  if( p != null ) freed += val._max;  p = null;
           if( isChunk ) freed -= val._max; // Double-counted freed mem for Chunks since val._pojo._mem & val._mem are the same.
+          if( z != null ) { val.freeCompressed(); freed += z.length; z = null; }
         }
         // If we have both forms, toss the byte[] form - can be had by
         // serializing again.
@@ -191,7 +228,7 @@ class Cleaner extends Thread {
       h = Histo.current(true); // Force a new histogram
       MemoryManager.set_goals("postclean",false);
       // No logging if under memory pressure: can deadlock the cleaner thread
-      String s2 = h+" diski_o="+PrettyPrint.bytes(cleaned)+", freed="+(freed>>20)+"M, DESIRED="+(DESIRED>>20)+"M";
+      String s2 = h+" diski_o="+PrettyPrint.bytes(cleaned)+", zipped="+PrettyPrint.bytes(zipped)+", offheaped="+PrettyPrint.bytes(offheaped)+", freed="+(freed>>20)+"M, DESIRED="+(DESIRED>>20)+"M, policy="+policy;
       if( MemoryManager.canAlloc() ) Log.debug(s1,s2);
       else                           System.err.println(s1+"\n"+s2);
       // For testing thread
@@ -226,6 +263,7 @@ class Cleaner extends Thread {
     // built nor blocking for one being in-progress.
     static long cached() { return H._cached; }
     static long swapped(){ return H._swapped;}
+    static long offHeap(){ return H._offHeap;}
 
     final long[] _hs = new long[128];
     long _oldest; // Time of the oldest K/V discovered this pass
@@ -235,6 +273,9 @@ class Cleaner extends Thread {
     long _total;  // Total data in local K/V
     long _when;   // When was this histogram computed
     long _swapped;// On-disk stuff
+    long _offHeap;// Off-heap tier stuff; not part of _cached, which is heap only
+    long _pinned; // Cached but pinned; part of _cached, but never in a bucket
+    final EvictionPolicy _policy; // Policy giving the histogram times
     Value _vold;  // For assertions: record the oldest Value
     boolean _clean; // Was "clean" K/V when built?
 
@@ -244,12 +285,16 @@ class Cleaner extends Thread {
       _when = System.currentTimeMillis();
       _eldest = eldest; // Eldest seen in some prior pass
       _hStep = Math.max(1,(_when-eldest)/_hs.length);
+      _policy = EvictionPolicy.current();
       boolean clean = _dirty==Long.MAX_VALUE;
       // Compute the hard way
       Object[] kvs = H2O.STORE.raw_array();
       long cached = 0; // Total K/V cached in ram
       long total = 0;  // Total K/V in local node
       long swapped=0;  // Total K/V persisted
+      long offHeap=0;  // Total K/V held off-heap
+      long pinned=0;   // Total K/V cached and pinned
+      long hits=0;     // Cache hits since the last pass
       long oldest = Long.MAX_VALUE; // K/V with the longest time since being touched
       Value vold = null;
       // Start the walk at slot 2, because slots 0,1 hold meta-data
@@ -262,21 +307,27 @@ class Cleaner extends Thread {
         if( val.isNull() ) { Value.STORE_get(val._key); continue; } // Another flavor of NULL
         total += val._max;
         if( val.isPersisted() ) swapped += val._max;
+        if( val.isOffHeap() ) offHeap += val._max;
+        hits += val._hits;  val._hits = 0;
         int len = 0;
         byte[] m = val.rawMem();
         Object p = val.rawPOJO();
+        byte[] z = val.rawCompressed();
         if( m != null ) len += val._max;
         if( p != null ) len += val._max;
         if( m != null && p instanceof Chunk ) len -= val._max; // Do not double-count Chunks
+        if( z != null ) len += z.length;
         if( len == 0 ) continue;
         cached += len; // Accumulate total amount of cached keys
+        if( EvictionPolicy.isPinned((Key)ok) ) { pinned += len; continue; } // Cannot be cleaned
 
-        if( val._lastAccessedTime < oldest ) { // Found an older Value?
+        long t = _policy.evictionTime(val);
+        if( t < oldest ) { // Found an older Value?
           vold = val; // Record oldest Value seen
-          oldest = val._lastAccessedTime;
+          oldest = t;
         }
         // Compute histogram bucket
-        int idx = (int)((val._lastAccessedTime - eldest)/_hStep);
+        int idx = (int)((t - eldest)/_hStep);
         if( idx < 0 ) idx = 0;
         else if( idx >= _hs.length ) idx = _hs.length-1;
         _hs[idx] += len;      // Bump histogram bucket
@@ -284,6 +335,10 @@ class Cleaner extends Thread {
       _cached = cached; // Total cached; NOTE: larger than sum of histogram buckets
       _total = total;   // Total used data
       _swapped = swapped;
+      _offHeap = offHeap;
+      _pinned = pinned;
+      _policy.addHits(hits);
+      OffHeapStore.resync(offHeap); // Exact count; catches buffers dropped with replaced Values
       _oldest = oldest; // Oldest seen in this pass
       _vold = vold;
       _clean = clean && _dirty==Long.MAX_VALUE; // Looks like a clean K/V the whole time?
@@ -307,7 +362,7 @@ class Cleaner extends Thread {
     @Override public String toString() {
       long x = _eldest;
       long now = System.currentTimeMillis();
-      return "H(cached:"+(_cached>>20)+"M, eldest:"+x+"L < +"+(_oldest-x)+"ms <...{"+_hStep+"ms}...< +"+(_hStep*_hs.length)+"ms < +"+(now-x)+")";
+      return "H(cached:"+(_cached>>20)+"M, pinned:"+(_pinned>>20)+"M, offheap:"+(_offHeap>>20)+"M, eldest:"+x+"L < +"+(_oldest-x)+"ms <...{"+_hStep+"ms}...< +"+(_hStep*_hs.length)+"ms < +"+(now-x)+")";
     }
   }
 }
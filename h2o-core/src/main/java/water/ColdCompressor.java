@@ -0,0 +1,125 @@
+package water;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import water.fvec.*;
+import water.util.Log;
+import water.util.UnsafeUtils;
+
+/** Compressed in-memory tier for cold Chunks, between the hot heap and the
+ *  off-heap/disk tiers.
+ *  <p>
+ *  Under memory pressure the Cleaner first recompresses old Chunk bytes here,
+ *  keeping them on-heap at a fraction of the size, and only spills them
+ *  further on a later pass if that was not enough.  {@link Value#memOrLoad}
+ *  inflates them again transparently.
+ *  <p>
+ *  Fixed-width numeric Chunks (e.g. {@link C8DChunk} doubles) are mostly
+ *  incompressible as raw bytes, but the high-order bytes of neighbouring
+ *  values are very alike.  So the bytes are first shuffled into planes by
+ *  significance (as in blosc), then deflated at the fastest level.
+ *  <p>
+ *  Format: 1 byte element width, 4 bytes raw length, deflated payload.
+ *  Enabled by {@code -compress_cold}.
+ */
+final class ColdCompressor {
+  private ColdCompressor() {}
+
+  // Keep compressed bytes only if they are at most this fraction of the raw bytes
+  static final double MAX_RATIO = 0.75;
+  // Not worth the effort for tiny Chunks
+  static final int MIN_BYTES = 1024;
+  private static final int HDR = 1+4;
+
+  // Lifetime stats
+  static final AtomicLong COMPRESS_COUNT = new AtomicLong();
+  static final AtomicLong RAW_BYTES      = new AtomicLong();
+  static final AtomicLong ZIP_BYTES      = new AtomicLong();
+  static final AtomicLong INFLATE_COUNT  = new AtomicLong();
+
+  static boolean enabled() { return H2O.ARGS.compress_cold; }
+
+  /** Byte width of the fixed-size elements in this Chunk's encoding, or 1 if
+   *  there is no useful fixed width. */
+  static int elemWidth( Object pojo ) {
+    if( pojo instanceof C8DChunk || pojo instanceof C8Chunk ) return 8;
+    if( pojo instanceof C4FChunk || pojo instanceof C4Chunk || pojo instanceof C4SChunk ) return 4;
+    if( pojo instanceof C2Chunk  || pojo instanceof C2SChunk ) return 2;
+    return 1;
+  }
+
+  /** Compress raw Chunk bytes.
+   *  @return compressed bytes, or null if they do not compress well enough */
+  static byte[] compress( byte[] mem, int width ) {
+    if( mem.length < MIN_BYTES ) return null;
+    byte[] src = width > 1 ? shuffle(mem, width) : mem;
+    Deflater d = new Deflater(Deflater.BEST_SPEED);
+    try {
+      d.setInput(src);
+      d.finish();
+      int max = (int)(mem.length*MAX_RATIO);
+      byte[] res = new byte[HDR+max];
+      int len = HDR;
+      while( !d.finished() && len < res.length )
+        len += d.deflate(res, len, res.length-len);
+      if( !d.finished() ) return null; // Did not fit in the budget
+      res[0] = (byte)width;
+      UnsafeUtils.set4(res, 1, mem.length);
+      COMPRESS_COUNT.incrementAndGet();
+      RAW_BYTES.addAndGet(mem.length);
+      ZIP_BYTES.addAndGet(len);
+      return Arrays.copyOf(res, len);
+    } finally {
+      d.end();
+    }
+  }
+
+  /** Inflate bytes made by {@link #compress}. */
+  static byte[] decompress( byte[] z ) {
+    final int width = z[0];
+    final int len = UnsafeUtils.get4(z, 1);
+    byte[] res = MemoryManager.malloc1(len);
+    Inflater inf = new Inflater();
+    try {
+      inf.setInput(z, HDR, z.length-HDR);
+      int off = 0;
+      while( off < len ) {
+        int n = inf.inflate(res, off, len-off);
+        if( n == 0 && (inf.finished() || inf.needsInput()) ) break;
+        off += n;
+      }
+      if( off != len ) throw new IllegalStateException("Truncated compressed Chunk: " + off + " of " + len + " bytes");
+    } catch( DataFormatException dfe ) {
+      throw Log.throwErr(dfe);
+    } finally {
+      inf.end();
+    }
+    INFLATE_COUNT.incrementAndGet();
+    return width > 1 ? unshuffle(res, width) : res;
+  }
+
+  // Byte plane k holds byte k of every element; a ragged tail is copied as-is
+  static byte[] shuffle( byte[] mem, int width ) {
+    final int n = mem.length/width;
+    byte[] res = new byte[mem.length];
+    for( int i = 0; i < n; i++ )
+      for( int k = 0; k < width; k++ )
+        res[k*n+i] = mem[i*width+k];
+    System.arraycopy(mem, n*width, res, n*width, mem.length-n*width);
+    return res;
+  }
+
+  static byte[] unshuffle( byte[] planes, int width ) {
+    final int n = planes.length/width;
+    byte[] res = MemoryManager.malloc1(planes.length);
+    for( int k = 0; k < width; k++ )
+      for( int i = 0; i < n; i++ )
+        res[i*width+k] = planes[k*n+i];
+    System.arraycopy(planes, n*width, res, n*width, planes.length-n*width);
+    return res;
+  }
+}
@@ -1,5 +1,9 @@
 package water;
 
+import java.util.concurrent.atomic.AtomicLong;
+
+import water.nbhm.ConcurrentAutoTable;
+
 /** A Distributed Key/Value Store.
  *  <p>
  *  Functions to Get and Put Values into the K/V store by Key.
@@ -186,14 +190,21 @@ public abstract class DKV {
    *  Non-blocking. */
   static public void prefetch( String key_name ) {        get(Key.make(key_name),false); }
 
+  // Lifetime get stats, for Metrics.  Local hits are counted on every hit by
+  // every thread: striped, so they do not all contend on one cache line.
+  static final ConcurrentAutoTable LOCAL_HITS = new ConcurrentAutoTable();
+  static final AtomicLong REMOTE_FETCHES = new AtomicLong(), MISSES = new AtomicLong();
+
   static private Value get( Key key, boolean blocking ) {
     // Read the Cloud once per put-attempt, to keep a consistent snapshot.
     H2O cloud = H2O.CLOUD;
     Value val = Value.STORE_get(key);
     // Hit in local cache?
     if( val != null ) {
-      if( val.rawMem() != null || val.rawPOJO() != null || val.isPersisted() )
+      if( val.rawMem() != null || val.rawPOJO() != null || val.isPersisted() ) {
+        LOCAL_HITS.increment();
         return val;
+      }
       assert !key.home(); // Master must have *something*; we got nothing & need to fetch
     }
 
@@ -205,7 +216,7 @@ public abstract class DKV {
 
     // If we missed in the cache AND we are the home node, then there is
     // no V for this K (or we have a disk failure).
-    if( home == H2O.SELF ) return null;
+    if( home == H2O.SELF ) { MISSES.incrementAndGet(); return null; }
 
     // Pending write to same key from this node?  Take that write instead.
     // Moral equivalent of "peeking into the cpu store buffer".  Can happen,
@@ -216,6 +227,7 @@ public abstract class DKV {
     if( tpk != null ) return tpk._xval == null || tpk._xval.isNull() ? null : tpk._xval;
 
     // Get data "the hard way"
+    REMOTE_FETCHES.incrementAndGet();
     RPC<TaskGetKey> tgk = TaskGetKey.start(home,key);
     return blocking ? TaskGetKey.get(tgk) : null;
   }
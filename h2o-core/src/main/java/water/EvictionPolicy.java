@@ -0,0 +1,195 @@
+package water;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import water.fvec.Frame;
+import water.nbhm.NonBlockingHashMap;
+
+/** Eviction policy for the {@link Cleaner}: decides which cached Values are
+ *  spilled first when the K/V store is above its cache goal.
+ *  <p>
+ *  A policy maps each Value to an <em>eviction time</em>, in msec; smaller is
+ *  colder and is spilled first.  The Cleaner builds its age histogram over
+ *  these times, so a policy only reorders Values - how much gets spilled is
+ *  still set by the {@link MemoryManager} goals.  Plain LRU is simply the
+ *  time of last access.
+ *  <p>
+ *  Selected by {@code -eviction_policy} (one of {@code lru}, {@code lru2},
+ *  {@code cost}), or programmatically by {@link #set}, which also accepts
+ *  custom subclasses.  Each policy keeps its own hit/miss/spill counters.
+ *  <p>
+ *  Independent of the policy, Keys can be <em>pinned</em> cluster-wide: the
+ *  Cleaner never spills a pinned Value, nor any Chunk of a pinned Vec.  Pins
+ *  are reference counted, so nested jobs can pin the same Frame.  E.g. with
+ *  {@code -pin_training_frames} every model build pins its training and
+ *  validation Vecs until it completes.
+ */
+public abstract class EvictionPolicy {
+
+  /** Accesses closer together than this count as one (LRU-K's "correlated
+   *  reference period"): one MRTask pass touching a Chunk once per column is
+   *  still a single reference. */
+  public static final long CORRELATED_MS = 1000;
+
+  /** Short policy name, as given to {@code -eviction_policy} */
+  public abstract String name();
+
+  /** Eviction time of a cached Value, in msec; smaller is evicted first.
+   *  Called from the Cleaner thread on every cached Value, so must be cheap
+   *  and must not block. */
+  public abstract long evictionTime( Value v );
+
+  // Per-policy counters
+  private final AtomicLong _hits   = new AtomicLong();
+  private final AtomicLong _misses = new AtomicLong();
+  private final AtomicLong _spills = new AtomicLong();
+  private final AtomicLong _spillBytes = new AtomicLong();
+
+  /** References served from the cached POJO while this policy was active;
+   *  gets closer together than {@link #CORRELATED_MS} count once.  Counted
+   *  per Value without synchronization and collected by the Cleaner, so this
+   *  is best-effort. */
+  public final long hits()   { return _hits.get(); }
+  /** Reloads from a compressed, off-heap or disk copy while this policy was active */
+  public final long misses() { return _misses.get(); }
+  /** Values spilled out of the Java heap by the Cleaner under this policy */
+  public final long spills() { return _spills.get(); }
+  public final long spillBytes() { return _spillBytes.get(); }
+
+  void addHits( long n ) { if( n > 0 ) _hits.addAndGet(n); }
+  void spilled( long bytes ) { _spills.incrementAndGet(); _spillBytes.addAndGet(bytes); }
+
+  @Override public String toString() {
+    return name()+"(hits="+hits()+", misses="+misses()+", spills="+spills()+")";
+  }
+
+  // ---
+  /** Least Recently Used: the time of last access.  The default. */
+  public static final EvictionPolicy LRU = new EvictionPolicy() {
+    @Override public String name() { return "lru"; }
+    @Override public long evictionTime( Value v ) { return v._lastAccessedTime; }
+  };
+
+  /** LRU-2: the time of the second-to-last (uncorrelated) access.  A Value
+   *  touched by one scan is colder than one being re-read every iteration,
+   *  even if the scan was more recent.  Values accessed only once look
+   *  {@link #ONCE_PENALTY_MS} older than they are, so they go first. */
+  public static final EvictionPolicy LRU2 = new EvictionPolicy() {
+    @Override public String name() { return "lru2"; }
+    @Override public long evictionTime( Value v ) {
+      long prev = v._prevAccessedTime;
+      return prev == 0 ? v._lastAccessedTime - ONCE_PENALTY_MS : prev;
+    }
+  };
+  public static final long ONCE_PENALTY_MS = 60*1000;
+
+  /** Cost-aware: LRU, but a Value which is expensive to bring back looks
+   *  younger than it is.  Chunks cannot be recomputed, so the cost is that of
+   *  the cheapest copy left once the heap copy is dropped: free if a compressed
+   *  or off-heap copy exists, a disk read if already persisted, a remote fetch
+   *  for a cached non-home Chunk, and a disk write plus read otherwise. */
+  public static final EvictionPolicy COST = new EvictionPolicy() {
+    @Override public String name() { return "cost"; }
+    @Override public long evictionTime( Value v ) { return v._lastAccessedTime + reloadCostMs(v); }
+  };
+  // The costs are not measured: they are age bonuses, in msec of recency, and
+  // only their order and rough ratios matter.  A bonus of a few seconds keeps
+  // a costly Value ahead of cheap ones touched about as recently, without
+  // keeping it long after it went cold.
+  /** Bonus of a Value already persisted: dropping it costs one disk read */
+  public static final long DISK_READ_MS = 2000;
+  /** Bonus of a cached non-home Value: a network round trip plus a read on
+   *  the home node, so a bit more than a local disk read */
+  public static final long REMOTE_MS = 3000;
+  /** Bonus of a Value only held in the heap: it must be written out to disk
+   *  first, then read back, so about a disk read and a half more */
+  public static final long DISK_WRITE_READ_MS = 5000;
+  static long reloadCostMs( Value v ) {
+    if( v.isCompressed() || v.isOffHeap() ) return 0;
+    if( v.isPersisted() ) return DISK_READ_MS;
+    Key k = v._key;
+    if( k != null && !k.home() ) return REMOTE_MS;
+    return DISK_WRITE_READ_MS;
+  }
+
+  // ---
+  // Known policies, by name; custom policies are added by set()
+  private static final CopyOnWriteArrayList<EvictionPolicy> POLICIES = new CopyOnWriteArrayList<>(new EvictionPolicy[]{LRU,LRU2,COST});
+  private static volatile EvictionPolicy CURRENT; // Null until set; then overrides the args
+
+  /** Find a known policy by name, or null */
+  public static EvictionPolicy forName( String name ) {
+    if( name == null ) return null;
+    for( EvictionPolicy p : POLICIES )
+      if( p.name().equalsIgnoreCase(name) ) return p;
+    return null;
+  }
+
+  // The -eviction_policy one, resolved once.  Safe as a constant: this class
+  // is first loaded when the arguments are checked, after they are parsed.
+  private static final EvictionPolicy CONFIGURED = configured();
+  private static EvictionPolicy configured() {
+    EvictionPolicy p = forName(H2O.ARGS.eviction_policy);
+    return p == null ? LRU : p;
+  }
+
+  /** The policy the Cleaner is currently using */
+  public static EvictionPolicy current() {
+    EvictionPolicy p = CURRENT;
+    return p != null ? p : CONFIGURED;
+  }
+
+  /** Switch the local Cleaner to the given policy.  Takes effect with the
+   *  next Cleaner histogram. */
+  public static void set( EvictionPolicy p ) {
+    if( p == null ) throw new IllegalArgumentException("Eviction policy must not be null");
+    POLICIES.addIfAbsent(p);
+    CURRENT = p;
+  }
+
+  // Called on a Value reloaded from outside the heap
+  static void miss() { current()._misses.incrementAndGet(); }
+
+  // ---
+  // Pinned Keys, with a reference count.  Updated under the lock; read
+  // lock-free by the Cleaner.
+  private static final NonBlockingHashMap<Key,Integer> PINS = new NonBlockingHashMap<>();
+
+  /** True if the Cleaner must not spill this Key: it is pinned, or it is a
+   *  Chunk of a pinned Vec. */
+  static boolean isPinned( Key k ) {
+    if( PINS.isEmpty() ) return false; // Fast path: nothing pinned
+    return PINS.containsKey(k) || (k.isChunkKey() && PINS.containsKey(k.getVecKey()));
+  }
+  /** Number of locally pinned Keys */
+  public static int pinnedCount() { return PINS.size(); }
+
+  private static void adjust( Key[] keys, int delta ) {
+    synchronized( PINS ) {
+      for( Key k : keys ) {
+        if( k == null ) continue;
+        Integer cnt = PINS.get(k);
+        int c = (cnt == null ? 0 : cnt) + delta;
+        if( c > 0 ) PINS.put(k, c);
+        else PINS.remove(k);
+      }
+    }
+  }
+
+  /** Pin the Keys on every node, until a matching {@link #unpin}.  Pinning a
+   *  Vec Key pins all its Chunks. */
+  public static void pin( Key... keys ) { new PinTask(keys, 1).doAllNodes(); }
+  /** Release Keys pinned by {@link #pin}, on every node */
+  public static void unpin( Key... keys ) { new PinTask(keys,-1).doAllNodes(); }
+  /** Pin all the Vecs of a Frame, on every node */
+  public static void pin( Frame fr ) { pin((Key[])fr.keys()); }
+  public static void unpin( Frame fr ) { unpin((Key[])fr.keys()); }
+
+  private static class PinTask extends MRTask<PinTask> {
+    final Key[] _pins;
+    final int _delta;
+    PinTask( Key[] pins, int delta ) { _pins = pins; _delta = delta; }
+    @Override protected void setupLocal() { adjust(_pins, _delta); }
+  }
+}
@@ -0,0 +1,87 @@
+package water;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+
+import water.fvec.Frame;
+
+/** Reverse index of the Frames in the K/V store: for each Vec Key, the
+ *  Frames holding it.
+ *  <p>
+ *  Each node indexes the Frames homed on it, as they are put, replaced and
+ *  removed in its local store.  Finding the Frames which share some Vecs is
+ *  then one lookup per Vec on each node: no scan of the keys and no fetch of
+ *  any Frame.  Frames outside the K/V store, and cached copies of remote
+ *  Frames, are not indexed.
+ */
+public final class FrameRefs {
+  private FrameRefs() {}
+
+  // Homed Frame Key -> its Vec Keys; Vec Key -> the homed Frames holding it.
+  // Guarded by the class lock: only Frame puts and removes update them.
+  private static final HashMap<Key,Key[]> VECS = new HashMap<>();
+  private static final HashMap<Key,Set<Key>> FRAMES = new HashMap<>();
+
+  // Called after every local store update
+  static void update( Key key, Value old, Value val ) {
+    if( key.isVec() || key.isChunkKey() ) return; // Never Frames: the common case
+    if( !isFrame(old) && !isFrame(val) ) return;
+    if( key.home() ) reindex(key);
+  }
+
+  private static boolean isFrame( Value v ) { return v != null && v.type() != 0 && v.isFrame(); }
+
+  // Index the Frame as it is now: racing puts to the same Key may get here
+  // in any order, the last one sees the final Value
+  private static synchronized void reindex( Key key ) {
+    Value cur = H2O.STORE.get(key);
+    Key[] vecs = isFrame(cur) ? ((Frame)cur.get()).keys() : null;
+    Key[] prev = vecs == null ? VECS.remove(key) : VECS.put(key, vecs);
+    if( prev != null )
+      for( Key vk : prev ) {
+        Set<Key> frames = FRAMES.get(vk);
+        if( frames != null && frames.remove(key) && frames.isEmpty() ) FRAMES.remove(vk);
+      }
+    if( vecs != null )
+      for( Key vk : vecs ) {
+        if( vk == null ) continue;
+        Set<Key> frames = FRAMES.get(vk);
+        if( frames == null ) FRAMES.put(vk, frames = new HashSet<>());
+        frames.add(key);
+      }
+  }
+
+  static synchronized void clear() { VECS.clear(); FRAMES.clear(); }
+
+  private static synchronized Key[] localSharing( Key frame, Key[] vecs ) {
+    Set<Key> res = new HashSet<>();
+    for( Key vk : vecs ) {
+      Set<Key> frames = vk == null ? null : FRAMES.get(vk);
+      if( frames != null ) res.addAll(frames);
+    }
+    res.remove(frame);
+    return res.toArray(new Key[res.size()]);
+  }
+
+  /** Frames in the K/V store, other than <em>frame</em>, holding any of the
+   *  Vec Keys; asks every node for the Frames homed there.
+   *  @return Keys of the sharing Frames, empty if none */
+  public static Key[] sharing( Key frame, Key[] vecs ) {
+    return new Sharing(frame, vecs).doAllNodes()._frames;
+  }
+
+  private static class Sharing extends MRTask<Sharing> {
+    final Key _frame;
+    final Key[] _vecs;
+    Key[] _frames;
+    Sharing( Key frame, Key[] vecs ) { _frame = frame; _vecs = vecs; }
+    @Override protected void setupLocal() { _frames = localSharing(_frame, _vecs); }
+    @Override public void reduce( Sharing s ) {
+      Key[] res = Arrays.copyOf(_frames, _frames.length + s._frames.length);
+      System.arraycopy(s._frames, 0, res, _frames.length, s._frames.length);
+      _frames = res;            // Each Frame is homed, so found, on one node only
+    }
+  }
+}
@@ -109,6 +109,25 @@ final public class H2O {
             "          The directory where H2O stores saved flows.\n" +
             defaultFlowDirMessage +
             "\n" +
+            "    -off_heap_mem <size>\n" +
+            "          Direct (off-heap) memory the Cleaner may move cold data to before\n" +
+            "          spilling to disk, e.g. 100g.  (The default is 0, disabled.)\n" +
+            "          Pair with -XX:MaxDirectMemorySize of at least the same size.\n" +
+            "\n" +
+            "    -compress_cold\n" +
+            "          Under memory pressure, compress cold data in memory before\n" +
+            "          moving it off-heap or spilling it to disk.\n" +
+            "\n" +
+            "    -eviction_policy <lru,lru2,cost>\n" +
+            "          Order in which cached data is spilled under memory pressure:\n" +
+            "          least recently used, least recently used twice (favors data\n" +
+            "          re-read by iterative algorithms over one-off scans), or LRU\n" +
+            "          weighted by the cost of reloading.  (The default is lru.)\n" +
+            "\n" +
+            "    -pin_training_frames\n" +
+            "          Never spill the training and validation frames of a running\n" +
+            "          model build.\n" +
+            "\n" +
             "    -nthreads <#threads>\n" +
             "          Maximum number of threads in the low priority batch-work queue.\n" +
             "          (The default is " + (char)Runtime.getRuntime().availableProcessors() + ".)\n" +
@@ -290,6 +309,18 @@ final public class H2O {
     /** -cleaner; enable user-mode spilling of big data to disk in ice_root */
     public boolean cleaner = false;
 
+    /** -off_heap_mem=size; bytes of direct memory the Cleaner may move Chunks to before spilling to disk; 0 disables */
+    public long off_heap_mem = 0;
+
+    /** -compress_cold; under memory pressure, compress cold Chunks in memory before moving them off-heap or to disk */
+    public boolean compress_cold = false;
+
+    /** -eviction_policy=name; order in which the Cleaner spills cached data; see {@link EvictionPolicy} */
+    public String eviction_policy = "lru";
+
+    /** -pin_training_frames; pin the input frames of running model builds, so they are never spilled */
+    public boolean pin_training_frames = false;
+
     /** -nthreads=nthreads; Max number of F/J threads in the low-priority batch queue */
     public short nthreads= (short)Runtime.getRuntime().availableProcessors();
 
@@ -415,6 +446,21 @@ final public class H2O {
       return 0;
     }
 
+    public long parseBytes(String a) {
+      String x = a.trim().toLowerCase();
+      long mul = 1;
+      switch( x.isEmpty() ? ' ' : x.charAt(x.length()-1) ) {
+      case 't': mul <<= 10;
+      case 'g': mul <<= 10;
+      case 'm': mul <<= 10;
+      case 'k': mul <<= 10; x = x.substring(0,x.length()-1);
+      }
+      try { long b = Long.parseLong(x); if( b >= 0 ) return b*mul; }
+      catch (Exception e) { }
+      parseFailed("Argument " + _lastMatchedFor + " must be a byte size such as 512m or 20g (was given '" + a + "')" );
+      return 0;
+    }
+
     public int parsePort(String portString){
       int portNum = parseInt(portString);
       if(portNum < 0 || portNum > 65535){
@@ -553,6 +599,20 @@ final public class H2O {
       else if(s.matches("cleaner")) {
         trgt.cleaner = true;
       }
+      else if (s.matches("compress_cold")) {
+        trgt.compress_cold = true;
+      }
+      else if (s.matches("eviction_policy")) {
+        i = s.incrementAndCheck(i, args);
+        trgt.eviction_policy = args[i];
+      }
+      else if (s.matches("pin_training_frames")) {
+        trgt.pin_training_frames = true;
+      }
+      else if (s.matches("off_heap_mem")) {
+        i = s.incrementAndCheck(i, args);
+        trgt.off_heap_mem = s.parseBytes(args[i]);
+      }
       else if (s.matches("jks")) {
         i = s.incrementAndCheck(i, args);
         trgt.jks = args[i];
@@ -624,6 +684,10 @@ final public class H2O {
       }
     }
 
+    if (EvictionPolicy.forName(ARGS.eviction_policy) == null) {
+      parseFailed("Unknown eviction policy: " + ARGS.eviction_policy + "; expected one of lru, lru2, cost");
+    }
+
     int login_arg_count = 0;
     if (ARGS.hash_login) login_arg_count++;
     if (ARGS.ldap_login) login_arg_count++;
@@ -1778,6 +1842,7 @@ final public class H2O {
       Cleaner.dirty_store(); // Start storing the new guy
       if( old==null ) Scope.track_internal(key); // New Key - start tracking
     }
+    FrameRefs.update(key,old,val); // Frames come and go
     return old; // Return success
   }
 
@@ -1785,8 +1850,9 @@ final public class H2O {
   public static void raw_remove(Key key) {
     Value v = STORE.remove(key);
     if( v != null ) v.removePersist();
+    FrameRefs.update(key,v,null);
   }
-  public static void raw_clear() { STORE.clear(); }
+  public static void raw_clear() { STORE.clear(); FrameRefs.clear(); }
   public static boolean containsKey( Key key ) { return STORE.get(key) != null; }
   static Key getk( Key key ) { return STORE.getk(key); }
   public static Set<Key> localKeySet( ) { return STORE.keySet(); }
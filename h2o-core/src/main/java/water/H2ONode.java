@@ -3,6 +3,7 @@ package water;
 import water.RPC.RPCCall;
 import water.nbhm.NonBlockingHashMap;
 import water.nbhm.NonBlockingHashMapLong;
+import water.network.CompressedByteChannel;
 import water.network.SocketChannelFactory;
 import water.util.ArrayUtils;
 import water.util.Log;
@@ -17,8 +18,11 @@ import java.nio.channels.ByteChannel;
 import java.nio.channels.DatagramChannel;
 import java.nio.channels.SocketChannel;
 import java.util.*;
-import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A <code>Node</code> in an <code>H2O</code> Cloud.
@@ -298,7 +302,9 @@ public final class H2ONode extends Iced<H2ONode> implements Comparable {
     boolean res = sock2.connect( _key );
     assert res && !sock2.isConnectionPending() && sock2.isBlocking() && sock2.isConnected() && sock2.isOpen();
     ByteBuffer bb = ByteBuffer.allocate(4).order(ByteOrder.nativeOrder());
-    bb.put((byte)2);
+    // Compress only between machines; loopback bandwidth is not worth the CPU
+    boolean zip = CompressedByteChannel.ENABLED && !_key.getAddress().equals(H2O.SELF._key.getAddress());
+    bb.put(zip ? TCPReceiverThread.TCP_BIG_ZIP : TCPReceiverThread.TCP_BIG);
     bb.putChar((char)H2O.H2O_PORT);
     bb.put((byte)0xef);
     bb.flip();
@@ -307,7 +313,7 @@ public final class H2ONode extends Iced<H2ONode> implements Comparable {
       wrappedSocket.write(bb);
     }
     TCPS.incrementAndGet();     // Cluster-wide counting
-    return wrappedSocket;
+    return zip ? new CompressedByteChannel(wrappedSocket) : wrappedSocket;
   }
   synchronized void freeTCPSocket( ByteChannel sock ) {
     assert 0 <= _socksAvail && _socksAvail < _socks.length;
@@ -363,6 +369,20 @@ public final class H2ONode extends Iced<H2ONode> implements Comparable {
     return openChan(tcpType, socketFactory, InetAddress.getByName(originAddr), originPort);
   }
 
+  // Small-message batching stats for this node, all peers together
+  private static final AtomicLong SMALL_MSGS = new AtomicLong(), SMALL_BATCHES = new AtomicLong();
+  /** Small messages sent over the batched TCP channels since startup */
+  public static long smallMessages() { return SMALL_MSGS.get(); }
+  /** Writes carrying them; messages per write is the coalescing achieved */
+  public static long smallBatches() { return SMALL_BATCHES.get(); }
+
+  /** Microseconds a batch of small messages may wait for more to join it,
+   *  when messages are arriving in bursts.  0 disables lingering. */
+  static final long LINGER_NS = Long.getLong(H2O.OptArgs.SYSTEM_PROP_PREFIX + "small.msg.linger.us", 100)*1000;
+  // After this many messages taken ahead of a waiting lower priority one, the
+  // oldest lowest priority message goes next
+  static final int STARVE_LIMIT = 8;
+
   // Private thread serving (actually ships the bytes over) small msg Q.
   // Buffers the small messages together and sends the bytes over via TCP channel.
   class UDP_TCP_SendThread extends Thread {
@@ -370,6 +390,7 @@ public final class H2ONode extends Iced<H2ONode> implements Comparable {
     volatile boolean _stopRequested;
     private ByteChannel _chan;  // Lazily made on demand; closed & reopened on error
     private final ByteBuffer _bb; // Reusable output large buffer
+    private int _lastBatch;     // Messages in the last batch; >1 means a burst
   
     public UDP_TCP_SendThread(){
       super("UDP-TCP-SEND-" + H2ONode.this);
@@ -385,33 +406,53 @@ public final class H2ONode extends Iced<H2ONode> implements Comparable {
      */
     public void sendMessage(ByteBuffer bb, byte msg_priority) {
       assert bb.position()==0 && bb.limit() > 0;
-      // Secret back-channel priority: the position field (capped at bb.limit);
-      // this is to avoid making Yet Another Object per send.
-  
-      // Priority can exceed position.  "interesting" priorities are everything
-      // above H2O.MIN_HI_PRIORITY and things just above 0; priorities in the
-      // middl'n range from 10 to MIN_HI are really rare.  Need to compress
-      // priorities a little for this hack to work.
-      if( msg_priority >= H2O.MIN_HI_PRIORITY ) msg_priority = (byte)((msg_priority-H2O.MIN_HI_PRIORITY)+10);
-      else if( msg_priority >= 10 ) msg_priority = 10;
-      if( msg_priority > bb.limit() ) msg_priority = (byte)bb.limit();
-      bb.position(msg_priority);
-  
-      _msgQ.put(bb); 
+      // "interesting" priorities are everything above H2O.MIN_HI_PRIORITY and
+      // things just above 0; priorities in the middl'n range from 10 to MIN_HI
+      // are really rare.  Compress them to a few levels, each a FIFO queue.
+      _msgQs[level(msg_priority)].offer(bb);
+      _queued.release();
     }
-  
-    private final PriorityBlockingQueue<ByteBuffer> _msgQ
-      = new PriorityBlockingQueue<>(11,new Comparator<ByteBuffer>() {
-          // Secret back-channel priority: the position field (capped at bb.limit)
-          @Override public int compare( ByteBuffer bb1, ByteBuffer bb2 ) { return bb1.position() - bb2.position(); }
-        });
-  
+
+    // One FIFO queue per priority level; a permit per queued message
+    private final ConcurrentLinkedQueue<ByteBuffer>[] _msgQs = newQueues(H2O.MAX_PRIORITY-H2O.MIN_HI_PRIORITY+12);
+    private final Semaphore _queued = new Semaphore(0);
+    private int _overtaken;     // Messages sent ahead of a waiting lower level one
+    private int _level;         // Level of the last message taken
+
+    private int level( int prior ) {
+      return prior >= H2O.MIN_HI_PRIORITY ? (prior-H2O.MIN_HI_PRIORITY)+11 : prior >= 10 ? 10 : Math.max(prior, 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ConcurrentLinkedQueue<ByteBuffer>[] newQueues( int n ) {
+      ConcurrentLinkedQueue<ByteBuffer>[] qs = new ConcurrentLinkedQueue[n];
+      for( int i = 0; i < n; i++ ) qs[i] = new ConcurrentLinkedQueue<>();
+      return qs;
+    }
+
+    // Next message to send, having claimed its permit: the highest priority
+    // one, unless lower priority ones have been overtaken too often
+    ByteBuffer nextMessage() {
+      int hi = -1, lo = -1;
+      for( int i = _msgQs.length-1; i >= 0; i-- )
+        if( !_msgQs[i].isEmpty() ) { if( hi == -1 ) hi = i; lo = i; }
+      assert hi != -1 : "Permit without a message";
+      if( lo == hi ) _overtaken = 0;
+      else if( ++_overtaken > STARVE_LIMIT ) { _overtaken = 0; hi = lo; }
+      _level = hi;
+      return _msgQs[hi].poll();
+    }
+
     @Override public void run(){
       try {
         while (!_stopRequested) {            // Forever loop
           try {
-            ByteBuffer bb = _msgQ.take(); // take never returns null but blocks instead
-            while( bb != null ) {         // while have an BB to process
+            _queued.acquire();               // Block for the first message
+            final long deadline = System.nanoTime() + LINGER_NS;
+            int n = 0;
+            boolean urgent = false;
+            while( true ) {                  // Fill a batch
+              ByteBuffer bb = nextMessage();
               assert !bb.isDirect() : "Direct BBs already got recycled";
               assert bb.limit()+1+2 <= _bb.capacity() : "Small message larger than the output buffer";
               if( _bb.remaining() < bb.limit()+1+2 )
@@ -419,8 +460,17 @@ public final class H2ONode extends Iced<H2ONode> implements Comparable {
               _bb.putChar((char)bb.limit());
               _bb.put(bb.array(),0,bb.limit()); // Jam this BB into the existing batch BB, all in one go (it all fits)
               _bb.put((byte)0xef);// Sentinel byte
-              bb = _msgQ.poll();  // Go get more, same batch
+              n++;
+              urgent |= _level >= level(H2O.FETCH_ACK_PRIORITY); // Heartbeats, ACKACKs, class fetches
+              if( _queued.tryAcquire() ) continue; // Go get more, same batch
+              // Queue is empty.  In a burst, and with nothing urgent aboard,
+              // wait a little for more to join this batch.
+              long wait = deadline - System.nanoTime();
+              if( urgent || _lastBatch <= 1 || wait <= 0 ||
+                  !_queued.tryAcquire(wait, TimeUnit.NANOSECONDS) ) break;
             }
+            _lastBatch = n;
+            SMALL_MSGS.addAndGet(n);
             sendBuffer();         // Send final trailing BBs
           } catch (IllegalMonitorStateException imse) { /* ignore */
           } catch (InterruptedException e) { /*ignore*/ }
@@ -435,6 +485,7 @@ public final class H2ONode extends Iced<H2ONode> implements Comparable {
     void sendBuffer(){
       int retries = 0;
       _bb.flip();                 // limit set to old position; position set to 0
+      if( _bb.hasRemaining() ) SMALL_BATCHES.incrementAndGet();
       while( !_stopRequested && _bb.hasRemaining()) {
         try {
           ByteChannel chan = _chan == null ? (_chan=openChan()) : _chan;
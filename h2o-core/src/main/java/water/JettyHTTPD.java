@@ -8,6 +8,7 @@ import org.eclipse.jetty.server.handler.HandlerCollection;
 import org.eclipse.jetty.server.handler.HandlerWrapper;
 import org.eclipse.jetty.servlet.ServletContextHandler;
 import water.api.DatasetServlet;
+import water.api.MetricsServlet;
 import water.api.NpsBinServlet;
 import water.api.PostFileServlet;
 import water.api.PutKeyServlet;
@@ -116,6 +117,7 @@ public class JettyHTTPD extends AbstractHTTPD {
     context.addServlet(DatasetServlet.class,  "/3/DownloadDataset.bin");
     context.addServlet(PutKeyServlet.class,   "/3/PutKey.bin");
     context.addServlet(PutKeyServlet.class,   "/3/PutKey");
+    context.addServlet(MetricsServlet.class,  "/3/Metrics");
     context.addServlet(RequestServer.class,   "/");
 
     // Handlers that can only be invoked for an authenticated user (if auth is enabled)
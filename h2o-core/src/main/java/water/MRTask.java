@@ -7,7 +7,12 @@ import water.util.DistributedException;
 import water.util.PrettyPrint;
 import water.fvec.Vec.VectorGroup;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Map/Reduce style distributed computation.
@@ -158,6 +163,9 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
   /** Internal field to track if this is a top-level call. */
   transient boolean _topGlobal = false;
 
+  // Start of this node's part of the task, for Tracing
+  transient private long _traceT0;
+
   /** Internal field to track the left &amp; right sub-range of chunks to work on */
   transient protected T _left, _rite; // In-progress execution tree
 
@@ -179,6 +187,84 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
   /** If true, run entirely local - which will pull all the data locally. */
   protected boolean _run_local;
 
+  /** If true, nodes done with their own Chunks map unmapped Chunks of busy
+   *  nodes; see {@link #withWorkStealing(int)} */
+  protected boolean _steal;
+  /** Minimum unmapped Chunks a node must have left to give any away */
+  protected int _stealThreshold = WorkStealing.DEFAULT_THRESHOLD;
+  /** Names this doAll's Chunk queues on all nodes */
+  private Key _stealKey;
+  /** This node's unmapped home Chunks, if stealing */
+  transient private WorkStealing.Queue _stealQueue;
+  /** Unmapped copy of the top-local task, cloned to map stolen Chunks */
+  transient private T _stealProto;
+  /** Stolen chunk indices; _lo and _hi index into these */
+  transient private int[] _stolen;
+  /** Results of the stolen Chunks mapped here, reduced one batch at a time */
+  transient private T _stolenRes;
+
+  /** Let nodes done with their own Chunks take unmapped Chunks from nodes
+   *  still busy, fetching the Chunk bytes over the wire, so that one slow node
+   *  does not hold up the whole doAll.  A node gives away at most half its
+   *  unmapped Chunks at a time, and none once it has fewer than threshold
+   *  left.  Only for Frame tasks whose map results do not depend on where a
+   *  Chunk is mapped; results are reduced in an order depending on timing, so
+   *  floating point sums differ from run to run in their last bits.
+   *  @return this */
+  public T withWorkStealing( int threshold ) { _steal = true; _stealThreshold = threshold; return self(); }
+  public T withWorkStealing() { return withWorkStealing(WorkStealing.DEFAULT_THRESHOLD); }
+
+  /** If positive, most partial results kept alive per node besides the ones
+   *  being mapped; see {@link #withBoundedPartials(int)} */
+  protected int _maxPartials;
+  /** Node-local accumulators map results are folded into, if bounded */
+  transient private Partials<T> _partials;
+
+  /** Fold each map result into one of at most maxPartials node-local
+   *  accumulators as soon as its map is done, instead of keeping it alive
+   *  until its sibling in the reduce tree is done too.  Bounds the partial
+   *  results alive on a node to maxPartials plus the maps in progress, for
+   *  tasks with large results, e.g. Gram matrices or histograms.  Results are
+   *  reduced in no particular order: reduce must be commutative, and floating
+   *  point sums differ from run to run in their last bits.
+   *  @return this */
+  public T withBoundedPartials( int maxPartials ) { _maxPartials = maxPartials; return self(); }
+  public T withBoundedPartials() { return withBoundedPartials(Math.max(2, H2O.NUMCPUS >> 2)); }
+
+  // Free accumulators; there are never more than max of them, and a map
+  // result waits for one to be free once they all exist
+  private static final class Partials<T extends MRTask<T>> {
+    private final LinkedBlockingQueue<T> _free = new LinkedBlockingQueue<>();
+    private final AtomicInteger _count = new AtomicInteger();
+    private final int _max;
+    Partials( int max ) { _max = max; }
+    void fold( T res ) {
+      T acc = _free.poll();
+      if( acc == null ) {
+        if( _count.incrementAndGet() <= _max ) { _free.add(res); return; } // New accumulator
+        _count.decrementAndGet();
+        // Holders of accumulators only reduce into them, never block, so
+        // the wait may park in place once the pool compensated enough
+        Take take = new Take();
+        while( take._acc == null ) Blocking.block(take);
+        acc = take._acc;
+      }
+      long t0 = Tracing.start();
+      try { acc.reduce4(res); }
+      finally { _free.add(acc); Tracing.end(t0, "reduce", acc); }
+    }
+    private final class Take implements ForkJoinPool.ManagedBlocker {
+      T _acc;
+      @Override public boolean isReleasable() { return _acc != null || (_acc = _free.poll()) != null; }
+      @Override public boolean block() throws InterruptedException {
+        if( _acc == null ) _acc = _free.take();
+        return true;
+      }
+    }
+    // All accumulators, once all maps are done
+    List<T> drain() { List<T> accs = new ArrayList<>(); _free.drainTo(accs); return accs; }
+  }
+
   public String profString() { return _profile != null ? _profile.toString() : "Profiling turned off"; }
   MRProfile _profile;
 
@@ -453,6 +539,7 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
     _fr = fr;                   // Record vectors to work on
     _nlo = selfidx(); _nhi = (short)H2O.CLOUD.size(); // Do Whole Cloud
     _run_local = run_local;     // Run locally by copying data, or run globally?
+    if( _steal ) _stealKey = Key.make();
     setupLocal0();              // Local setup
     H2O.submitTask(this);       // Begin normal execution on a FJ thread
     return self();
@@ -509,6 +596,7 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
    * chunks; call user's init.
    */
   private void setupLocal0() {
+    _traceT0 = Tracing.start();
     if(_profile != null)
       (_profile = new MRProfile(this))._localstart = System.currentTimeMillis();
     // Make a blockable Futures for both internal and user work to block on.
@@ -542,12 +630,26 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
       _lo = 0;  _hi = _fr.numCols()==0 ? 0 : _fr.anyVec().nChunks(); // Do All Chunks
       // get the Vecs from the K/V store, to avoid racing fetches from the map calls
       _fr.vecs();
+      if( _stealKey != null && _hi > 0 && !_run_local && !H2O.ARGS.client && H2O.CLOUD.size() > 1 )
+        _stealQueue = WorkStealing.register(_stealKey, _fr.anyVec());
     } else if( _keys != null ) {    // Else doing a set of Keys
       _lo = 0;  _hi = _keys.length; // Do All Keys
     }
     // Setup any user's shared local structures for both normal cluster nodes
     // and any client; want this for possible reduction ONTO client
+    if( _maxPartials > 0 ) _partials = new Partials<>(_maxPartials);
     setupLocal();
+    if( _stealQueue != null ) {
+      _stealProto = copyAndInit();
+      // Not complete until done stealing, too; starts once all home Chunks
+      // are claimed
+      List<H2ONode> victims = new ArrayList<>();
+      for( H2ONode node : H2O.CLOUD.members() )
+        if( node != H2O.SELF ) victims.add(node);
+      Collections.shuffle(victims); // Do not all pile onto the same node
+      addToPendingCount(1);
+      _stealQueue.onDrained(new Stealer(victims, 0, 0));
+    }
     if(_profile!=null) _profile._localdone = System.currentTimeMillis();
   }
 
@@ -598,13 +700,18 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
           _hi > _lo && _keys[_lo].home() ) {
         assert(_keys == null || !H2O.ARGS.client) : "Client node should not process any keys in MRTask!";
         if(_profile!=null) _profile._userstart = System.currentTimeMillis();
+        long t0 = Tracing.start();
         if( _keys != null ) map(_keys[_lo]);
+        Tracing.end(t0, "map", this);
         _res = self();        // Save results since called map() at least once!
         if(_profile!=null) _profile._closestart = System.currentTimeMillis();
       }
     } else if( _hi > _lo ) {    // Frame, Single chunk?
+      final boolean stolen = _stolen != null;
+      if( stolen ) { _lo = _stolen[_lo]; _hi = _lo+1; } // Claimed for us by its home
       Vec v0 = _fr.anyVec();
-      if( _run_local || v0.chunkKey(_lo).home() ) { // And chunk is homed here?
+      // And chunk is homed here, and not stolen by another node?
+      if( stolen || _run_local || v0.chunkKey(_lo).home() && (_stealQueue == null || _stealQueue.claim(_lo)) ) {
         assert(_run_local || !H2O.ARGS.client) : "Client node should not process any keys in MRTask!";
 
         // Make decompression chunk headers for these chunks
@@ -613,7 +720,7 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
         NewChunk [] appendableChunks = null;
         for( int i=0; i<vecs.length; i++ )
           if( vecs[i] != null ) {
-            assert _run_local || vecs[i].chunkKey(_lo).home()
+            assert stolen || _run_local || vecs[i].chunkKey(_lo).home()
               : "Chunk="+_lo+" v0="+v0+", k="+v0.chunkKey(_lo)+"   v["+i+"]="+vecs[i]+", k="+vecs[i].chunkKey(_lo);
             bvs[i] = vecs[i].chunkForChunkIdx(_lo);
           }
@@ -631,6 +738,7 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
         if(_profile!=null)
           _profile._userstart = System.currentTimeMillis();
 
+        long t0 = Tracing.start();
         int num_fr_vecs = _fr.vecs().length;
         int num_outputs = _output_types == null? 0 : _output_types.length;
         if (num_outputs == 0) {
@@ -655,6 +763,7 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
         }
         if (num_outputs >= 0)
           map(bvs, appendableChunks);
+        Tracing.end(t0, "map", this);
 
         _res = self();          // Save results since called map() at least once!
         // Further D/K/V put any new vec results.
@@ -666,6 +775,10 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
     }
     if(_profile!=null)
       _profile._mapdone = System.currentTimeMillis();
+    if( _res != null && _partials != null ) { // Fold into an accumulator; do not hold up the tree
+      _partials.fold(_res);
+      _res = null;
+    }
     tryComplete();
   }
 
@@ -692,7 +805,11 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
     if(_profile!=null)
       _profile.gather(mrt._profile,0);
     if( _res == null ) _res = mrt._res;
-    else if( mrt._res != null ) _res.reduce4(mrt._res);
+    else if( mrt._res != null ) {
+      long t0 = Tracing.start();
+      _res.reduce4(mrt._res);
+      Tracing.end(t0, "reduce", this);
+    }
     // Futures are shared on local node and transient (so no remote updates)
     assert _fs == mrt._fs;
   }
@@ -705,6 +822,16 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
   // Block for other queued pending tasks.
   // Copy any final results into 'this', such that a return of 'this' has the results.
   private void postLocal0() {
+    if( _stolenRes != null ) {
+      if( _res == null ) _res = _stolenRes;
+      else _res.reduce4(_stolenRes);
+      _stolenRes = null;
+    }
+    if( _partials != null )
+      for( T acc : _partials.drain() ) {
+        if( _res == null ) _res = acc;
+        else _res.reduce4(acc);
+      }
     closeLocal();               // User's node-local cleanup
     if(_profile!=null) _profile._closeLocalDone = System.currentTimeMillis();
     reduce3(_nleft);            // Reduce global results from neighbors.
@@ -724,13 +851,67 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
         _fr.postWrite(_fs).blockForPending();
       postGlobal();             // User's continuation work
     }
+    Tracing.end(_traceT0, _topGlobal ? "dfork" : "node", this);
 
   }
 
+  // Done with all home Chunks: maps Chunks stolen from busy nodes, one batch
+  // at a time, as a subtask of the top-local task.  Each Stealer claims a
+  // batch and forks its maps; once they are done it reduces them and hands on
+  // to the next Stealer, until no node has Chunks left to give.  Nodes yet to
+  // start the task are asked again, backing off, for up to MAX_RETRIES rounds.
+  private final class Stealer extends H2O.H2OCountedCompleter<Stealer> {
+    private final List<H2ONode> _victims;
+    private int _i;             // Next victim to ask
+    private int _retries;       // Rounds in which no victim had started
+    private MRTask<T> _batch;
+    Stealer( List<H2ONode> victims, int i, int retries ) {
+      super(MRTask.this);
+      _victims = victims; _i = i; _retries = retries;
+    }
+    @Override public void compute2() {
+      int unknown = 0;          // Victims in a row not started yet
+      while( !_victims.isEmpty() && !MRTask.this.isCompletedAbnormally() ) {
+        _i %= _victims.size();
+        int[] cidxs = WorkStealing.steal(_victims.get(_i), _stealKey, _stealThreshold);
+        if( cidxs == null ) {   // Not started the task yet
+          _i++;
+          if( ++unknown < _victims.size() ) continue;
+          if( ++_retries > WorkStealing.MAX_RETRIES ) break;
+          unknown = 0;
+          try { Thread.sleep(1 << _retries); } catch( InterruptedException ignore ) { }
+          continue;
+        }
+        if( cidxs.length == 0 ) { _victims.remove(_i); unknown = 0; continue; }
+        _batch = ((MRTask<T>)_stealProto).copyAndInit();
+        _batch.setCompleter(this);
+        _batch._stolen = cidxs;
+        _batch._lo = 0;  _batch._hi = cidxs.length;
+        addToPendingCount(1);
+        _batch.fork();          // Mapped in parallel, like home Chunks
+        break;
+      }
+      tryComplete();
+    }
+    @Override public void onCompletion( CountedCompleter caller ) {
+      if( _batch == null ) return; // Nothing left to steal
+      T res = _batch._res;
+      if( res != null ) {
+        if( _stolenRes == null ) _stolenRes = res;
+        else _stolenRes.reduce4(res);
+      }
+      // Hand on before completing, so the top-local task keeps waiting
+      MRTask.this.addToPendingCount(1);
+      H2O.submitTask(new Stealer(_victims, _i+1, _retries));
+    }
+  }
+
   // Block for RPCs to complete, then reduce global results into self results
   private void reduce3( RPC<T> rpc ) {
     if( rpc == null ) return;
+    long t0 = Tracing.start();
     T mrt = rpc.get();          // This is a blocking remote call
+    Tracing.end(t0, "wait", this);
     // Note: because _fs is transient it is not set or cleared by the RPC.
     // Because the MRT object is a clone of 'self' it's likely to contain a ptr
     // to the self _fs which will be not-null and still have local pending
@@ -740,7 +921,11 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
     // Unlike reduce2, results are in mrt directly not mrt._res.
     if( mrt._nhi != -1L ) {     // Any results at all?
       if( _res == null ) _res = mrt;
-      else _res.reduce4(mrt);
+      else {
+        t0 = Tracing.start();
+        _res.reduce4(mrt);
+        Tracing.end(t0, "reduce", this);
+      }
     }
   }
 
@@ -768,6 +953,7 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
    *  expected to be user-called.  */
   @Override public final boolean onExceptionalCompletion( Throwable ex, CountedCompleter caller ) {
     self_cancel1();
+    if( _topLocal && _stealKey != null ) WorkStealing.unregister(_stealKey);
     // Block for completion - we don't want the work, but we want all the
     // workers stopped before we complete this task.  Otherwise this task quits
     // early and begins post-task processing (generally cleanup from the
@@ -31,6 +31,13 @@ import water.util.PrettyPrint;
  * The amount of memory to be freed is determined as the max of cached mem above
  * the limit and heap usage above the limit.
  *
+ * With -compress_cold the Cleaner first compresses cold Chunks in place (see
+ * {@link ColdCompressor}); compressed bytes still count as heap cache.  With
+ * -off_heap_mem it then moves cold Chunks into the {@link OffHeapStore}, and
+ * spills to disk only when that is full.  The cache goals here are for the
+ * heap only; the off-heap tier has its own fixed limit, and its usage is
+ * tracked separately in the Cleaner histogram.
+ *
  * One of the primary control inputs is FullGC cycles: we check heap usage and
  * set guidance for cache levels. We assume after a FullGC that the heap only
  * has POJOs (Plain Old Java Objects, unknown size) and K/V Cached stuff
@@ -152,7 +159,8 @@ abstract public class MemoryManager {
     }
 
     // No logging if under memory pressure: can deadlock the cleaner thread
-    String s = m+msg+", (K/V:"+PrettyPrint.bytes(cacheUsageGC)+" + POJO:"+PrettyPrint.bytes(pojoUsedGC)+" + FREE:"+PrettyPrint.bytes(freeHeap)+" == MEM_MAX:"+PrettyPrint.bytes(MEM_MAX)+"), desiredKV="+PrettyPrint.bytes(Cleaner.DESIRED)+(oom?" OOM!":" NO-OOM");
+    String s = m+msg+", (K/V:"+PrettyPrint.bytes(cacheUsageGC)+" + POJO:"+PrettyPrint.bytes(pojoUsedGC)+" + FREE:"+PrettyPrint.bytes(freeHeap)+" == MEM_MAX:"+PrettyPrint.bytes(MEM_MAX)+"), desiredKV="+PrettyPrint.bytes(Cleaner.DESIRED)+
+      (OffHeapStore.enabled() ? ", offheap="+PrettyPrint.bytes(OffHeapStore.used())+"/"+PrettyPrint.bytes(OffHeapStore.max()) : "")+(oom?" OOM!":" NO-OOM");
     if( CAN_ALLOC ) { if( oom ) Log.warn(s); else Log.debug(s); }
     else            System.err.println(s);
   }
@@ -221,6 +229,10 @@ abstract public class MemoryManager {
   static Object malloc(int elems, long bytes, int type, Object orig, int from ) {
     return malloc(elems,bytes,type,orig,from,false);
   }
+  // Lifetime stats of blocked allocations and task memory reservations, for Metrics
+  static final AtomicLong ALLOC_STALLS = new AtomicLong(), ALLOC_STALL_NS = new AtomicLong();
+  static final AtomicLong TASK_MEM_STALLS = new AtomicLong(), TASK_MEM_STALL_NS = new AtomicLong();
+
   static Object malloc(int elems, long bytes, int type, Object orig, int from , boolean force) {
     assert elems >= 0 : "Bad size " + elems; // is 0 okay?!
     // Do not assert on large-size here.  RF's temp internal datastructures are
@@ -233,9 +245,12 @@ abstract public class MemoryManager {
           // case.  This is probably an allocation for logging (ouch! shades of
           // logging-induced deadlock!) which will probably be recycled quickly.
           !(Thread.currentThread() instanceof Cleaner) ) {
+        long t0 = System.nanoTime();
         synchronized(_lock) {
           try { _lock.wait(300*1000); } catch (InterruptedException ex) { }
         }
+        ALLOC_STALLS.incrementAndGet();
+        ALLOC_STALL_NS.addAndGet(System.nanoTime()-t0);
       }
       try {
         switch( type ) {
@@ -327,6 +342,9 @@ abstract public class MemoryManager {
   private static Object _taskMemLock = new Object();
   static void reserveTaskMem(long m){
     final long bytes = m;
+    if( tryReserveTaskMem(bytes) ) return;
+    long t0 = System.nanoTime();
+    TASK_MEM_STALLS.incrementAndGet();
     while(!tryReserveTaskMem(bytes)){
       try {
         ForkJoinPool.managedBlock(new ManagedBlocker() {
@@ -340,6 +358,7 @@ abstract public class MemoryManager {
         });
       } catch (InterruptedException e){ Log.throwErr(e); }
     }
+    TASK_MEM_STALL_NS.addAndGet(System.nanoTime()-t0);
   }
 
   /**
@@ -0,0 +1,213 @@
+package water;
+
+import water.persist.PersistManager;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Node metrics in the Prometheus text exposition format: the DKV, the
+ * Cleaner and its storage tiers, the MemoryManager, the F/J pools, RPCs and
+ * the node-to-node wire.  Gathered on demand from counters the subsystems
+ * keep anyway; see {@link #local()}, and {@link #merge} for a whole-cloud view
+ * with a {@code node} label.
+ */
+public final class Metrics extends Iced<Metrics> {
+  /** One metric family: its samples' names (a histogram's have suffixes),
+   *  labels (without braces, maybe empty) and values */
+  public static final class Family extends Iced<Family> {
+    public String _name, _help, _type;
+    public String[] _samples, _labels;
+    public double[] _values;
+    private int _n;
+    Family( String name, String type, String help ) {
+      _name = name; _type = type; _help = help;
+      _samples = new String[4]; _labels = new String[4]; _values = new double[4];
+    }
+    Family add( String sample, String labels, double value ) {
+      if( _n == _values.length ) {
+        _samples = Arrays.copyOf(_samples, _n<<1);
+        _labels = Arrays.copyOf(_labels, _n<<1);
+        _values = Arrays.copyOf(_values, _n<<1);
+      }
+      _samples[_n] = sample; _labels[_n] = labels == null ? "" : labels; _values[_n++] = value;
+      return this;
+    }
+    Family add( String labels, double value ) { return add(_name, labels, value); }
+    int size() { return _n; }
+  }
+
+  public Family[] _families;
+  private transient LinkedHashMap<String,Family> _byName = new LinkedHashMap<>();
+
+  private Family family( String name, String type, String help ) {
+    Family f = _byName.get(name);
+    if( f == null ) _byName.put(name, f = new Family("h2o_" + name, type, help));
+    return f;
+  }
+  private void counter( String name, String help, double v ) { family(name, "counter", help).add(null, v); }
+  private void gauge  ( String name, String help, double v ) { family(name, "gauge",   help).add(null, v); }
+
+  /** Latency histogram with fixed millisecond buckets, safe to update from
+   *  any thread */
+  public static final class Histogram {
+    static final double[] BOUNDS_MS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+    private final AtomicLongArray _counts = new AtomicLongArray(BOUNDS_MS.length+1);
+    private final AtomicLong _sumMs = new AtomicLong();
+    public void record( long ms ) {
+      int i = 0;
+      while( i < BOUNDS_MS.length && ms > BOUNDS_MS[i] ) i++;
+      _counts.incrementAndGet(i);
+      _sumMs.addAndGet(ms);
+    }
+    void addTo( Family f, String labels ) {
+      String pre = labels == null || labels.isEmpty() ? "" : labels + ",";
+      long cum = 0;
+      for( int i = 0; i <= BOUNDS_MS.length; i++ ) {
+        cum += _counts.get(i);
+        String le = i < BOUNDS_MS.length ? Double.toString(BOUNDS_MS[i]/1000) : "+Inf";
+        f.add(f._name + "_bucket", pre + "le=\"" + le + "\"", cum);
+      }
+      f.add(f._name + "_sum", labels, _sumMs.get()/1000.0);
+      f.add(f._name + "_count", labels, cum);
+    }
+  }
+
+  /** This node's metrics */
+  public static Metrics local() {
+    Metrics m = new Metrics();
+    // DKV
+    m.counter("dkv_local_hits_total", "DKV gets answered from this node's store", DKV.LOCAL_HITS.get());
+    m.counter("dkv_remote_fetches_total", "DKV gets fetched from the home node", DKV.REMOTE_FETCHES.get());
+    m.counter("dkv_misses_total", "DKV gets of keys homed here and absent", DKV.MISSES.get());
+    m.gauge("dkv_keys", "Keys in this node's store", H2O.STORE.size());
+    // Cleaner, eviction and the storage tiers below the heap
+    EvictionPolicy ep = EvictionPolicy.current();
+    m.counter("cleaner_spills_total", "Values spilled out of the heap by the Cleaner", ep.spills());
+    m.counter("cleaner_spill_bytes_total", "Bytes spilled out of the heap by the Cleaner", ep.spillBytes());
+    m.counter("cleaner_cache_hits_total", "References served from cached POJOs (approximate)", ep.hits());
+    m.counter("cleaner_reloads_total", "Reloads of spilled Values", ep.misses());
+    PersistManager pm = H2O.getPM();
+    if( pm != null ) {
+      PersistManager.PersistStatsEntry ice = pm.getStats()[Value.ICE];
+      m.counter("ice_store_bytes_total", "Bytes written to the ICE swap", ice.store_bytes.get());
+      m.counter("ice_load_bytes_total", "Bytes reloaded from the ICE swap", ice.load_bytes.get());
+    }
+    m.gauge("offheap_used_bytes", "Bytes held off-heap", OffHeapStore.used());
+    m.counter("offheap_store_bytes_total", "Bytes moved off-heap", OffHeapStore.STORE_BYTES.get());
+    m.counter("offheap_load_bytes_total", "Bytes reloaded from off-heap", OffHeapStore.LOAD_BYTES.get());
+    m.counter("cold_compress_raw_bytes_total", "Bytes of cold Chunks compressed in memory", ColdCompressor.RAW_BYTES.get());
+    m.counter("cold_compress_zip_bytes_total", "Compressed size of those Chunks", ColdCompressor.ZIP_BYTES.get());
+    // MemoryManager
+    m.gauge("heap_max_bytes", "Maximum Java heap", MemoryManager.MEM_MAX);
+    m.gauge("heap_cache_bytes", "Heap used by cached Values", Cleaner.Histo.cached());
+    m.gauge("task_mem_available_bytes", "Task memory left to reserve", MemoryManager._taskMem.get());
+    m.counter("alloc_stalls_total", "Allocations blocked waiting for memory", MemoryManager.ALLOC_STALLS.get());
+    m.counter("alloc_stall_seconds_total", "Time allocations spent blocked", MemoryManager.ALLOC_STALL_NS.get()/1e9);
+    m.counter("task_mem_stalls_total", "Task memory reservations that had to wait", MemoryManager.TASK_MEM_STALLS.get());
+    m.counter("task_mem_stall_seconds_total", "Time task memory reservations spent waiting", MemoryManager.TASK_MEM_STALL_NS.get()/1e9);
+    // F/J pools, by priority
+    Family q = m.family("fj_queued_tasks", "gauge", "Tasks queued on the F/J pool of each priority");
+    Family t = m.family("fj_threads", "gauge", "Threads of the F/J pool of each priority");
+    for( int i = 0; i <= H2O.MAX_PRIORITY; i++ ) {
+      int qs = H2O.getWrkQueueSize(i);
+      if( qs < 0 ) continue;    // No pool at this priority
+      q.add("priority=\"" + i + "\"", qs);
+      t.add("priority=\"" + i + "\"", H2O.getWrkThrPoolSize(i));
+    }
+    Family w = m.family("fj_blocked_waits_total", "counter", "F/J worker waits on RPCs and Value locks, by how the pool coped");
+    w.add("mode=\"compensated\"", Blocking.compensated());
+    w.add("mode=\"direct\"", Blocking.direct());
+    m.gauge("jvm_threads", "Live JVM threads", Blocking.threads());
+    m.gauge("jvm_threads_peak", "Most live JVM threads since start", Blocking.peakThreads());
+    // RPC
+    RPC.LATENCY.addTo(m.family("rpc_latency_seconds", "histogram", "Round trip of RPCs sent by this node"), null);
+    m.counter("rpc_resends_total", "RPC requests re-sent after a timeout", RPC.RESENDS.get());
+    m.gauge("tcp_sockets", "Open node-to-node TCP sockets", H2ONode.TCPS.get());
+    // Wire
+    Family msgs = m.family("wire_messages_total", "counter", "Messages sent by message type");
+    Family raw = m.family("wire_raw_bytes_total", "counter", "Serialized bytes sent by message type");
+    Family wire = m.family("wire_bytes_total", "counter", "Bytes put on the wire by message type, after compression");
+    for( Map.Entry<String,long[]> e : WireBytes.snapshot().entrySet() ) {
+      String l = "type=\"" + escape(e.getKey()) + "\"";
+      msgs.add(l, e.getValue()[WireBytes.MSGS]);
+      raw.add(l, e.getValue()[WireBytes.RAW]);
+      wire.add(l, e.getValue()[WireBytes.WIRE]);
+    }
+    m.counter("bulk_bytes_total", "Bytes sent straight from off-heap or swap", AutoBuffer.bulkBytes());
+    m.counter("small_messages_total", "Small messages sent over batched TCP", H2ONode.smallMessages());
+    m.counter("small_message_writes_total", "Writes carrying small messages", H2ONode.smallBatches());
+    // MRTask
+    m.counter("steal_requests_total", "Work-stealing requests sent", WorkStealing.stealRequests());
+    m.counter("stolen_chunks_total", "Chunks mapped here for other nodes", WorkStealing.stolenChunks());
+    m.counter("zone_map_skipped_chunks_total", "Chunks answered or skipped from their zone map", water.fvec.ZoneMap.skippedChunks());
+    m.counter("prefetch_issued_total", "Remote Chunks fetched ahead of their read", water.fvec.ChunkPrefetcher.issued());
+    m.counter("prefetch_hits_total", "Remote Chunk reads that had been prefetched", water.fvec.ChunkPrefetcher.hits());
+    m.counter("prefetch_misses_total", "Remote Chunk reads that had not been prefetched", water.fvec.ChunkPrefetcher.misses());
+    m.counter("prefetch_wasted_total", "Prefetched Chunks never read", water.fvec.ChunkPrefetcher.wasted());
+    m._families = m._byName.values().toArray(new Family[0]);
+    return m;
+  }
+
+  /** Metrics of all nodes, each sample labelled with its node */
+  public static Metrics cloud() {
+    Metrics[] ms = new Collect().doAllNodes()._ms;
+    String[] nodes = new String[ms.length];
+    for( int i = 0; i < nodes.length; i++ ) nodes[i] = H2O.CLOUD._memary[i].getIpPortString();
+    return merge(nodes, ms);
+  }
+
+  private static class Collect extends MRTask<Collect> {
+    Metrics[] _ms;
+    Collect() { super(H2O.GUI_PRIORITY); }
+    @Override public void setupLocal() {
+      _ms = new Metrics[H2O.CLOUD.size()];
+      _ms[H2O.SELF.index()] = local();
+    }
+    @Override public void reduce( Collect that ) {
+      for( int i = 0; i < _ms.length; i++ )
+        if( _ms[i] == null ) _ms[i] = that._ms[i];
+    }
+  }
+
+  /** One view of several nodes' metrics, each sample labelled with its node */
+  public static Metrics merge( String[] nodes, Metrics[] ms ) {
+    Metrics res = new Metrics();
+    for( int i = 0; i < ms.length; i++ ) {
+      if( ms[i] == null ) continue;
+      String node = "node=\"" + escape(nodes[i]) + "\"";
+      for( Family f : ms[i]._families ) {
+        Family g = res._byName.get(f._name);
+        if( g == null ) res._byName.put(f._name, g = new Family(f._name, f._type, f._help));
+        for( int j = 0; j < f.size(); j++ )
+          g.add(f._samples[j], f._labels[j].isEmpty() ? node : node + "," + f._labels[j], f._values[j]);
+      }
+    }
+    res._families = res._byName.values().toArray(new Family[0]);
+    return res;
+  }
+
+  /** Write in the Prometheus text format, version 0.0.4 */
+  public void write( Writer w ) throws IOException {
+    for( Family f : _families ) {
+      w.write("# HELP " + f._name + " " + f._help + "\n");
+      w.write("# TYPE " + f._name + " " + f._type + "\n");
+      for( int j = 0; j < f.size(); j++ ) {
+        w.write(f._samples[j]);
+        if( !f._labels[j].isEmpty() ) w.write("{" + f._labels[j] + "}");
+        double v = f._values[j];
+        w.write(" " + (v == (long)v ? Long.toString((long)v) : Double.toString(v)) + "\n");
+      }
+    }
+    w.flush();
+  }
+
+  static String escape( String s ) {
+    return s.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+}
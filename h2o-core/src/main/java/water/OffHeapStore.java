@@ -0,0 +1,79 @@
+package water;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Off-heap tier for cold Chunk bytes, between the Java heap and ICE.
+ *  <p>
+ *  When the Cleaner must free heap, it first moves the {@link Value} byte[]
+ *  of home Chunks into direct {@link ByteBuffer}s held here, and only spills
+ *  to disk once this tier is full.  Reloading is a single memcpy back into a
+ *  heap byte[] via {@link Value#memOrLoad}, with no disk I/O.  This lets a
+ *  node with a small heap (short GC pauses) cache a much larger working set.
+ *  <p>
+ *  Buffers are never freed explicitly: a racing reader may still be copying
+ *  out of one.  A Value drops its buffer on delete (or simply becomes garbage
+ *  when replaced), and the JVM reclaims the direct memory when the buffer is
+ *  collected.  Hence {@link #used} is best-effort: bumped on each store, and
+ *  re-synced from the actual K/V contents on every {@link Cleaner.Histo}.
+ *  <p>
+ *  Sized by {@code -off_heap_mem}; 0 (the default) disables the tier.  The
+ *  JVM should be started with {@code -XX:MaxDirectMemorySize} of at least the
+ *  same size.
+ */
+final class OffHeapStore {
+  private OffHeapStore() {}
+
+  // Best-effort bytes held off-heap
+  private static final AtomicLong USED = new AtomicLong();
+
+  // Lifetime stats
+  static final AtomicLong STORE_COUNT = new AtomicLong();
+  static final AtomicLong STORE_BYTES = new AtomicLong();
+  static final AtomicLong LOAD_COUNT  = new AtomicLong();
+  static final AtomicLong LOAD_BYTES  = new AtomicLong();
+
+  /** Max bytes held off-heap; 0 turns the tier off.  Read from the args on
+   *  every call, as the Cleaner may initialize before they are parsed. */
+  static long max() { return H2O.ARGS.off_heap_mem; }
+  static boolean enabled() { return max() > 0; }
+  static long used() { return USED.get(); }
+  /** True if the tier is within 1/16th of its limit; the Cleaner then starts
+   *  demoting old off-heap Values to disk. */
+  static boolean full() { long max = max(); return USED.get() >= max-(max>>4); }
+
+  // Called from Cleaner.Histo with the exact count found in the K/V store
+  static void resync( long used ) { USED.set(used); }
+
+  /** Copy mem into a new direct buffer.
+   *  @return the buffer, or null if the tier is off, full, or the JVM is out
+   *  of direct memory */
+  static ByteBuffer store( byte[] mem ) {
+    final long max = max();
+    if( max <= 0 ) return null;
+    final int len = mem.length;
+    if( USED.addAndGet(len) > max ) { USED.addAndGet(-len); return null; }
+    try {
+      ByteBuffer bb = ByteBuffer.allocateDirect(len);
+      bb.put(mem).flip();
+      STORE_COUNT.incrementAndGet();
+      STORE_BYTES.addAndGet(len);
+      return bb;
+    } catch( OutOfMemoryError oom ) { // Direct memory exhausted; not fatal, caller spills to disk
+      USED.addAndGet(-len);
+      return null;
+    }
+  }
+
+  /** Copy a buffer back into a fresh heap byte[]. */
+  static byte[] load( ByteBuffer bb ) {
+    byte[] mem = MemoryManager.malloc1(bb.capacity());
+    bb.duplicate().get(mem); // Duplicate: private position, so racing loads are safe
+    LOAD_COUNT.incrementAndGet();
+    LOAD_BYTES.addAndGet(mem.length);
+    return mem;
+  }
+
+  /** Account for a buffer no longer referenced by its Value. */
+  static void release( ByteBuffer bb ) { USED.addAndGet(-bb.capacity()); }
+}
@@ -11,6 +11,7 @@ import water.util.Log;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
@@ -87,6 +88,12 @@ public class RPC<V extends DTask> implements Future<V>, Delayed, ForkJoinPool.Ma
   int _size;
   int _size_rez;                // Size of received results
 
+  private long _traceT0;        // Start of the first send, for Tracing
+
+  // Lifetime stats of RPCs sent by this node, for Metrics
+  static final Metrics.Histogram LATENCY = new Metrics.Histogram();
+  static final AtomicLong RESENDS = new AtomicLong();
+
   // Magic Cookies
   static final byte SERVER_UDP_SEND = 10;
   static final byte SERVER_TCP_SEND = 11;
@@ -173,6 +180,7 @@ public class RPC<V extends DTask> implements Future<V>, Delayed, ForkJoinPool.Ma
     // If running on self, just submit to queues & do locally
     if( _target==H2O.SELF ) return handleLocal();
 
+    if( _traceT0 == 0 ) _traceT0 = Tracing.start();
     // Keep a global record, for awhile
     if( _target != null ) _target.taskPut(_tasknum,this);
     try {
@@ -197,8 +205,10 @@ public class RPC<V extends DTask> implements Future<V>, Delayed, ForkJoinPool.Ma
           AutoBuffer ab = new AutoBuffer(_target,_dt.priority());
           try {
             final boolean t;
-            ab.putTask(UDP.udp.exec, _tasknum).put1(CLIENT_UDP_SEND);
+            ab.msgType(_dt.getClass().getName()).putTask(UDP.udp.exec, _tasknum).put1(CLIENT_UDP_SEND);
+            long t0 = Tracing.start();
             ab.put(_dt);
+            Tracing.end(t0, "serialize", _dt);
             t = ab.hasTCP();
             assert sz_check(ab) : "Resend of " + _dt.getClass() + " changes size from " + _size + " to " + ab.size() + " for task#" + _tasknum;
             ab.close();        // Then close; send final byte
@@ -252,8 +262,10 @@ public class RPC<V extends DTask> implements Future<V>, Delayed, ForkJoinPool.Ma
       : "*** Attempting to block on task (" + _dt.getClass() + ") with equal or lower priority. Can lead to deadlock! " + _dt.priority() + " <=  " + priority;
     if( _done ) return result(); // Fast-path shortcut, or throw if exception
     // Use FJP ManagedBlock for this blocking-wait - so the FJP can spawn
-    // another thread if needed.
-    try { ForkJoinPool.managedBlock(this); } catch( InterruptedException ignore ) { }
+    // another thread if needed.  In Blocking's bounded mode only waits on
+    // strictly higher priority work may park uncompensated; an MRTask
+    // waiting on its remote subtrees at its own priority may need this pool.
+    Blocking.block(this, _dt.priority() > priority);
     if( _done ) return result(); // Fast-path shortcut or throw if exception
     assert isCancelled();
     return null;
@@ -377,9 +389,11 @@ public class RPC<V extends DTask> implements Future<V>, Delayed, ForkJoinPool.Ma
           // priority.
 
           UDP.udp udp = dt.priority()==H2O.FETCH_ACK_PRIORITY ? UDP.udp.fetchack : UDP.udp.ack;
-          ab = new AutoBuffer(_client,udp._prior).putTask(udp,_tsknum).put1(SERVER_UDP_SEND);
+          ab = new AutoBuffer(_client,udp._prior).msgType(dt.getClass().getName()).putTask(udp,_tsknum).put1(SERVER_UDP_SEND);
           assert ab.position() == 1+2+4+1;
+          long t0 = Tracing.start();
           dt.write(ab);         // Write the DTask - could be very large write
+          Tracing.end(t0, "serialize", dt);
           dt._repliedTcp = ab.hasTCP(); // Resends do not need to repeat TCP result
           ab.close();                   // Then close; send final byte
           _computedAndReplied = true;   // After the final handshake, set computed+replied bit
@@ -593,12 +607,16 @@ public class RPC<V extends DTask> implements Future<V>, Delayed, ForkJoinPool.Ma
           ab.drainClose();
         } else {
 //          UDPTimeOutThread.PENDING.remove(_tasknum);
+          long t0 = Tracing.start();
           _dt.read(ab);             // Read the answer (under lock?)
+          Tracing.end(t0, "deserialize", _dt);
           _size_rez = ab.size();    // Record received size
           ab.close();               // Also finish the read (under lock?  even if canceled, since need to drain TCP)
           if (!isCancelled())       // Can be canceled already (locally by MRTask while recieving remote answer)
             _dt.onAck();            // One time only execute (before sending ACKACK)
           _done = true;             // Only read one (of many) response packets
+          Tracing.end(_traceT0, "rpc", _dt);
+          LATENCY.record(System.currentTimeMillis() - _started);
           ab._h2o.taskRemove(_tasknum); // Flag as task-completed, even if the result is null
           notifyAll();              // And notify in any case
         }
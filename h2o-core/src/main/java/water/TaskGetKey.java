@@ -24,7 +24,10 @@ public class TaskGetKey extends DTask<TaskGetKey> {
   static Value get( H2ONode target, Key key ) { return get(start(target,key)); }
 
   static Value get(RPC<TaskGetKey> rpc) {
-    return rpc.get()._val;                  // Block for it
+    long t0 = Tracing.start();
+    Value val = rpc.get()._val;             // Block for it
+    Tracing.end(t0, "dkv", "dkv get");
+    return val;
   }
   // Start an RPC to fetch a Value, handling short-cutting dup-fetches
   static RPC<TaskGetKey> start( H2ONode target, Key key ) {
@@ -0,0 +1,82 @@
+package water;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Opt-in span tracing of MRTask, RPC, serialization and DKV work on this node.
+ * <p>
+ * Unlike {@link TimeLine}, which records single network events, a span has a
+ * start and a duration, so a whole-cloud collection of spans (see {@link
+ * water.util.TraceCollectorTask}) shows where one model-build iteration spent
+ * its time on each node: mapping, reducing, serializing, or waiting on the
+ * network.  Spans go to a ring buffer of {@link #MAX_SPANS}, oldest dropped.
+ * <p>
+ * Off unless started with {@code -Dsys.ai.h2o.trace=true} or turned on via
+ * {@link #setEnabled}.  When off, {@link #start} returns 0 and {@link #end} of
+ * a 0 start does nothing, so call sites cost a volatile read.
+ */
+public final class Tracing {
+  public static final int MAX_SPANS = Integer.getInteger(H2O.OptArgs.SYSTEM_PROP_PREFIX + "trace.spans", 1<<16);
+
+  private static volatile boolean _enabled = Boolean.getBoolean(H2O.OptArgs.SYSTEM_PROP_PREFIX + "trace");
+  // Wall-clock anchor for the nanoTime stamps, so spans line up across nodes
+  // as well as their clocks do
+  private static final long T0_US = System.currentTimeMillis()*1000, T0_NS = System.nanoTime();
+
+  private static final AtomicReferenceArray<Span> SPANS = new AtomicReferenceArray<>(MAX_SPANS);
+  private static final AtomicLong NEXT = new AtomicLong();
+
+  private Tracing() {}
+
+  /** One finished span */
+  public static final class Span extends Iced<Span> {
+    public String _cat;         // e.g. map, reduce, rpc
+    public String _name;
+    public long _ts, _dur;      // Wall-clock start and duration, microseconds
+    public long _tid;
+    public String _thread;
+    Span( String cat, String name, long ts, long dur ) {
+      _cat = cat; _name = name; _ts = ts; _dur = dur;
+      Thread t = Thread.currentThread();
+      _tid = t.getId();
+      _thread = t.getName();
+    }
+  }
+
+  public static boolean isEnabled() { return _enabled; }
+  public static void setEnabled( boolean b ) { _enabled = b; }
+
+  /** Start time of a span, or 0 if tracing is off */
+  public static long start() { return _enabled ? System.nanoTime() : 0; }
+
+  /** Record a span of category cat started at t0 (from {@link #start}),
+   *  named for the task (or other object) it ran */
+  public static void end( long t0, String cat, Object task ) {
+    if( t0 == 0 ) return;
+    long now = System.nanoTime();
+    String name = task instanceof String ? (String)task : cat + " " + name(task);
+    Span s = new Span(cat, name, T0_US + (t0-T0_NS)/1000, Math.max(1, (now-t0)/1000));
+    SPANS.set((int)(NEXT.getAndIncrement() % MAX_SPANS), s);
+  }
+
+  // Short class name, also for anonymous and nested classes
+  static String name( Object o ) {
+    if( o == null ) return "null";
+    String s = o.getClass().getName();
+    return s.substring(s.lastIndexOf('.')+1);
+  }
+
+  /** The spans held, oldest first; clear drops them */
+  public static Span[] snapshot( boolean clear ) {
+    long hi = NEXT.get(), lo = Math.max(0, hi - MAX_SPANS);
+    Span[] res = new Span[(int)(hi-lo)];
+    int n = 0;
+    for( long i = lo; i < hi; i++ ) {
+      int idx = (int)(i % MAX_SPANS);
+      Span s = clear ? SPANS.getAndSet(idx, null) : SPANS.get(idx);
+      if( s != null ) res[n++] = s;
+    }
+    return n == res.length ? res : java.util.Arrays.copyOf(res, n);
+  }
+}
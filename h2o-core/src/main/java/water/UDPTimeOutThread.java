@@ -36,6 +36,7 @@ public class UDPTimeOutThread extends Thread {
             // Also retry clients who do not appear to be shutdown
             (t._target._heartbeat._client && t._retry < HeartBeatThread.CLIENT_TIMEOUT)) {
             if (currentTime > (t._started + t._retry) && !t.isDone() && !t._nack) {
+              RPC.RESENDS.incrementAndGet();
               if (++t._resendsCnt % 10 == 0)
                 Log.warn("Got " + t._resendsCnt + " resends on task #" + t._tasknum + ", class = " + t._dt.getClass().getSimpleName());
               t.call();
@@ -1,11 +1,14 @@
 package water;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import jsr166y.ForkJoinPool;
 import water.fvec.Frame;
 import water.fvec.Vec;
+import water.persist.Persist;
+import water.persist.PersistFS;
 import water.util.Log;
 import water.util.StringUtils;
 
@@ -93,17 +96,80 @@ public final class Value extends Iced implements ForkJoinPool.ManagedBlocker {
   //   disk and/or the byte array back to it's original form, losing your changes.
   private volatile Freezable _pojo;
   Freezable rawPOJO() { return _pojo; }
+  /** True if this Value currently holds exactly this POJO instance; never
+   *  loads or deserializes. */
+  public boolean holdsPOJO( Freezable pojo ) { return pojo != null && _pojo == pojo; }
+
+  // ---
+  // A compressed copy of the _mem array (see ColdCompressor), or NULL.  Set
+  // and cleared only by the Cleaner: cold Chunks are squeezed in place before
+  // being pushed further out to the off-heap or disk tiers.
+  private transient volatile byte[] _zmem;
+  final byte[] rawCompressed() { return _zmem; }
+  /** Check if the Value holds a compressed copy of its byte[] */
+  public final boolean isCompressed() { return _zmem != null; }
+
+  /** Replace the byte[] and POJO with a compressed copy.  Only called by the
+   *  Cleaner.
+   *  @return bytes of heap saved, or 0 if the bytes did not compress well */
+  long compressMem( int width ) {
+    if( _zmem != null ) return 0;
+    byte[] mem = _mem;          // Read once!
+    if( mem == null ) return 0;
+    byte[] z = ColdCompressor.compress(mem, width);
+    if( z == null ) return 0;
+    _zmem = z;                  // Set the compressed copy BEFORE tossing the raw one
+    _mem = null;
+    _pojo = null;
+    return mem.length - z.length;
+  }
+  /** Drop the compressed copy.  Only called by the Cleaner. */
+  final void freeCompressed() { _zmem = null; }
+
+  // ---
+  // A copy of the _mem array held outside the Java heap by the OffHeapStore,
+  // or NULL.  Set only by the Cleaner.  Like a disk copy, it allows both _mem
+  // and _pojo to be dropped - but reloading is a memcpy, not a disk read.
+  // The _mem contents are immutable, so the copy never goes stale.
+  private transient volatile ByteBuffer _offHeap;
+  private static final AtomicReferenceFieldUpdater<Value,ByteBuffer> OFFHEAP_UPDATER =
+    AtomicReferenceFieldUpdater.newUpdater(Value.class,ByteBuffer.class, "_offHeap");
+  /** Check if the backing byte[] has a copy in the off-heap tier */
+  public final boolean isOffHeap() { return _offHeap != null; }
+
+  /** Copy the byte[] into the off-heap tier.  Only called by the Cleaner.
+   *  @return true if the Value now has an off-heap copy */
+  boolean storeOffHeap() {
+    if( _offHeap != null ) return true;
+    if( isDeleted() ) return false;
+    byte[] mem = _mem;          // Read once!
+    byte[] z = _zmem;
+    if( mem == null && z != null ) mem = ColdCompressor.decompress(z); // Off-heap holds raw bytes
+    if( mem == null ) return false;
+    ByteBuffer bb = OffHeapStore.store(mem);
+    if( bb == null ) return false;
+    if( !OFFHEAP_UPDATER.compareAndSet(this,null,bb) ) OffHeapStore.release(bb);
+    if( isDeleted() ) freeOffHeap(); // Close race with a deleting user thread
+    return true;
+  }
+  /** Drop the off-heap copy, if any.  The buffer is reclaimed by GC, so any
+   *  racing reader still holding it is safe. */
+  final void freeOffHeap() {
+    ByteBuffer bb = _offHeap;
+    if( bb != null && OFFHEAP_UPDATER.compareAndSet(this,bb,null) )
+      OffHeapStore.release(bb);
+  }
 
   /** Invalidate byte[] cache.  Only used to eagerly free memory, for data
    *  which is expected to be read-once. */
   public final void freeMem() {
-    assert isPersisted() || _pojo != null || _key.isChunkKey();
+    assert isPersisted() || isOffHeap() || isCompressed() || _pojo != null || _key.isChunkKey();
     _mem = null;
   }
   /** Invalidate POJO cache.  Only used to eagerly free memory, for data
    *  which is expected to be read-once. */
   public final void freePOJO() {
-    assert isPersisted() || _mem != null;
+    assert isPersisted() || isOffHeap() || isCompressed() || _mem != null;
     _pojo = null;
   }
 
@@ -117,19 +183,26 @@ public final class Value extends Iced implements ForkJoinPool.ManagedBlocker {
     if( pojo != null )          // Has the POJO, make raw bytes
       return _mem = pojo.asBytes();
     if( _max == 0 ) return (_mem = new byte[0]);
+    byte[] z = _zmem;           // Read once!
+    EvictionPolicy.miss();      // Not in the heap; reload it
+    if( z != null )             // Inflate the compressed copy
+      return (_mem = ColdCompressor.decompress(z));
+    ByteBuffer bb = _offHeap;   // Read once!
+    if( bb != null )            // Cheap reload from the off-heap tier
+      return (_mem = OffHeapStore.load(bb));
     return (_mem = loadPersist());
   }
   // Just an empty shell of a Value, no local data but the Value is "real".
   // Any attempt to look at the Value will require a remote fetch.
-  final boolean isEmpty() { return _max > 0 && _mem==null && _pojo == null && !isPersisted(); }
+  final boolean isEmpty() { return _max > 0 && _mem==null && _pojo == null && _zmem == null && _offHeap == null && !isPersisted(); }
 
   /** The FAST path get-POJO as an {@link Iced} subclass - final method for
    *  speed.  Will (re)build the POJO from the _mem array.  Never returns NULL.
    *  @return The POJO, probably the cached instance.  */
   public final <T extends Iced> T get() {
-    touch();
+    boolean ref = touch();
     Iced pojo = (Iced)_pojo;    // Read once!
-    if( pojo != null ) return (T)pojo;
+    if( pojo != null ) { if( ref ) _hits++; return (T)pojo; }
     pojo = TypeMap.newInstance(_type);
     return (T)(_pojo = pojo.reloadFromBytes(memOrLoad()));
   }
@@ -146,18 +219,37 @@ public final class Value extends Iced implements ForkJoinPool.ManagedBlocker {
    *  Will (re)build the POJO from the _mem array.  Never returns NULL.
    *  @return The POJO, probably the cached instance.  */
   public final <T extends Freezable> T getFreezable() {
-    touch();
+    boolean ref = touch();
     Freezable pojo = _pojo;     // Read once!
-    if( pojo != null ) return (T)pojo;
+    if( pojo != null ) { if( ref ) _hits++; return (T)pojo; }
     pojo = TypeMap.newFreezable(_type);
     pojo.reloadFromBytes(memOrLoad());
     return (T)(_pojo = pojo);
   }
 
   // ---
-  // Time of last access to this value.
+  // Time of last access to this value, and of the access before that (0 if
+  // none yet) for the LRU-2 EvictionPolicy.  Accesses closer together than
+  // EvictionPolicy.CORRELATED_MS count as one.  Plain fields: racing updates
+  // only blur the eviction order.
   transient long _lastAccessedTime = System.currentTimeMillis();
-  private void touch() {_lastAccessedTime = System.currentTimeMillis();}
+  transient long _prevAccessedTime;
+  // References served from the cached POJO since the Cleaner last drained
+  // them.  Like the access times, only uncorrelated gets count: a Value hot
+  // in a loop writes this at most once per EvictionPolicy.CORRELATED_MS, not
+  // on every get.  Approximate by design: a plain racy ++, and the Cleaner's
+  // read-and-reset can drop concurrent hits.  Only feeds the cache hit
+  // statistic; nothing depends on it being exact.
+  transient int _hits;
+  // Record an access; true if it starts a new (uncorrelated) reference
+  private boolean touch() {
+    long now = System.currentTimeMillis();
+    long last = _lastAccessedTime;
+    _lastAccessedTime = now;
+    if( now - last <= EvictionPolicy.CORRELATED_MS ) return false;
+    _prevAccessedTime = last;
+    return true;
+  }
   // Exposed and used for testing only; used to trigger premature cleaning/disk-swapping
   void touchAt(long time) {_lastAccessedTime = time;}
 
@@ -223,9 +315,10 @@ public final class Value extends Iced implements ForkJoinPool.ManagedBlocker {
     // 01       double delete; do nothing
     // 10 -> 11 delete
     // 11       double delete; do nothing
-    if( !onICE() ) return;      // Wrong filestore?
+    if( !onICE() ) { freeOffHeap(); return; } // Wrong filestore?  Off-heap copy is dead anyways
     if( isDeleted() ) return;   // Already deleted?
     setDel();                   // Set del bit BEFORE testing isPersist
+    freeOffHeap();              // ...and BEFORE dropping the off-heap copy; storeOffHeap re-checks it
     if( !isPersisted() ) return;// Nothing there
     H2O.getPM().delete(backend(), this); // Possibly nothing to delete (race with writer)
   }
@@ -362,7 +455,19 @@ public final class Value extends Iced implements ForkJoinPool.ManagedBlocker {
   // and the normal serializer then might ship over a null instead of the
   // intended byte[].  Also, the value is NOT on the deserialize'd machines disk
   public final AutoBuffer write_impl( AutoBuffer ab ) {
-    return ab.put1(_persist).put2(_type).putA1(memOrLoad());
+    ab.put1(_persist).put2(_type);
+    // Big Values out of the heap go to the wire straight from their off-heap
+    // buffer or swap file, instead of being reloaded just to be copied out
+    if( _mem == null && _pojo == null && _zmem == null && ab.isBulk(_max) ) {
+      ByteBuffer bb = _offHeap; // Read once!
+      if( bb != null ) return ab.putBulkA1(bb);
+      Persist ice = H2O.getPM().getIce();
+      if( isPersisted() && onICE() && ice instanceof PersistFS )
+        try {
+          if( ((PersistFS)ice).putA1(this, ab) ) return ab;
+        } catch( IOException ioe ) { throw Log.throwErr(ioe); }
+    }
+    return ab.putA1(memOrLoad());
   }
   // Custom serializer: set _max from _mem length; set replicas & timestamp.
   public final Value read_impl(AutoBuffer bb) {
@@ -524,7 +629,7 @@ public final class Value extends Iced implements ForkJoinPool.ManagedBlocker {
         // Active readers: need to block until the GETs (of this very Value!)
         // all complete, before we can invalidate this Value - lest a racing
         // Invalidate bypass a GET.
-        try { ForkJoinPool.managedBlock(this); } catch( InterruptedException ignore ) { }
+        Blocking.block(this);
       } else if( RW_CAS(0,-1,"wlock") )
         break;                  // Got the write-lock!
     }
@@ -548,7 +653,7 @@ public final class Value extends Iced implements ForkJoinPool.ManagedBlocker {
       int old = _rwlock.get();
       if( old <= 0) return; // No readers, or this Value already replaced with a later value
       // Active readers: need to block until the GETs (of this very Value!) all complete
-      try { ForkJoinPool.managedBlock(this); } catch( InterruptedException ignore ) { }
+      Blocking.block(this);
     }
   }
 
@@ -574,7 +679,7 @@ public final class Value extends Iced implements ForkJoinPool.ManagedBlocker {
     // assert I am waiting on threads with higher priority?
     while( (x=_rwlock.get()) != -1 ) // Spin until rwlock==-1
       if( x == 2 || RW_CAS(1,2,"remote_need_notify") )
-        try { ForkJoinPool.managedBlock(this); } catch( InterruptedException ignore ) { }
+        Blocking.block(this);
   }
 
   /** The PUT for this Value has completed.  Wakeup any blocked later PUTs. */
@@ -0,0 +1,42 @@
+package water;
+
+import water.nbhm.NonBlockingHashMap;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/** Bytes sent by this node to other nodes, by message type: the serialized
+ *  size, and the size actually put on the wire after any compression (see
+ *  {@link water.network.CompressedByteChannel}).  Message types are the
+ *  DTask class names for RPC requests and replies, else the UDP type.
+ */
+public final class WireBytes {
+  /** Indices into the arrays of {@link #snapshot()} */
+  public static final int MSGS = 0, RAW = 1, WIRE = 2;
+
+  private static final NonBlockingHashMap<String,AtomicLongArray> STATS = new NonBlockingHashMap<>();
+
+  private WireBytes() {}
+
+  static void record( String type, long raw, long wire ) {
+    AtomicLongArray a = STATS.get(type);
+    if( a == null ) {
+      AtomicLongArray a2 = STATS.putIfAbsent(type, a = new AtomicLongArray(3));
+      if( a2 != null ) a = a2;
+    }
+    a.incrementAndGet(MSGS);
+    a.addAndGet(RAW, raw);
+    a.addAndGet(WIRE, wire);
+  }
+
+  /** Messages, raw bytes and wire bytes sent per message type since startup */
+  public static Map<String,long[]> snapshot() {
+    TreeMap<String,long[]> res = new TreeMap<>();
+    for( Map.Entry<String,AtomicLongArray> e : STATS.entrySet() ) {
+      AtomicLongArray a = e.getValue();
+      res.put(e.getKey(), new long[]{a.get(MSGS), a.get(RAW), a.get(WIRE)});
+    }
+    return res;
+  }
+}
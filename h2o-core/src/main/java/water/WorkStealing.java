@@ -0,0 +1,141 @@
+package water;
+
+import water.fvec.Vec;
+import water.nbhm.NonBlockingHashMap;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Node-local bookkeeping for {@link MRTask} work stealing.
+ *  <p>
+ *  Each node running a stealing MRTask registers the home Chunks it has yet to
+ *  map.  Its own map calls claim a Chunk before mapping it; once all are
+ *  claimed the node asks the busy nodes for some of theirs, claimed from the
+ *  end of their lists, and maps them itself fetching the Chunk bytes over the
+ *  wire.  Every Chunk is claimed, and so mapped, exactly once.
+ *  <p>
+ *  A node asked before it started the task answers "unknown", and is asked
+ *  again later; one that finished its own Chunks answers with none, and is
+ *  remembered as done for {@link #DONE_MS}.
+ */
+public final class WorkStealing {
+  /** Default minimum of unmapped Chunks a node must have left before it gives
+   *  any away; below that, shipping the bytes costs more than it saves. */
+  public static final int DEFAULT_THRESHOLD = Integer.getInteger(H2O.OptArgs.SYSTEM_PROP_PREFIX + "mr.steal.threshold", 4);
+  /** Rounds a thief waits, backing off, for nodes yet to start the task */
+  static final int MAX_RETRIES = 8;
+  /** How long a finished task is remembered, to tell it from one not yet started */
+  static final long DONE_MS = 10*60*1000;
+
+  // Lifetime stats for this node
+  private static final AtomicLong REQUESTS = new AtomicLong(), STOLEN = new AtomicLong(), GIVEN = new AtomicLong();
+  /** Steal requests sent by this node */
+  public static long stealRequests() { return REQUESTS.get(); }
+  /** Chunks this node mapped for other nodes */
+  public static long stolenChunks() { return STOLEN.get(); }
+  /** Home Chunks of this node mapped by other nodes */
+  public static long givenChunks() { return GIVEN.get(); }
+
+  private static final NonBlockingHashMap<Key,Queue> QUEUES = new NonBlockingHashMap<>();
+  private static final NonBlockingHashMap<Key,Long> DONE = new NonBlockingHashMap<>();
+
+  /** Unmapped home Chunks of one MRTask on this node */
+  static final class Queue {
+    private final Key _id;
+    private final int[] _chunks;         // Home chunk indices, ascending
+    private final AtomicIntegerArray _claimed;
+    private final AtomicInteger _left;   // Unclaimed chunks
+    private int _tail;                   // Steals scan down from here
+    private volatile H2O.H2OCountedCompleter _onDrained;
+    private final AtomicBoolean _drained = new AtomicBoolean();
+    Queue( Key id, int[] chunks ) {
+      _id = id;
+      _chunks = chunks;
+      _claimed = new AtomicIntegerArray(chunks.length);
+      _left = new AtomicInteger(chunks.length);
+      _tail = chunks.length;
+    }
+    private boolean claimAt( int i ) {
+      if( !_claimed.compareAndSet(i, 0, 1) ) return false;
+      if( _left.decrementAndGet() == 0 ) drained();
+      return true;
+    }
+    /** Submit task once every Chunk is claimed, here or by other nodes */
+    void onDrained( H2O.H2OCountedCompleter task ) {
+      _onDrained = task;
+      if( _left.get() == 0 ) drained();
+    }
+    // Nothing left to give away: from now on answer steals with none
+    private void drained() {
+      if( _onDrained == null || !_drained.compareAndSet(false, true) ) return;
+      unregister(_id);
+      H2O.submitTask(_onDrained);
+    }
+    /** Claim a Chunk for mapping here; false if another node has it */
+    boolean claim( int cidx ) {
+      int i = Arrays.binarySearch(_chunks, cidx);
+      return i < 0 || claimAt(i);
+    }
+    /** Claim up to half the unclaimed Chunks for another node, none if fewer
+     *  than threshold are left */
+    synchronized int[] steal( int threshold ) {
+      int want = _left.get() >= Math.max(threshold, 2) ? _left.get() >> 1 : 0;
+      int[] res = new int[want];
+      int n = 0;
+      while( n < want && _tail > 0 ) {
+        int i = --_tail;
+        if( claimAt(i) ) res[n++] = _chunks[i];
+      }
+      return n == want ? res : Arrays.copyOf(res, n);
+    }
+  }
+
+  /** Register the home Chunks of vec for the task with the given id */
+  static Queue register( Key id, Vec vec ) {
+    int nchunks = vec.nChunks(), n = 0;
+    int[] chunks = new int[nchunks];
+    for( int i = 0; i < nchunks; i++ )
+      if( vec.chunkKey(i).home() ) chunks[n++] = i;
+    long now = System.currentTimeMillis();
+    for( Key k : DONE.keySet() ) {   // Forget long finished tasks
+      Long t = DONE.get(k);
+      if( t != null && now - t > DONE_MS ) DONE.remove(k);
+    }
+    Queue q = new Queue(id, Arrays.copyOf(chunks, n));
+    QUEUES.put(id, q);
+    return q;
+  }
+
+  static void unregister( Key id ) {
+    DONE.put(id, System.currentTimeMillis());
+    QUEUES.remove(id);
+  }
+
+  /** Ask node for some of its unmapped Chunks of the task; returns the
+   *  claimed chunk indices, empty if it has none to give, or null if it has
+   *  not started the task yet. */
+  static int[] steal( H2ONode node, Key id, int threshold ) {
+    REQUESTS.incrementAndGet();
+    int[] chunks = new RPC<>(node, new StealTask(id, threshold)).call().get()._chunks;
+    if( chunks != null ) STOLEN.addAndGet(chunks.length);
+    return chunks;
+  }
+
+  // Answered above normal work priority, so that a node busy mapping still
+  // gives work away promptly
+  private static class StealTask extends DTask<StealTask> {
+    private Key _id;
+    private int _threshold;
+    private int[] _chunks;
+    StealTask( Key id, int threshold ) { super(H2O.MIN_HI_PRIORITY); _id = id; _threshold = threshold; }
+    @Override public void compute2() {
+      Queue q = QUEUES.get(_id);
+      _chunks = q != null ? q.steal(_threshold) : DONE.containsKey(_id) ? new int[0] : null;
+      if( _chunks != null ) GIVEN.addAndGet(_chunks.length);
+      tryComplete();
+    }
+  }
+}
@@ -5,6 +5,7 @@ import water.*;
 import water.api.schemas3.*;
 import water.exceptions.*;
 import water.fvec.Frame;
+import water.fvec.FrameAppender;
 import water.fvec.Vec;
 import water.util.Log;
 import water.util.PrettyPrint;
@@ -17,6 +18,9 @@ import java.util.*;
  * GET /3/Frames/(?<frameid>.*)/export/(?<path>.*)/overwrite/(?<force>.*)
  * <p> export(): Export a Frame to the given path with optional overwrite.
  * <p>
+ * POST /3/Frames/(?<frameid>.*)/append
+ * <p> append(): Append the rows of other Frames or raw files to a Frame, in place, in a Job.
+ * <p>
  * GET /3/Frames/(?<frameid>.*)/columns/(?<column>.*)/summary
  * <p> columnSummary(): Return the summary metrics for a column, e.g. mins, maxes, mean, sigma, percentiles, etc.
  * <p>
@@ -248,6 +252,20 @@ public class FramesHandler<I extends FramesHandler.Frames, S extends SchemaV3<I,
     return s;
   }
 
+  /** Append the rows of parsed Frames or raw files to a single frame, in place. */
+  @SuppressWarnings("unused") // called through reflection by RequestServer
+  public FramesV3 append(int version, FramesV3 s) {
+    Frame frame = getFromDKV("key", s.frame_id.key()); // safe
+    if (s.source_frames == null || s.source_frames.length == 0)
+      throw new H2OIllegalArgumentException("source_frames", "append", "empty");
+    Key[] sources = new Key[s.source_frames.length];
+    for (int i = 0; i < sources.length; i++)
+      sources[i] = s.source_frames[i].key();
+    Log.info("Appending " + Arrays.toString(sources) + " to " + frame._key);
+    s.job = new JobV3(FrameAppender.appendAllAsync(frame, sources));
+    return s;
+  }
+
   @SuppressWarnings("unused") // called through reflection by RequestServer
   // TODO: return list of FrameSummaryV3 that has histograms et al.
   public FramesV3 summary(int version, FramesV3 s) {
@@ -0,0 +1,41 @@
+package water.api;
+
+import water.JettyHTTPD;
+import water.Metrics;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * Node metrics for Prometheus scraping, in its text format.
+ *
+ * Example
+ * ```
+ * curl "http://localhost:54321/3/Metrics"               # this node
+ * curl "http://localhost:54321/3/Metrics?cluster=true"  # all nodes, labelled by node
+ * ```
+ */
+public class MetricsServlet extends HttpServlet {
+
+  @Override
+  protected void doGet(HttpServletRequest request, HttpServletResponse response) {
+    String uri = JettyHTTPD.getDecodedUri(request);
+    try {
+      boolean cluster = "true".equalsIgnoreCase(request.getParameter("cluster"));
+      Metrics metrics = cluster ? Metrics.cloud() : Metrics.local();
+      response.setContentType("text/plain; version=0.0.4; charset=utf-8");
+      JettyHTTPD.setResponseStatus(response, HttpServletResponse.SC_OK);
+      Writer w = new OutputStreamWriter(response.getOutputStream(), "UTF-8");
+      metrics.write(w);
+      w.close();
+    } catch (Exception e) {
+      JettyHTTPD.sendErrorResponse(response, e, uri);
+    } finally {
+      JettyHTTPD.logRequest("GET", request, response);
+    }
+  }
+
+}
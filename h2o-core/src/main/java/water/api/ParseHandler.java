@@ -8,6 +8,7 @@ import water.api.schemas3.ParseV3;
 import water.exceptions.H2OIllegalArgumentException;
 import water.fvec.Frame;
 import water.parser.ParseDataset;
+import water.parser.ParsePredicate;
 import water.parser.ParseSetup;
 import water.parser.ParseWriter;
 import water.parser.ParserInfo;
@@ -27,6 +28,7 @@ class ParseHandler extends Handler {
                                       null,
                                       new ParseWriter.ParseErr[0], parse.chunk_size,
                                       parse.decrypt_tool != null ? parse.decrypt_tool.key() : null);
+    setup.setProjection(parse.projection).setPredicates(ParsePredicate.parse(parse.predicates));
 
     if (parse.source_frames == null) throw new H2OIllegalArgumentException("Data for Frame '" + parse.destination_frame.name + "' is not available. Please check that the path is valid (for all H2O nodes).'");
     Key[] srcs = new Key[parse.source_frames.length];
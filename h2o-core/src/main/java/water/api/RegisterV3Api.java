@@ -87,6 +87,14 @@ public class RegisterV3Api extends AbstractRegister {
             "GET /3/JStack", JStackHandler.class, "fetch",
             "Report stack traces for all threads on all nodes.");
 
+    context.registerEndpoint("trace",
+            "GET /3/Trace", TraceHandler.class, "fetch",
+            "Download the MRTask, RPC, serialization and DKV spans traced on all nodes, in Chrome trace-event format.");
+
+    context.registerEndpoint("traceSwitch",
+            "POST /3/Trace", TraceHandler.class, "update",
+            "Turn span tracing on or off on all nodes.");
+
     context.registerEndpoint("testNetwork",
             "GET /3/NetworkTest", NetworkTestHandler.class, "fetch",
             "Run a network test to measure the performance of the cluster interconnect.");
@@ -148,6 +156,10 @@ public class RegisterV3Api extends AbstractRegister {
             "POST /3/Frames/{frame_id}/export", FramesHandler.class, "export",
             "Export a Frame to the given path with optional overwrite.");
 
+    context.registerEndpoint("appendFrame",
+            "POST /3/Frames/{frame_id}/append", FramesHandler.class, "append",
+            "Append the rows of parsed frames or raw files to a Frame, in place.");
+
     context.registerEndpoint("frameColumnSummary",
             "GET /3/Frames/{frame_id}/columns/{column}/summary", FramesHandler.class, "columnSummary",
             "Return the summary metrics for a column, e.g. min, max, mean, sigma, percentiles, etc.");
@@ -0,0 +1,32 @@
+package water.api;
+
+import water.api.schemas3.TraceV3;
+import water.util.TraceCollectorTask;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public class TraceHandler extends Handler {
+  /** Spans of all nodes as a Chrome trace (JSON), for chrome://tracing and the like */
+  @SuppressWarnings("unused") // called through reflection by RequestServer
+  public StreamingSchema fetch(int version, TraceV3 t) {
+    final TraceCollectorTask trace = new TraceCollectorTask(-1, t.clear).doAllNodes();
+    return new StreamingSchema(new StreamWriter() {
+      @Override public void writeTo(OutputStream os) {
+        try {
+          trace.writeChromeTrace(os);
+        } catch (IOException e) {
+          throw new RuntimeException(e);
+        }
+      }
+    }, "h2o_trace.json");
+  }
+
+  /** Turn tracing on or off on all nodes */
+  @SuppressWarnings("unused") // called through reflection by RequestServer
+  public TraceV3 update(int version, TraceV3 t) {
+    TraceCollectorTask trace = new TraceCollectorTask(t.enabled ? 1 : 0, t.clear).doAllNodes();
+    t.spans = trace.spanCount();
+    return t;
+  }
+}
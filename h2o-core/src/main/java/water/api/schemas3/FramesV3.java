@@ -40,7 +40,10 @@ public class FramesV3 extends RequestSchemaV3<Frames, FramesV3> {
   @API(help="Number of part files to use (1=single file,-1=automatic)",json=false)
   public int num_parts = 1;
 
-  @API(help="Job for export file",direction=API.Direction.OUTPUT)
+  @API(help="Parsed frames or raw files whose rows to append, in order",json=false)
+  public KeyV3.FrameKeyV3[] source_frames;
+
+  @API(help="Job for export file or append",direction=API.Direction.OUTPUT)
   public JobV3 job;
 
   // Output fields
@@ -53,6 +53,12 @@ public class ParseV3 extends RequestSchemaV3<Iced, ParseV3> {
   @API(help="Key-reference to an initialized instance of a Decryption Tool")
   public KeyV3.DecryptionToolKeyV3 decrypt_tool;
 
+  @API(help="Names of the columns to keep; all columns if not set")
+  public String[] projection;
+
+  @API(help="Row predicates, e.g. \"age >= 30\"; only rows matching all of them are kept")
+  public String[] predicates;
+
   // Output fields
   @API(help="Parse job", direction=API.Direction.OUTPUT)
   public JobV3 job;
@@ -0,0 +1,15 @@
+package water.api.schemas3;
+
+import water.Iced;
+import water.api.API;
+
+public class TraceV3 extends RequestSchemaV3<Iced, TraceV3> {
+  @API(help="Turn span tracing on (true) or off (false) on all nodes", direction=API.Direction.INOUT)
+  public boolean enabled;
+
+  @API(help="Drop the spans collected so far on all nodes after fetching them")
+  public boolean clear;
+
+  @API(help="Number of spans held, all nodes together", direction=API.Direction.OUTPUT)
+  public long spans;
+}
@@ -3,6 +3,7 @@ package water.fvec;
 import water.parser.BufferedString;
 import water.util.UnsafeUtils;
 
+import java.util.Arrays;
 import java.util.UUID;
 
 /**
@@ -94,4 +95,28 @@ public class C0DChunk extends Chunk {
     return v;
   }
 
+  @Override int decodeDoubles_impl(double[] vals, long[] nas, int from, int to) {
+    Arrays.fill(vals, 0, to-from, _con);
+    if( !Double.isNaN(_con) ) return 0;
+    setAllNA(nas, to-from);
+    return to-from;
+  }
+  @Override int decodeLongs_impl(long[] vals, long[] nas, int from, int to) {
+    if( Double.isNaN(_con) ) {
+      Arrays.fill(vals, 0, to-from, 0);
+      setAllNA(nas, to-from);
+      return to-from;
+    }
+    Arrays.fill(vals, 0, to-from, (long)_con);
+    return 0;
+  }
+  @Override int decodeInts_impl(int[] vals, long[] nas, int from, int to) {
+    if( Double.isNaN(_con) ) {
+      Arrays.fill(vals, 0, to-from, 0);
+      setAllNA(nas, to-from);
+      return to-from;
+    }
+    Arrays.fill(vals, 0, to-from, toInt((long)_con));
+    return 0;
+  }
 }
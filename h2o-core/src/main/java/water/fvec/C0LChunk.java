@@ -2,6 +2,8 @@ package water.fvec;
 
 import water.util.UnsafeUtils;
 
+import java.util.Arrays;
+
 /**
  * The constant 'long' column.
  */
@@ -57,4 +59,17 @@ public class C0LChunk extends Chunk {
         v.addValue(_con);
     return v;
   }
+
+  @Override int decodeDoubles_impl(double[] vals, long[] nas, int from, int to) {
+    Arrays.fill(vals, 0, to-from, _con);
+    return 0;
+  }
+  @Override int decodeLongs_impl(long[] vals, long[] nas, int from, int to) {
+    Arrays.fill(vals, 0, to-from, _con);
+    return 0;
+  }
+  @Override int decodeInts_impl(int[] vals, long[] nas, int from, int to) {
+    Arrays.fill(vals, 0, to-from, toInt(_con));
+    return 0;
+  }
 }
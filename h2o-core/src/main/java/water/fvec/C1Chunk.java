@@ -81,4 +81,29 @@ public class C1Chunk extends Chunk {
   @Override
   public boolean hasFloat() {return false;}
 
+  @Override int decodeDoubles_impl(double[] vals, long[] nas, int from, int to) {
+    for(int i = from; i < to; i++) {
+      int x = 0xFF&_mem[i+_OFF];
+      vals[i-from] = (x == _NA)?Double.NaN:x;
+    }
+    return maskNaNs(vals,nas,to-from);
+  }
+  @Override int decodeLongs_impl(long[] vals, long[] nas, int from, int to) {
+    int cnt = 0;
+    for(int i = from; i < to; i++) {
+      int x = 0xFF&_mem[i+_OFF];
+      if(x == _NA) { x = 0; setNA(nas,i-from); cnt++; }
+      vals[i-from] = x;
+    }
+    return cnt;
+  }
+  @Override int decodeInts_impl(int[] vals, long[] nas, int from, int to) {
+    int cnt = 0;
+    for(int i = from; i < to; i++) {
+      int x = 0xFF&_mem[i+_OFF];
+      if(x == _NA) { x = 0; setNA(nas,i-from); cnt++; }
+      vals[i-from] = x;
+    }
+    return cnt;
+  }
 }
@@ -49,4 +49,19 @@ public class C1NChunk extends Chunk {
     return v;
   }
 
+  @Override int decodeDoubles_impl(double[] vals, long[] nas, int from, int to) {
+    for(int i = from; i < to; ++i)
+      vals[i-from] = _mem[i]&0xFF;
+    return 0;
+  }
+  @Override int decodeLongs_impl(long[] vals, long[] nas, int from, int to) {
+    for(int i = from; i < to; ++i)
+      vals[i-from] = _mem[i]&0xFF;
+    return 0;
+  }
+  @Override int decodeInts_impl(int[] vals, long[] nas, int from, int to) {
+    for(int i = from; i < to; ++i)
+      vals[i-from] = _mem[i]&0xFF;
+    return 0;
+  }
 }
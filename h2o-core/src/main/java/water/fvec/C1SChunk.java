@@ -100,5 +100,27 @@ public final class C1SChunk extends CSChunk {
     return v;
   }
 
-
+  @Override int decodeDoubles_impl(double[] vals, long[] nas, int from, int to) {
+    for(int i = from; i < to; ++i)
+      vals[i-from] = getD(0xFF&_mem[_OFF+i],C1Chunk._NA);
+    return maskNaNs(vals,nas,to-from);
+  }
+  @Override int decodeLongs_impl(long[] vals, long[] nas, int from, int to) {
+    int cnt = 0;
+    for(int i = from; i < to; ++i) {
+      int x = 0xFF&_mem[_OFF+i];
+      if(x == C1Chunk._NA) { vals[i-from] = 0; setNA(nas,i-from); cnt++; }
+      else vals[i-from] = (long)getD(x,C1Chunk._NA);
+    }
+    return cnt;
+  }
+  @Override int decodeInts_impl(int[] vals, long[] nas, int from, int to) {
+    int cnt = 0;
+    for(int i = from; i < to; ++i) {
+      int x = 0xFF&_mem[_OFF+i];
+      if(x == C1Chunk._NA) { vals[i-from] = 0; setNA(nas,i-from); cnt++; }
+      else vals[i-from] = toInt((long)getD(x,C1Chunk._NA));
+    }
+    return cnt;
+  }
 }
@@ -88,4 +88,28 @@ public class C2SChunk extends CSChunk {
       v.addValue(getD(getMantissa(i),C2Chunk._NA));
     return v;
   }
+
+  @Override int decodeDoubles_impl(double[] vals, long[] nas, int from, int to) {
+    for(int i = from; i < to; ++i)
+      vals[i-from] = getD(getMantissa(i),C2Chunk._NA);
+    return maskNaNs(vals,nas,to-from);
+  }
+  @Override int decodeLongs_impl(long[] vals, long[] nas, int from, int to) {
+    int cnt = 0;
+    for(int i = from; i < to; ++i) {
+      int x = getMantissa(i);
+      if(x == C2Chunk._NA) { vals[i-from] = 0; setNA(nas,i-from); cnt++; }
+      else vals[i-from] = (long)getD(x,C2Chunk._NA);
+    }
+    return cnt;
+  }
+  @Override int decodeInts_impl(int[] vals, long[] nas, int from, int to) {
+    int cnt = 0;
+    for(int i = from; i < to; ++i) {
+      int x = getMantissa(i);
+      if(x == C2Chunk._NA) { vals[i-from] = 0; setNA(nas,i-from); cnt++; }
+      else vals[i-from] = toInt((long)getD(x,C2Chunk._NA));
+    }
+    return cnt;
+  }
 }
@@ -77,4 +77,29 @@ public class C4Chunk extends Chunk {
     return vals;
   }
 
+  @Override int decodeDoubles_impl(double[] vals, long[] nas, int from, int to) {
+    for(int i = from; i < to; i++) {
+      int x = UnsafeUtils.get4(_mem, i<<2);
+      vals[i-from] = (x == _NA)?Double.NaN:x;
+    }
+    return maskNaNs(vals,nas,to-from);
+  }
+  @Override int decodeLongs_impl(long[] vals, long[] nas, int from, int to) {
+    int cnt = 0;
+    for(int i = from; i < to; i++) {
+      int x = UnsafeUtils.get4(_mem, i<<2);
+      if(x == _NA) { x = 0; setNA(nas,i-from); cnt++; }
+      vals[i-from] = x;
+    }
+    return cnt;
+  }
+  @Override int decodeInts_impl(int[] vals, long[] nas, int from, int to) {
+    int cnt = 0;
+    for(int i = from; i < to; i++) {
+      int x = UnsafeUtils.get4(_mem, i<<2);
+      if(x == _NA) { x = 0; setNA(nas,i-from); cnt++; }
+      vals[i-from] = x;
+    }
+    return cnt;
+  }
 }
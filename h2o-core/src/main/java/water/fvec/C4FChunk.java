@@ -63,4 +63,28 @@ public class C4FChunk extends Chunk {
     assert _mem.length == _len <<2;
   }
   @Override public boolean hasFloat() {return true;}
+
+  @Override int decodeDoubles_impl(double[] vals, long[] nas, int from, int to) {
+    for(int i = from; i < to; i++)
+      vals[i-from] = UnsafeUtils.get4f(_mem, i<<2);
+    return maskNaNs(vals,nas,to-from);
+  }
+  @Override int decodeLongs_impl(long[] vals, long[] nas, int from, int to) {
+    int cnt = 0;
+    for(int i = from; i < to; i++) {
+      float f = UnsafeUtils.get4f(_mem, i<<2);
+      if(Float.isNaN(f)) { f = 0; setNA(nas,i-from); cnt++; }
+      vals[i-from] = (long)f;
+    }
+    return cnt;
+  }
+  @Override int decodeInts_impl(int[] vals, long[] nas, int from, int to) {
+    int cnt = 0;
+    for(int i = from; i < to; i++) {
+      float f = UnsafeUtils.get4f(_mem, i<<2);
+      if(Float.isNaN(f)) { f = 0; setNA(nas,i-from); cnt++; }
+      vals[i-from] = toInt((long)f);
+    }
+    return cnt;
+  }
 }
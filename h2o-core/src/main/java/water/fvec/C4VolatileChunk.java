@@ -87,5 +87,13 @@ public class C4VolatileChunk extends Chunk {
 //    return fs;
 //  }
 
-
+  @Override int decodeInts_impl(int[] vals, long[] nas, int from, int to) {
+    int cnt = 0;
+    for(int i = from; i < to; i++) {
+      int x = _is[i];
+      if(x == _NA) { x = 0; setNA(nas,i-from); cnt++; }
+      vals[i-from] = x;
+    }
+    return cnt;
+  }
 }
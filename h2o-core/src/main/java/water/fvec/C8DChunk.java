@@ -71,4 +71,27 @@ public class C8DChunk extends Chunk {
     return vals;
   }
 
+  @Override int decodeDoubles_impl(double[] vals, long[] nas, int from, int to) {
+    for(int i = from; i < to; i++)
+      vals[i-from] = UnsafeUtils.get8d(_mem, i<<3);
+    return maskNaNs(vals,nas,to-from);
+  }
+  @Override int decodeLongs_impl(long[] vals, long[] nas, int from, int to) {
+    int cnt = 0;
+    for(int i = from; i < to; i++) {
+      double d = UnsafeUtils.get8d(_mem, i<<3);
+      if(Double.isNaN(d)) { d = 0; setNA(nas,i-from); cnt++; }
+      vals[i-from] = (long)d;
+    }
+    return cnt;
+  }
+  @Override int decodeInts_impl(int[] vals, long[] nas, int from, int to) {
+    int cnt = 0;
+    for(int i = from; i < to; i++) {
+      double d = UnsafeUtils.get8d(_mem, i<<3);
+      if(Double.isNaN(d)) { d = 0; setNA(nas,i-from); cnt++; }
+      vals[i-from] = toInt((long)d);
+    }
+    return cnt;
+  }
 }
@@ -77,4 +77,8 @@ public final class C8DVolatileChunk extends Chunk {
     return v;
   }
 
+  @Override int decodeDoubles_impl(double[] vals, long[] nas, int from, int to) {
+    System.arraycopy(_ds, from, vals, 0, to-from);
+    return maskNaNs(vals,nas,to-from);
+  }
 }
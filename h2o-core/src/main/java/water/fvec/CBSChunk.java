@@ -162,4 +162,31 @@ public class CBSChunk extends Chunk {
   @Override
   public boolean hasFloat() {return false;}
 
+  @Override int decodeDoubles_impl(double[] vals, long[] nas, int from, int to) {
+    for(int i = from; i < to; ++i) {
+      byte b = read(i);
+      vals[i-from] = b == _NA ? Double.NaN : b;
+    }
+    return maskNaNs(vals,nas,to-from);
+  }
+  @Override int decodeLongs_impl(long[] vals, long[] nas, int from, int to) {
+    int cnt = 0;
+    for(int i = from; i < to; ++i) {
+      byte b = read(i);
+      if(b == _NA) { b = 0; setNA(nas,i-from); cnt++; }
+      vals[i-from] = b;
+    }
+    return cnt;
+  }
+  @Override int decodeInts_impl(int[] vals, long[] nas, int from, int to) {
+    int cnt = 0;
+    for(int i = from; i < to; ++i) {
+      byte b = read(i);
+      if(b == _NA) { b = 0; setNA(nas,i-from); cnt++; }
+      vals[i-from] = b;
+    }
+    return cnt;
+  }
+
+
 }
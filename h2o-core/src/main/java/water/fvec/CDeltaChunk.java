@@ -0,0 +1,235 @@
+package water.fvec;
+
+import water.MemoryManager;
+import water.util.UnsafeUtils;
+
+/**
+ * The delta + frame-of-reference compression function for integers with a
+ * large absolute range but small steps, e.g. timestamps and monotonic ids.
+ * <p>
+ * Rows are grouped in blocks of {@link #BLOCK}.  Each block predicts row j as
+ * {@code base + j*step}, with step the average delta over the block, and
+ * bit-packs the non-negative residuals in as few bits as the block needs.
+ * Every row is decoded from its block header and one packed word, so random
+ * access stays O(1).  A block with NAs reserves the all-ones code for them.
+ * <p>
+ * Format: 4 bytes len, 4 bytes number of blocks; then a {@link #HDR} byte
+ * header per block (8 bytes base, 8 bytes step, 4 bytes data offset, 1 byte
+ * bit width, 1 byte flags); then the packed data, padded by 8 bytes.
+ */
+public class CDeltaChunk extends Chunk {
+  static final int BLOCK_BITS = 7;
+  public static final int BLOCK = 1 << BLOCK_BITS;
+  static final int _OFF = 4+4;
+  static final int HDR = 24;
+  // Wider residuals do not pay off, and keep a packed code plus its bit
+  // offset within one 8-byte read
+  static final int MAX_BITS = 56;
+  private static final int HAS_NA = 1;
+  // NA marker in the values handed to encode
+  static final long _NA = C8Chunk._NA;
+
+  private int _blocks;
+
+  CDeltaChunk() {}
+  CDeltaChunk(byte[] bs) { _mem = bs; initFromBytes(); }
+
+  @Override protected final void initFromBytes() {
+    _start = -1;  _cidx = -1;
+    set_len(UnsafeUtils.get4(_mem, 0));
+    _blocks = UnsafeUtils.get4(_mem, 4);
+  }
+
+  @Override public boolean hasFloat() { return false; }
+
+  private static int bitsFor(long x) { return 64 - Long.numberOfLeadingZeros(x); }
+
+  private static long unpack(byte[] mem, int dataOff, int bits, int j) {
+    if (bits == 0) return 0;
+    long bitOff = (long) j * bits;
+    long w = UnsafeUtils.get8(mem, dataOff + (int) (bitOff >>> 3)) >>> (bitOff & 7);
+    return w & ((1L << bits) - 1);
+  }
+
+  private static void pack(byte[] mem, int dataOff, int bits, int j, long code) {
+    if (bits == 0) return;
+    long bitOff = (long) j * bits;
+    int off = dataOff + (int) (bitOff >>> 3);
+    UnsafeUtils.set8(mem, off, UnsafeUtils.get8(mem, off) | (code << (bitOff & 7)));
+  }
+
+  /**
+   * Encode integers, with {@link #_NA} for missing values.
+   * @return the chunk bytes, or null if they would take more than maxBytes
+   */
+  static byte[] encode(long[] vs, int len, long maxBytes) {
+    // Residuals are only guaranteed not to overflow for ranges under 2^62
+    long min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+    for (int i = 0; i < len; ++i)
+      if (vs[i] != _NA) { min = Math.min(min, vs[i]); max = Math.max(max, vs[i]); }
+    if (min > max || max - min < 0 || max - min >= (1L << 62)) return null;
+    final int blocks = (len + BLOCK - 1) >> BLOCK_BITS;
+    final long[] bases = new long[blocks], steps = new long[blocks];
+    final byte[] bits = new byte[blocks], flags = new byte[blocks];
+    long dataBytes = 0;
+    final long hdrBytes = _OFF + (long) blocks * HDR + 8;
+    for (int b = 0; b < blocks; ++b) {
+      final int s = b << BLOCK_BITS, e = Math.min(s + BLOCK, len);
+      int f = -1, l = -1;
+      boolean hasNA = false;
+      for (int i = s; i < e; ++i)
+        if (vs[i] == _NA) hasNA = true;
+        else { if (f < 0) f = i; l = i; }
+      long step = 0, minR = 0, maxR = 0;
+      if (f >= 0) {
+        step = l > f ? (vs[l] - vs[f]) / (l - f) : 0;
+        minR = Long.MAX_VALUE; maxR = Long.MIN_VALUE;
+        for (int i = f; i <= l; ++i) {
+          if (vs[i] == _NA) continue;
+          long r = vs[i] - (vs[f] + (i - f) * step);
+          minR = Math.min(minR, r);
+          maxR = Math.max(maxR, r);
+        }
+      }
+      int nbits = bitsFor(maxR - minR + (hasNA ? 1 : 0));
+      if (nbits > MAX_BITS) return null;
+      // Predicted row s; may wrap around, which decoding undoes
+      bases[b] = f >= 0 ? vs[f] - (f - s) * step + minR : 0;
+      steps[b] = step;
+      bits[b] = (byte) nbits;
+      flags[b] = (byte) (hasNA ? HAS_NA : 0);
+      dataBytes += ((long) nbits * (e - s) + 7) >> 3;
+      if (hdrBytes + dataBytes > maxBytes) return null;
+    }
+    byte[] mem = MemoryManager.malloc1((int) (hdrBytes + dataBytes));
+    UnsafeUtils.set4(mem, 0, len);
+    UnsafeUtils.set4(mem, 4, blocks);
+    int dataOff = _OFF + blocks * HDR;
+    for (int b = 0; b < blocks; ++b) {
+      final int s = b << BLOCK_BITS, e = Math.min(s + BLOCK, len);
+      final int h = _OFF + b * HDR, nbits = bits[b];
+      UnsafeUtils.set8(mem, h, bases[b]);
+      UnsafeUtils.set8(mem, h + 8, steps[b]);
+      UnsafeUtils.set4(mem, h + 16, dataOff);
+      mem[h + 20] = bits[b];
+      mem[h + 21] = flags[b];
+      final long naCode = nbits == 0 ? 0 : (1L << nbits) - 1;
+      for (int i = s; i < e; ++i) {
+        int j = i - s;
+        pack(mem, dataOff, nbits, j, vs[i] == _NA ? naCode : vs[i] - (bases[b] + j * steps[b]));
+      }
+      dataOff += ((long) nbits * (e - s) + 7) >> 3;
+    }
+    return mem;
+  }
+
+  // Header fields of the block of row i
+  private int hdr(int i) { return _OFF + (i >> BLOCK_BITS) * HDR; }
+  private int bits(int h) { return _mem[h + 20]; }
+  private boolean hasNA(int h) { return (_mem[h + 21] & HAS_NA) != 0; }
+  private long code(int h, int i) {
+    return unpack(_mem, UnsafeUtils.get4(_mem, h + 16), bits(h), i & (BLOCK - 1));
+  }
+  private boolean isNACode(int h, long code) {
+    return hasNA(h) && code == (bits(h) == 0 ? 0 : (1L << bits(h)) - 1);
+  }
+  private long value(int h, int i, long code) {
+    return UnsafeUtils.get8(_mem, h) + (i & (BLOCK - 1)) * UnsafeUtils.get8(_mem, h + 8) + code;
+  }
+
+  @Override protected final long at8_impl(int i) {
+    int h = hdr(i);
+    long code = code(h, i);
+    if (isNACode(h, code)) throw new IllegalArgumentException("at8_abs but value is missing");
+    return value(h, i, code);
+  }
+  @Override protected final double atd_impl(int i) {
+    int h = hdr(i);
+    long code = code(h, i);
+    return isNACode(h, code) ? Double.NaN : value(h, i, code);
+  }
+  @Override protected final boolean isNA_impl(int i) {
+    int h = hdr(i);
+    return hasNA(h) && isNACode(h, code(h, i));
+  }
+
+  // Only writes which do not change the value fit
+  @Override boolean set_impl(int idx, long l) { return !isNA_impl(idx) && at8_impl(idx) == l; }
+  @Override boolean set_impl(int i, double d) {
+    return Double.isNaN(d) ? isNA_impl(i) : !isNA_impl(i) && at8_impl(i) == d;
+  }
+  @Override boolean set_impl(int i, float f) { return set_impl(i, (double) f); }
+  @Override boolean setNA_impl(int idx) { return isNA_impl(idx); }
+
+  @Override
+  public <T extends ChunkVisitor> T processRows(T v, int from, int to) {
+    for (int i = from; i < to; i++) {
+      int h = hdr(i);
+      long code = code(h, i);
+      if (isNACode(h, code)) v.addNAs(1);
+      else v.addValue(value(h, i, code));
+    }
+    return v;
+  }
+
+  @Override
+  public <T extends ChunkVisitor> T processRows(T v, int[] ids) {
+    for (int i : ids) {
+      int h = hdr(i);
+      long code = code(h, i);
+      if (isNACode(h, code)) v.addNAs(1);
+      else v.addValue(value(h, i, code));
+    }
+    return v;
+  }
+
+  @Override public double[] getDoubles(double[] vals, int from, int to, double NA) {
+    decodeDoubles_impl(vals, null, from, to);
+    if (!Double.isNaN(NA))
+      for (int i = 0; i < to - from; ++i)
+        if (Double.isNaN(vals[i])) vals[i] = NA;
+    return vals;
+  }
+
+  // Batch decodes read each block header once
+  @Override int decodeDoubles_impl(double[] vals, long[] nas, int from, int to) {
+    int cnt = 0;
+    for (int i = from; i < to; ) {
+      final int h = hdr(i), e = Math.min(to, ((i >> BLOCK_BITS) + 1) << BLOCK_BITS);
+      final long base = UnsafeUtils.get8(_mem, h), step = UnsafeUtils.get8(_mem, h + 8);
+      final int dataOff = UnsafeUtils.get4(_mem, h + 16), bits = bits(h);
+      final long naCode = hasNA(h) ? (bits == 0 ? 0 : (1L << bits) - 1) : -1;
+      for (; i < e; ++i) {
+        int j = i & (BLOCK - 1);
+        long code = unpack(_mem, dataOff, bits, j);
+        if (code == naCode) {
+          vals[i - from] = Double.NaN;
+          if (nas != null) setNA(nas, i - from);
+          cnt++;
+        } else
+          vals[i - from] = base + j * step + code;
+      }
+    }
+    return cnt;
+  }
+  @Override int decodeLongs_impl(long[] vals, long[] nas, int from, int to) {
+    int cnt = 0;
+    for (int i = from; i < to; ) {
+      final int h = hdr(i), e = Math.min(to, ((i >> BLOCK_BITS) + 1) << BLOCK_BITS);
+      final long base = UnsafeUtils.get8(_mem, h), step = UnsafeUtils.get8(_mem, h + 8);
+      final int dataOff = UnsafeUtils.get4(_mem, h + 16), bits = bits(h);
+      final long naCode = hasNA(h) ? (bits == 0 ? 0 : (1L << bits) - 1) : -1;
+      for (; i < e; ++i) {
+        int j = i & (BLOCK - 1);
+        long code = unpack(_mem, dataOff, bits, j);
+        if (code == naCode) {
+          vals[i - from] = 0;
+          setNA(nas, i - from);
+          cnt++;
+        } else
+          vals[i - from] = base + j * step + code;
+      }
+    }
+    return cnt;
+  }
+}
@@ -0,0 +1,172 @@
+package water.fvec;
+
+import water.MemoryManager;
+import water.util.UnsafeUtils;
+
+import java.util.Arrays;
+
+/**
+ * The run-length compression function: a sequence of (run end, value) pairs.
+ * Good for sorted or slowly changing columns, e.g. timestamps after a sort.
+ * Values are stored as 8-byte longs if all are integers (NA is
+ * {@link C8Chunk#_NA}), else as doubles (NA is NaN).
+ * <p>
+ * Format: 4 bytes len, 4 bytes number of runs, 4 bytes flags; then the
+ * exclusive end row of every run as ints, then the run values.
+ */
+public class CRLChunk extends Chunk {
+  static final int _OFF = 4+4+4;
+  // Not worth it for small Chunks
+  public static final int MIN_ROWS = 1024;
+  private static final int INTEGER = 1;
+  static final long _NA = C8Chunk._NA;
+
+  public static int computeByteSize(int runs) { return _OFF + runs*(4+8); }
+
+  private int _runs;
+  private boolean _isInt;
+  private int _valOff;
+
+  CRLChunk() {}
+  // Ends of runs and their raw values; longs if isInt, else double bits
+  CRLChunk(int len, int runs, int[] ends, long[] vals, boolean isInt) {
+    _mem = MemoryManager.malloc1(computeByteSize(runs));
+    UnsafeUtils.set4(_mem, 0, len);
+    UnsafeUtils.set4(_mem, 4, runs);
+    UnsafeUtils.set4(_mem, 8, isInt ? INTEGER : 0);
+    for (int r = 0; r < runs; ++r) {
+      UnsafeUtils.set4(_mem, _OFF + (r << 2), ends[r]);
+      UnsafeUtils.set8(_mem, _OFF + (runs << 2) + (r << 3), vals[r]);
+    }
+    initFromBytes();
+  }
+
+  @Override protected final void initFromBytes() {
+    _start = -1;  _cidx = -1;
+    set_len(UnsafeUtils.get4(_mem, 0));
+    _runs = UnsafeUtils.get4(_mem, 4);
+    _isInt = (UnsafeUtils.get4(_mem, 8) & INTEGER) != 0;
+    _valOff = _OFF + (_runs << 2);
+  }
+
+  public int runs() { return _runs; }
+  @Override public boolean hasFloat() { return !_isInt; }
+
+  private int end(int r) { return UnsafeUtils.get4(_mem, _OFF + (r << 2)); }
+  private long raw(int r) { return UnsafeUtils.get8(_mem, _valOff + (r << 3)); }
+  private boolean isNAraw(long raw) { return _isInt ? raw == _NA : Double.isNaN(Double.longBitsToDouble(raw)); }
+  private double toDouble(long raw) {
+    return _isInt ? (raw == _NA ? Double.NaN : raw) : Double.longBitsToDouble(raw);
+  }
+
+  // Run holding row i: the first run ending after it
+  private int run(int i) {
+    int lo = 0, hi = _runs - 1;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (end(mid) <= i) lo = mid + 1;
+      else hi = mid;
+    }
+    return lo;
+  }
+
+  @Override protected final long at8_impl(int i) {
+    long raw = raw(run(i));
+    if (isNAraw(raw)) throw new IllegalArgumentException("at8_abs but value is missing");
+    return _isInt ? raw : (long) Double.longBitsToDouble(raw);
+  }
+  @Override protected final double atd_impl(int i) { return toDouble(raw(run(i))); }
+  @Override protected final boolean isNA_impl(int i) { return isNAraw(raw(run(i))); }
+
+  // Only writes which do not change the value fit
+  @Override boolean set_impl(int idx, long l) {
+    long raw = raw(run(idx));
+    return !isNAraw(raw) && (_isInt ? raw == l : Double.longBitsToDouble(raw) == l);
+  }
+  @Override boolean set_impl(int i, double d) { return Double.isNaN(d) ? isNA_impl(i) : atd_impl(i) == d; }
+  @Override boolean set_impl(int i, float f) { return set_impl(i, (double) f); }
+  @Override boolean setNA_impl(int idx) { return isNA_impl(idx); }
+
+  @Override
+  public <T extends ChunkVisitor> T processRows(T v, int from, int to) {
+    if (from >= to) return v;
+    for (int r = run(from), i = from; i < to; ++r) {
+      int n = Math.min(end(r), to) - i;
+      long raw = raw(r);
+      if (isNAraw(raw)) v.addNAs(n);
+      else if (raw == 0) v.addZeros(n); // Both long 0 and +0.0
+      else if (_isInt) for (int k = 0; k < n; ++k) v.addValue(raw);
+      else {
+        double d = Double.longBitsToDouble(raw);
+        for (int k = 0; k < n; ++k) v.addValue(d);
+      }
+      i += n;
+    }
+    return v;
+  }
+
+  @Override
+  public <T extends ChunkVisitor> T processRows(T v, int[] ids) {
+    for (int i : ids) {
+      long raw = raw(run(i));
+      if (isNAraw(raw)) v.addNAs(1);
+      else if (_isInt) v.addValue(raw);
+      else v.addValue(Double.longBitsToDouble(raw));
+    }
+    return v;
+  }
+
+  @Override public double[] getDoubles(double[] vals, int from, int to, double NA) {
+    decodeDoubles_impl(vals, null, from, to);
+    if (!Double.isNaN(NA))
+      for (int i = 0; i < to - from; ++i)
+        if (Double.isNaN(vals[i])) vals[i] = NA;
+    return vals;
+  }
+
+  // Batch decodes fill whole runs at a time
+  @Override int decodeDoubles_impl(double[] vals, long[] nas, int from, int to) {
+    int cnt = 0;
+    for (int r = from < to ? run(from) : _runs, i = from; i < to; ++r) {
+      int e = Math.min(end(r), to);
+      double d = toDouble(raw(r));
+      Arrays.fill(vals, i - from, e - from, d);
+      if (Double.isNaN(d)) {
+        cnt += e - i;
+        if (nas != null) for (int k = i; k < e; ++k) setNA(nas, k - from);
+      }
+      i = e;
+    }
+    return cnt;
+  }
+  @Override int decodeLongs_impl(long[] vals, long[] nas, int from, int to) {
+    int cnt = 0;
+    for (int r = from < to ? run(from) : _runs, i = from; i < to; ++r) {
+      int e = Math.min(end(r), to);
+      long raw = raw(r);
+      if (isNAraw(raw)) {
+        Arrays.fill(vals, i - from, e - from, 0);
+        cnt += e - i;
+        for (int k = i; k < e; ++k) setNA(nas, k - from);
+      } else
+        Arrays.fill(vals, i - from, e - from, _isInt ? raw : (long) Double.longBitsToDouble(raw));
+      i = e;
+    }
+    return cnt;
+  }
+  @Override int decodeInts_impl(int[] vals, long[] nas, int from, int to) {
+    int cnt = 0;
+    for (int r = from < to ? run(from) : _runs, i = from; i < to; ++r) {
+      int e = Math.min(end(r), to);
+      long raw = raw(r);
+      if (isNAraw(raw)) {
+        Arrays.fill(vals, i - from, e - from, 0);
+        cnt += e - i;
+        for (int k = i; k < e; ++k) setNA(nas, k - from);
+      } else
+        Arrays.fill(vals, i - from, e - from, toInt(_isInt ? raw : (long) Double.longBitsToDouble(raw)));
+      i = e;
+    }
+    return cnt;
+  }
+}
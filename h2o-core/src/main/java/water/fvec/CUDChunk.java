@@ -14,7 +14,7 @@ public class CUDChunk extends Chunk {
   public static int computeByteSize(int uniques, int len) {
     return 4 + 4 // _len + numUniques
             + (uniques << 3) //unique double values
-            + (len << 1); //mapping of row -> unique value index (0...255)
+            + len; //mapping of row -> unique value index (0...255), 1 byte each
   }
   int numUniques;
   CUDChunk() {}
@@ -50,14 +50,10 @@ public class CUDChunk extends Chunk {
     return getDoubles(vals,from,to,Double.NaN);
   }
   @Override public double [] getDoubles(double [] vals, int from, int to, double NA) {
-    double [] uniques = new double[numUniques];
-    for(int i = 0; i < numUniques; ++i) {
-      uniques[i] = Double.longBitsToDouble(UnsafeUtils.get8(_mem, 8 + (i << 3)));
-      if(Double.isNaN(uniques[i]))
-        uniques[i] = NA;
-    }
-    for(int i = 0; i < _len; ++i)
-      vals[i] = uniques[(UnsafeUtils.get1(_mem, 8 + (numUniques << 3) + i)+128)];
+    decodeDoubles_impl(vals, null, from, to);
+    if(!Double.isNaN(NA))
+      for(int i = 0; i < to-from; ++i)
+        if(Double.isNaN(vals[i])) vals[i] = NA;
     return vals;
   }
 
@@ -95,4 +91,32 @@ public class CUDChunk extends Chunk {
     numUniques = UnsafeUtils.get4(_mem, 4);
     set_len(_len);
   }
+
+  private double unique(int i) {
+    int whichUnique = (UnsafeUtils.get1(_mem, 8 + (numUniques << 3) + i)+128);
+    return Double.longBitsToDouble(UnsafeUtils.get8(_mem, 8 + (whichUnique << 3)));
+  }
+  @Override int decodeDoubles_impl(double[] vals, long[] nas, int from, int to) {
+    for(int i = from; i < to; ++i)
+      vals[i-from] = unique(i);
+    return maskNaNs(vals,nas,to-from);
+  }
+  @Override int decodeLongs_impl(long[] vals, long[] nas, int from, int to) {
+    int cnt = 0;
+    for(int i = from; i < to; ++i) {
+      double d = unique(i);
+      if(Double.isNaN(d)) { d = 0; setNA(nas,i-from); cnt++; }
+      vals[i-from] = (long)d;
+    }
+    return cnt;
+  }
+  @Override int decodeInts_impl(int[] vals, long[] nas, int from, int to) {
+    int cnt = 0;
+    for(int i = from; i < to; ++i) {
+      double d = unique(i);
+      if(Double.isNaN(d)) { d = 0; setNA(nas,i-from); cnt++; }
+      vals[i-from] = toInt((long)d);
+    }
+    return cnt;
+  }
 }
@@ -3,6 +3,8 @@ package water.fvec;
 import water.H2O;
 import water.util.UnsafeUtils;
 
+import java.util.Arrays;
+
 // Sparse chunk.
 public class CXFChunk extends CXIChunk {
   protected CXFChunk(byte [] mem){
@@ -90,4 +92,48 @@ public class CXFChunk extends CXIChunk {
   }
   @Override
   public boolean hasFloat(){return true;}
+
+  @Override int decodeDoubles_impl(double[] vals, long[] nas, int from, int to) {
+    Arrays.fill(vals, 0, to-from, _isNA?Double.NaN:0);
+    for(int x = firstOffset(from); x < _mem.length; x += _elem_sz) {
+      int id = getId(x);
+      if(id >= to) break;
+      vals[id-from] = getVal(x);
+    }
+    return maskNaNs(vals,nas,to-from);
+  }
+  @Override int decodeLongs_impl(long[] vals, long[] nas, int from, int to) {
+    Arrays.fill(vals, 0, to-from, 0);
+    int cnt = 0;
+    if(_isNA) { setAllNA(nas, to-from); cnt = to-from; }
+    for(int x = firstOffset(from); x < _mem.length; x += _elem_sz) {
+      int id = getId(x);
+      if(id >= to) break;
+      double val = getVal(x);
+      if(Double.isNaN(val)) {
+        if(!_isNA) { setNA(nas,id-from); cnt++; }
+      } else {
+        vals[id-from] = (long)val;
+        if(_isNA) { clearNA(nas,id-from); cnt--; }
+      }
+    }
+    return cnt;
+  }
+  @Override int decodeInts_impl(int[] vals, long[] nas, int from, int to) {
+    Arrays.fill(vals, 0, to-from, 0);
+    int cnt = 0;
+    if(_isNA) { setAllNA(nas, to-from); cnt = to-from; }
+    for(int x = firstOffset(from); x < _mem.length; x += _elem_sz) {
+      int id = getId(x);
+      if(id >= to) break;
+      double val = getVal(x);
+      if(Double.isNaN(val)) {
+        if(!_isNA) { setNA(nas,id-from); cnt++; }
+      } else {
+        vals[id-from] = toInt((long)val);
+        if(_isNA) { clearNA(nas,id-from); cnt--; }
+      }
+    }
+    return cnt;
+  }
 }
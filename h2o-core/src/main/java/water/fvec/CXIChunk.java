@@ -3,6 +3,8 @@ package water.fvec;
 import water.H2O;
 import water.util.UnsafeUtils;
 
+import java.util.Arrays;
+
 // Sparse chunk.
 public class CXIChunk extends Chunk {
   private static long [] _NAS = new long[]{-1/* not used, binary chunks can't have NAs */,/* not used*/-1,C2Chunk._NA,-1,C4Chunk._NA,-1,-1,-1,C8Chunk._NA};
@@ -217,4 +219,54 @@ public class CXIChunk extends Chunk {
 
   @Override
   public boolean hasFloat(){return false;}
+
+  // Offset of the first stored element with row id >= from
+  protected final int firstOffset(int from) {
+    int x = from == 0?_OFF: findOffset(from);
+    return x < 0?-x-1:x;
+  }
+
+  @Override int decodeDoubles_impl(double[] vals, long[] nas, int from, int to) {
+    Arrays.fill(vals, 0, to-from, _isNA?Double.NaN:0);
+    for(int x = firstOffset(from); x < _mem.length; x += _elem_sz) {
+      int id = getId(x);
+      if(id >= to) break;
+      vals[id-from] = getFVal(x);
+    }
+    return maskNaNs(vals,nas,to-from);
+  }
+  @Override int decodeLongs_impl(long[] vals, long[] nas, int from, int to) {
+    Arrays.fill(vals, 0, to-from, 0);
+    int cnt = 0;
+    if(_isNA) { setAllNA(nas, to-from); cnt = to-from; }
+    for(int x = firstOffset(from); x < _mem.length; x += _elem_sz) {
+      int id = getId(x);
+      if(id >= to) break;
+      long val = getVal(x);
+      if(val == _NAS[_val_sz]) {
+        if(!_isNA) { setNA(nas,id-from); cnt++; }
+      } else {
+        vals[id-from] = val;
+        if(_isNA) { clearNA(nas,id-from); cnt--; }
+      }
+    }
+    return cnt;
+  }
+  @Override int decodeInts_impl(int[] vals, long[] nas, int from, int to) {
+    Arrays.fill(vals, 0, to-from, 0);
+    int cnt = 0;
+    if(_isNA) { setAllNA(nas, to-from); cnt = to-from; }
+    for(int x = firstOffset(from); x < _mem.length; x += _elem_sz) {
+      int id = getId(x);
+      if(id >= to) break;
+      long val = getVal(x);
+      if(val == _NAS[_val_sz]) {
+        if(!_isNA) { setNA(nas,id-from); cnt++; }
+      } else {
+        vals[id-from] = toInt(val);
+        if(_isNA) { clearNA(nas,id-from); cnt--; }
+      }
+    }
+    return cnt;
+  }
 }
@@ -3,6 +3,7 @@ package water.fvec;
 import water.*;
 import water.parser.BufferedString;
 
+import java.util.Arrays;
 import java.util.UUID;
 
 /** A compression scheme, over a chunk of data - a single array of bytes.
@@ -807,4 +808,93 @@ public abstract class Chunk extends Iced<Chunk> implements Vec.Holder {
   public int getSparseDoubles(double [] vals, int [] ids, double NA) {
     return processRows(new ChunkVisitor.SparseDoubleAryVisitor(vals,ids,isSparseNA(),NA),0,_len).sparseLen();
   }
+
+  // ---
+  // Batch decode: rows [from,to) into caller-supplied primitive arrays, plus
+  // a bitmap of the NA rows.  No allocation and no per-row virtual call: each
+  // Chunk flavor decodes its own bytes in a single tight loop, so callers can
+  // run plain array loops over the result.  Bit j of an NA mask (word j>>6,
+  // bit j&63) is set iff row from+j is NA; see naMaskLen and isNA.
+
+  /** Batch decode rows [from,to) as doubles into vals[0..to-from).  NA rows
+   *  decode as NaN and get their bit set in the NA mask.
+   *  @param nas NA mask of at least {@link #naMaskLen}(to-from) words, cleared
+   *  first; or null if NaN in vals is enough
+   *  @return number of NA rows */
+  public final int decodeDoubles(double[] vals, long[] nas, int from, int to) {
+    if( nas != null ) Arrays.fill(nas, 0, naMaskLen(to-from), 0);
+    return _chk2 == null ? decodeDoubles_impl(vals,nas,from,to) : _chk2.decodeDoubles_impl(vals,nas,from,to);
+  }
+  /** Batch decode rows [from,to) as longs into vals[0..to-from), truncating
+   *  as {@link #at8}.  NA rows decode as 0 and get their bit set in the NA mask.
+   *  @param nas NA mask of at least {@link #naMaskLen}(to-from) words, cleared
+   *  first; or null if only the NA count is needed
+   *  @return number of NA rows */
+  public final int decodeLongs(long[] vals, long[] nas, int from, int to) {
+    if( nas != null ) Arrays.fill(nas, 0, naMaskLen(to-from), 0);
+    return _chk2 == null ? decodeLongs_impl(vals,nas,from,to) : _chk2.decodeLongs_impl(vals,nas,from,to);
+  }
+  /** Batch decode rows [from,to) as ints into vals[0..to-from), e.g. for
+   *  categorical columns.  NA rows decode as 0 and get their bit set in the NA
+   *  mask.  Throws if a value does not fit in an int.
+   *  @param nas NA mask of at least {@link #naMaskLen}(to-from) words, cleared
+   *  first; or null if only the NA count is needed
+   *  @return number of NA rows */
+  public final int decodeInts(int[] vals, long[] nas, int from, int to) {
+    if( nas != null ) Arrays.fill(nas, 0, naMaskLen(to-from), 0);
+    return _chk2 == null ? decodeInts_impl(vals,nas,from,to) : _chk2.decodeInts_impl(vals,nas,from,to);
+  }
+
+  /** Words in an NA mask covering n rows */
+  public static int naMaskLen(int n) { return (n+63)>>6; }
+  /** True if bit j is set in the NA mask */
+  public static boolean isNA(long[] nas, int j) { return (nas[j>>6] & (1L<<j)) != 0; }
+  static void setNA(long[] nas, int j) { if( nas != null ) nas[j>>6] |= 1L<<j; }
+  static void clearNA(long[] nas, int j) { nas[j>>6] &= ~(1L<<j); }
+  // Mark the first n rows NA
+  static void setAllNA(long[] nas, int n) {
+    if( nas == null ) return;
+    Arrays.fill(nas, 0, n>>6, -1L);
+    if( (n&63) != 0 ) nas[n>>6] = (1L<<n)-1;
+  }
+  // Set the mask bits of the NaNs in vals[0..n); the second half of a double
+  // decode, kept out of the (branch-free) decode loop.
+  static int maskNaNs(double[] vals, long[] nas, int n) {
+    int cnt = 0;
+    for( int j = 0; j < n; j++ )
+      if( Double.isNaN(vals[j]) ) {
+        cnt++;
+        if( nas != null ) setNA(nas,j);
+      }
+    return cnt;
+  }
+  static int toInt(long l) {
+    if( (int)l != l ) throw new IllegalArgumentException(l + " does not fit into int");
+    return (int)l;
+  }
+
+  /** Chunk-specific batch decoders.  The defaults go row-by-row through the
+   *  single-row readers; compressed Chunks override them.  The NA mask is
+   *  already cleared. */
+  int decodeDoubles_impl(double[] vals, long[] nas, int from, int to) {
+    for( int i = from; i < to; i++ )
+      vals[i-from] = isNA_impl(i) ? Double.NaN : atd_impl(i);
+    return maskNaNs(vals,nas,to-from);
+  }
+  int decodeLongs_impl(long[] vals, long[] nas, int from, int to) {
+    int cnt = 0;
+    for( int i = from; i < to; i++ ) {
+      if( isNA_impl(i) ) { vals[i-from] = 0; setNA(nas,i-from); cnt++; }
+      else vals[i-from] = at8_impl(i);
+    }
+    return cnt;
+  }
+  int decodeInts_impl(int[] vals, long[] nas, int from, int to) {
+    int cnt = 0;
+    for( int i = from; i < to; i++ ) {
+      if( isNA_impl(i) ) { vals[i-from] = 0; setNA(nas,i-from); cnt++; }
+      else vals[i-from] = toInt(at8_impl(i));
+    }
+    return cnt;
+  }
 }
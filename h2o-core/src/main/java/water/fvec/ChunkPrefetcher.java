@@ -0,0 +1,100 @@
+package water.fvec;
+
+import water.DKV;
+import water.H2O;
+import water.Key;
+import water.nbhm.NonBlockingHashMap;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Asynchronous prefetch of remote Chunks read in order.
+ *  <p>
+ *  A map call over a Frame whose Vecs are not aligned with the mapped Chunks
+ *  (e.g. a join's other side via {@link Vec#chunkForRow}, or a Frame rebuilt
+ *  by rbind) reads remote Chunks one after the other, each stalling its F/J
+ *  thread for a round trip.  Once a thread reads two consecutive remote
+ *  Chunks of a Vec, the next {@link #DEPTH} Chunks are fetched ahead with
+ *  {@link DKV#prefetch}; the fetched copies are cached in the local store like
+ *  any other replica.  At most {@link #MAX_PENDING} prefetched Chunks await
+ *  their first read; older ones are forgotten and counted as wasted.  Reads
+ *  of replicas already cached, other than prefetched ones, only advance the
+ *  thread's position: they are neither misses nor a reason to fetch ahead.
+ */
+public final class ChunkPrefetcher {
+  public static final int DEPTH = Integer.getInteger(H2O.OptArgs.SYSTEM_PROP_PREFIX + "prefetch.depth", 4);
+  public static final int MAX_PENDING = Integer.getInteger(H2O.OptArgs.SYSTEM_PROP_PREFIX + "prefetch.max", 256);
+
+  private static final AtomicLong ISSUED = new AtomicLong(), HITS = new AtomicLong(), MISSES = new AtomicLong(), WASTED = new AtomicLong();
+
+  // Prefetched Chunk keys not read yet, and the order they were issued in;
+  // the queue may still hold keys read since, dropped as it is trimmed
+  private static final NonBlockingHashMap<Key,Boolean> PENDING = new NonBlockingHashMap<>();
+  private static final ConcurrentLinkedQueue<Key> ISSUE_ORDER = new ConcurrentLinkedQueue<>();
+  private static final AtomicInteger QUEUED = new AtomicInteger();
+
+  private ChunkPrefetcher() {}
+
+  /** Last remote Chunk read by a thread */
+  static final class Stream {
+    private Key _vec;
+    private int _cidx = -2;
+    /** Record a read; the first Chunk to fetch ahead, or -1 for none */
+    int next( Key vec, int cidx ) {
+      boolean seq = vec.equals(_vec) && cidx == _cidx+1;
+      _vec = vec; _cidx = cidx;
+      return seq ? cidx+1 : -1;
+    }
+    boolean same( Key vec, int cidx ) { return cidx == _cidx && vec.equals(_vec); }
+  }
+
+  private static final ThreadLocal<Stream> STREAMS = new ThreadLocal<Stream>() {
+    @Override protected Stream initialValue() { return new Stream(); }
+  };
+
+  /** Called by {@link Vec#chunkIdx} when about to get a Chunk homed elsewhere */
+  static void access( Vec v, int cidx, Key k ) {
+    Stream s = STREAMS.get();
+    if( s.same(v._key, cidx) ) return; // Element-wise reads of the same Chunk
+    int c = s.next(v._key, cidx);
+    boolean hit = !PENDING.isEmpty() && PENDING.remove(k) != null;
+    if( !hit && H2O.containsKey(k) ) return; // A replica cached before: nothing to do
+    (hit ? HITS : MISSES).incrementAndGet();
+    if( c < 0 ) return;
+    int hi = Math.min(v.nChunks(), c+DEPTH);
+    for( ; c < hi; c++ ) {
+      Key ck = v.chunkKey(c);
+      if( ck.home() || H2O.containsKey(ck) ) continue;
+      if( PENDING.putIfAbsent(ck, Boolean.TRUE) != null ) continue; // Already on its way
+      ISSUE_ORDER.add(ck);
+      QUEUED.incrementAndGet();
+      trim();
+      ISSUED.incrementAndGet();
+      DKV.prefetch(ck);
+    }
+  }
+
+  // Forget the oldest prefetches past MAX_PENDING
+  private static void trim() {
+    while( PENDING.size() > MAX_PENDING || QUEUED.get() > 2*MAX_PENDING ) {
+      Key old = ISSUE_ORDER.poll();
+      if( old == null ) return;
+      QUEUED.decrementAndGet();
+      if( PENDING.remove(old) != null ) WASTED.incrementAndGet();
+    }
+  }
+
+  /** Remote Chunks fetched ahead of their read */
+  public static long issued() { return ISSUED.get(); }
+  /** Remote Chunk reads that found their prefetch done or under way */
+  public static long hits() { return HITS.get(); }
+  /** Remote Chunk reads that were not prefetched */
+  public static long misses() { return MISSES.get(); }
+  /** Prefetched Chunks never read before being forgotten */
+  public static long wasted() { return WASTED.get(); }
+  public static double hitRate() {
+    long h = hits(), n = h + misses();
+    return n == 0 ? 0 : (double)h/n;
+  }
+}
@@ -782,6 +782,7 @@ public class Frame extends Lockable<Frame> {
   @Override protected Futures remove_impl(Futures fs) {
     final Key[] keys = _keys;
     if( keys.length==0 ) return fs;
+    LayoutPolicy.sourceRemoved(_keys);
 
     // Get the nChunks without calling anyVec - which loads all Vecs eagerly,
     // only to delete them.  Supports Frames with some Vecs already deleted, as
@@ -1370,6 +1371,18 @@ public class Frame extends Lockable<Frame> {
   public static class DeepSelect extends MRTask<DeepSelect> {
     @Override public void map( Chunk[] chks, NewChunk [] nchks ) {
       Chunk pred =  chks[chks.length - 1];
+      // Chunks selecting no rows or all of them need no scan of the predicate;
+      // rows are taken where the predicate truncates to 1, as by getIntegers
+      ZoneMap z = ZoneMap.of(pred);
+      if( z != null ) {
+        if( z.allNA() || z._max < 1 || z._min >= 2 ) { ZoneMap.skipped(); return; }
+        if( z._min >= 1 && z._max < 2 && !z.hasNAs() ) {
+          ZoneMap.skipped();
+          for (int c = 0; c < chks.length-1; ++c)
+            chks[c].extractRows(nchks[c], 0, pred._len);
+          return;
+        }
+      }
       int[] ids = pred.getIntegers(new int[pred._len],0,pred._len,0);
       int zeros = 0;
       for(int i = 0; i < ids.length; ++i)
@@ -0,0 +1,219 @@
+package water.fvec;
+
+import water.*;
+import water.exceptions.H2OIllegalArgumentException;
+import water.parser.ParseDataset;
+import water.parser.ParseSetup;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Appends rows to an existing Frame in place, without copying its data.
+ * <p>
+ * The new rows become new Chunks at the end of each Vec: the Vecs keep their
+ * keys and their existing Chunks, and get a row layout extended by the new
+ * Chunks.  Only the appended rows are copied, out of a parsed batch.  New
+ * categorical levels go at the end of the domain, so existing Chunks stay
+ * valid; batch levels are remapped as the Chunks are copied.  The Vecs'
+ * rollups are dropped and recomputed lazily, reusing the per-Chunk partials
+ * of all the existing Chunks.
+ * <p>
+ * The Frame is write-locked while its Vecs are replaced.  Its Vecs must not
+ * be shared with any other Frame in the K/V store, which would be left with
+ * columns of different lengths; such appends are rejected.  Frames outside
+ * the K/V store (copies held by running code) are not checked: do not
+ * append to a Frame in use by a job.  Readers that take no lock may see
+ * some columns extended before others while the new Vecs are put.
+ */
+public final class FrameAppender {
+  private FrameAppender() {}
+
+  /** Append the rows of a parsed Frame to dst.  Columns must match by
+   *  position and type; an all-NA column matches any type.  src is left
+   *  as is.
+   *  @return dst, with the new rows */
+  public static Frame append( Frame dst, Frame src ) { return append(dst, src, null); }
+
+  public static Frame append( Frame dst, Frame src, Key<Job> jobKey ) {
+    if( dst.numCols() != src.numCols() )
+      throw new H2OIllegalArgumentException("Cannot append " + src.numCols() + " columns to Frame " + dst._key + " of " + dst.numCols() + " columns");
+    Vec[] dvecs = dst.vecs(), svecs = src.vecs();
+    // Check everything before touching dst
+    byte[] types = new byte[dvecs.length];
+    String[][] domains = new String[dvecs.length][];
+    int[][] catMaps = new int[dvecs.length][];
+    for( int i = 0; i < dvecs.length; i++ ) {
+      Vec d = dvecs[i], s = svecs[i];
+      if( d.getClass() != Vec.class )
+        throw new H2OIllegalArgumentException("Cannot append to column " + dst.name(i) + ", a " + d.getClass().getSimpleName());
+      byte dt = d.get_type(), st = s.get_type();
+      if( dt != st && dt != Vec.T_BAD && st != Vec.T_BAD )
+        throw new H2OIllegalArgumentException("Cannot append a " + Vec.TYPE_STR[st] + " column to " + Vec.TYPE_STR[dt] + " column " + dst.name(i));
+      types[i] = dt == Vec.T_BAD ? st : dt;
+      domains[i] = d.domain();
+      if( st == Vec.T_CAT ) {
+        if( dt == Vec.T_BAD ) domains[i] = s.domain();
+        else {
+          catMaps[i] = mergeDomains(d.domain(), s.domain());
+          domains[i] = union(d.domain(), s.domain(), catMaps[i]);
+        }
+      }
+    }
+    long[] despc = dvecs[0].espc(), sespc = svecs[0].espc();
+    int nchunks = despc.length-1;
+    long[] espc = Arrays.copyOf(despc, nchunks + sespc.length);
+    for( int i = 1; i < sespc.length; i++ ) espc[nchunks + i] = despc[nchunks] + sespc[i];
+
+    dst.write_lock(jobKey);
+    try {
+      checkNotShared(dst);
+      Key<Vec>[] keys = new Key[dvecs.length];
+      for( int i = 0; i < keys.length; i++ ) keys[i] = dvecs[i]._key;
+      // New Chunks first; past the current layout, nobody reads them yet
+      try {
+        new CopyChunks(keys, nchunks, catMaps).doAll(src);
+      } catch( Throwable t ) {
+        Futures fs = new Futures();
+        for( Key<Vec> k : keys )
+          for( int c = 0; c < sespc.length-1; c++ )
+            DKV.remove(Vec.chunkKey(k, nchunks + c), fs);
+        fs.blockForPending();
+        throw t;
+      }
+      Futures fs = new Futures();
+      for( int i = 0; i < dvecs.length; i++ ) {
+        Vec v = new Vec(keys[i], Vec.ESPC.rowLayout(keys[i], espc), domains[i], types[i]);
+        DKV.put(v, fs);
+        DKV.remove(v.rollupStatsKey(), fs); // Rebuilt on demand, from cached partials
+      }
+      fs.blockForPending();
+      dst.reloadVecs();
+      dst.update(jobKey);
+    } finally {
+      dst.unlock(jobKey);
+    }
+    return dst;
+  }
+
+  /** Parse raw files with dst's column names and types, and append the
+   *  rows.  The raw files are deleted, as by a default parse.
+   *  @return dst, with the new rows */
+  public static Frame appendFiles( Frame dst, Key... rawKeys ) { return appendFiles(dst, null, rawKeys); }
+
+  public static Frame appendFiles( Frame dst, Key<Job> jobKey, Key... rawKeys ) {
+    ParseSetup ps = ParseSetup.guessSetup(rawKeys, false, ParseSetup.GUESS_HEADER);
+    byte[] types = ps.getColumnTypes();
+    if( types == null || types.length != dst.numCols() )
+      throw new H2OIllegalArgumentException("Cannot append files of " + (types == null ? "unknown" : types.length) + " columns to Frame " + dst._key + " of " + dst.numCols() + " columns");
+    types = types.clone();
+    Vec[] vecs = dst.vecs();
+    for( int i = 0; i < vecs.length; i++ )
+      if( vecs[i].get_type() != Vec.T_BAD ) types[i] = vecs[i].get_type();
+    ps.setColumnNames(dst.names());
+    ps.setColumnTypes(types);
+    Frame batch = ParseDataset.parse(Key.make(), rawKeys, true, ps);
+    try {
+      return append(dst, batch, jobKey);
+    } finally {
+      batch.delete();
+    }
+  }
+
+  /** Append each source in turn: a parsed Frame, or a raw file to parse
+   *  @return dst, with the new rows */
+  public static Frame appendAll( Frame dst, Key... sources ) { return appendAll(dst, null, sources); }
+
+  public static Frame appendAll( Frame dst, Key<Job> jobKey, Key... sources ) {
+    for( Key k : sources ) {
+      Iced ice = DKV.getGet(k);
+      if( ice == null )
+        throw new H2OIllegalArgumentException("Missing data", "Did not find any data under key " + k);
+      if( !(ice instanceof Frame) && !(ice instanceof ByteVec) )
+        throw new H2OIllegalArgumentException("Cannot append " + k + ", a " + ice.getClass().getSimpleName() + "; expected a Frame or a raw file");
+      if( ice instanceof ByteVec || ((Frame)ice).numCols() == 1 && ((Frame)ice).anyVec() instanceof ByteVec )
+        appendFiles(dst, jobKey, k);
+      else
+        append(dst, (Frame)ice, jobKey);
+      if( jobKey != null ) jobKey.get().update(1);
+    }
+    return dst;
+  }
+
+  /** Append each source in turn, in a Job
+   *  @return the running Job; dst holds all the rows once it is done */
+  public static Job<Frame> appendAllAsync( final Frame dst, final Key... sources ) {
+    final Job<Frame> job = new Job<>(dst._key, Frame.class.getName(), "Append rows");
+    return job.start(new H2O.H2OCountedCompleter() {
+      @Override public void compute2() {
+        appendAll(dst, job._key, sources);
+        tryComplete();
+      }
+    }, sources.length);
+  }
+
+  // Other Frames in the K/V store over any of dst's Vecs would see them grow
+  private static void checkNotShared( Frame dst ) {
+    Key[] sharing = FrameRefs.sharing(dst._key, dst.keys());
+    if( sharing.length > 0 )
+      throw new H2OIllegalArgumentException("Cannot append to Frame " + dst._key + ": its columns are shared with Frame " + sharing[0]);
+  }
+
+  // Index of each src level in the union of both domains; new levels are
+  // numbered after dst's, in src order
+  static int[] mergeDomains( String[] dst, String[] src ) {
+    HashMap<String,Integer> idx = new HashMap<>();
+    for( int i = 0; i < dst.length; i++ ) idx.put(dst[i], i);
+    int[] map = new int[src.length];
+    int next = dst.length;
+    for( int i = 0; i < src.length; i++ ) {
+      Integer j = idx.get(src[i]);
+      map[i] = j == null ? next++ : j;
+    }
+    return map;
+  }
+
+  private static String[] union( String[] dst, String[] src, int[] map ) {
+    int len = dst.length;
+    for( int m : map ) len = Math.max(len, m+1);
+    String[] res = Arrays.copyOf(dst, len);
+    for( int i = 0; i < src.length; i++ ) res[map[i]] = src[i];
+    return res;
+  }
+
+  private static boolean isIdentity( int[] map ) {
+    for( int i = 0; i < map.length; i++ ) if( map[i] != i ) return false;
+    return true;
+  }
+
+  // Copy each batch Chunk to its new place at the end of the dst Vecs
+  private static class CopyChunks extends MRTask<CopyChunks> {
+    final Key<Vec>[] _keys;
+    final int _chunkOff;
+    final int[][] _catMaps;
+    CopyChunks( Key<Vec>[] keys, int chunkOff, int[][] catMaps ) {
+      _keys = keys;
+      _chunkOff = chunkOff;
+      _catMaps = catMaps;
+      for( int i = 0; i < catMaps.length; i++ )
+        if( catMaps[i] != null && isIdentity(catMaps[i]) ) catMaps[i] = null;
+    }
+    @Override public void map( Chunk[] cs ) {
+      int cidx = _chunkOff + cs[0].cidx();
+      for( int i = 0; i < cs.length; i++ ) {
+        Chunk c = cs[i];
+        int[] map = _catMaps[i];
+        Chunk c2;
+        if( map == null ) c2 = c.deepCopy();
+        else {
+          NewChunk nc = new NewChunk(c);
+          for( int r = 0; r < c._len; r++ )
+            if( c.isNA(r) ) nc.addNA();
+            else nc.addNum(map[(int)c.at8(r)], 0);
+          c2 = nc.compress();
+        }
+        DKV.put(Vec.chunkKey(_keys[i], cidx), c2, _fs);
+      }
+    }
+  }
+}
@@ -0,0 +1,239 @@
+package water.fvec;
+
+import water.*;
+import water.util.Log;
+
+import java.util.*;
+
+/** Decides when a Frame's chunk layout is poor enough to be worth a {@link
+ *  RebalanceDataSet} before heavy MRTask use, and keeps the rebalanced copies
+ *  so that several algorithms run on the same Frame share one.
+ *  <p>
+ *  A layout is poor if it has fewer non-empty Chunks than the caller wants
+ *  busy cores; if it has many Chunks all well under {@link #MIN_CHUNK_BYTES}
+ *  (parsed small, or emptied by a row filter); or if the biggest Chunk holds
+ *  over {@link #MAX_SKEW} times the mean rows per Chunk, e.g. after a filter
+ *  kept rows from only a few Chunks.
+ *  <p>
+ *  Rebalanced copies can be cached by the source Frame's checksum and chunk
+ *  count, least recently used first out, up to {@link #cacheSize} copies, set
+ *  by the {@code layout.cache} system property.  A cached copy is leased to
+ *  each job using it, and outlives its eviction until they all release it;
+ *  deleting its source evicts it.  The cache is off by default: a cached copy
+ *  is a second full copy of the data, kept after the model is built, which
+ *  only pays off when several models are built on the same Frame.  Off, each
+ *  copy is left to its caller's Scope.
+ */
+public final class LayoutPolicy {
+  public static final long MIN_CHUNK_BYTES = Long.getLong(H2O.OptArgs.SYSTEM_PROP_PREFIX + "layout.min.chunk.bytes", 64 << 10);
+  public static final double MAX_SKEW = Double.parseDouble(System.getProperty(H2O.OptArgs.SYSTEM_PROP_PREFIX + "layout.max.skew", "4"));
+  private static volatile int CACHE_SIZE = Integer.getInteger(H2O.OptArgs.SYSTEM_PROP_PREFIX + "layout.cache", 0);
+
+  /** Rebalanced copies kept at most; 0 when the cache is off */
+  public static int cacheSize() { return CACHE_SIZE; }
+  // For tests; returns the previous size
+  static int setCacheSize( int n ) { int old = CACHE_SIZE; CACHE_SIZE = n; return old; }
+
+  private LayoutPolicy() {}
+
+  /** Shape of a Frame's chunk layout */
+  public static final class Layout {
+    public final int _chunks, _nonEmpty;
+    public final long _rows, _bytes, _maxRows;
+    Layout( int chunks, int nonEmpty, long rows, long bytes, long maxRows ) {
+      _chunks = chunks; _nonEmpty = nonEmpty; _rows = rows; _bytes = bytes; _maxRows = maxRows;
+    }
+    /** Rows of the biggest Chunk over the mean rows per Chunk */
+    public double skew() { return _rows == 0 ? 1 : (double)_maxRows*_chunks/_rows; }
+    public long bytesPerChunk() { return _bytes/Math.max(1, _chunks); }
+    @Override public String toString() {
+      return _chunks + " chunks (" + _nonEmpty + " non-empty), " + _rows + " rows, " + _bytes + " bytes, skew " + skew();
+    }
+  }
+
+  public static Layout layout( Frame fr ) {
+    Vec v = fr.anyVec();
+    long[] espc = v.espc();
+    int nonEmpty = 0;
+    long maxRows = 0;
+    for( int i = 0; i < espc.length-1; i++ ) {
+      long rows = espc[i+1]-espc[i];
+      if( rows > 0 ) nonEmpty++;
+      maxRows = Math.max(maxRows, rows);
+    }
+    return new Layout(espc.length-1, nonEmpty, fr.numRows(), fr.byteSize(), maxRows);
+  }
+
+  /** Number of Chunks to rebalance fr into, or -1 to leave it as is.
+   *  @param desired Non-empty Chunks the caller wants, e.g. one per core */
+  public static int rebalanceTo( Frame fr, int desired ) {
+    if( fr.numRows() == 0 ) return -1;
+    Layout l = layout(fr);
+    if( l._nonEmpty < desired ) return desired;
+    if( desired <= 1 ) return -1; // Caller does not care about parallelism
+    if( l._chunks > 2*desired && l.bytesPerChunk() < MIN_CHUNK_BYTES ) {
+      // Many tiny Chunks: fewer, up to the parse-time chunk size
+      int n = (int)Math.max(desired, Math.min(l._chunks/2, (l._bytes + FileVec.DFLT_CHUNK_SIZE-1)/FileVec.DFLT_CHUNK_SIZE));
+      return n < l._chunks ? n : -1;
+    }
+    if( l.skew() > MAX_SKEW ) return Math.max(desired, l._nonEmpty);
+    return -1;
+  }
+
+  // A cached rebalanced Frame, the Vecs it was made from, and the jobs
+  // still using it
+  private static final class Entry {
+    final Key<Frame> _key;
+    final Key<Vec> _vecKey;       // A Vec of the copy
+    final Key<Vec>[] _srcKeys;
+    final List<Key<Job>> _users = new ArrayList<>();
+    Entry( Frame copy, Key<Vec>[] srcKeys ) { _key = copy._key; _vecKey = copy.anyVec()._key; _srcKeys = srcKeys; }
+  }
+  // Source Frame checksum and chunk count to rebalanced Frame, least recently
+  // used first
+  private static final LinkedHashMap<String,Entry> CACHE = new LinkedHashMap<>(16, 0.75f, true);
+  // Evicted, but still in use; deleted once released
+  private static final List<Entry> EVICTED = new ArrayList<>();
+
+  /** A copy of fr in nchunks even Chunks.  If the cache is on, the copy is
+   *  shared with earlier callers asking for the same, and leased to user
+   *  until {@link #release}; the Frame returned is the caller's own, over
+   *  the shared Vecs.  Else the copy is tracked in the caller's Scope. */
+  public static Frame rebalance( Frame fr, int nchunks, String name, Key<Job> user ) {
+    String id = null;
+    if( CACHE_SIZE > 0 ) {
+      evictRemovedSources();
+      id = fr.checksum() + ":" + nchunks;
+      Entry e;
+      synchronized( CACHE ) { e = CACHE.get(id); }
+      Frame cached = e == null ? null : DKV.<Frame>getGet(e._key);
+      if( cached != null && cached.numRows() == fr.numRows() ) {
+        synchronized( CACHE ) {
+          if( CACHE.get(id) == e ) {
+            e._users.add(user);
+            Log.info("Reusing " + cached._key + " as the rebalanced " + name + ".");
+            return new Frame(cached);
+          }
+        }
+      }
+    }
+    Key<Frame> newKey = Key.makeUserHidden(name + ".chunks" + nchunks + (id == null ? "" : "." + Key.rand()));
+    RebalanceDataSet rb = new RebalanceDataSet(fr, newKey, nchunks);
+    H2O.submitTask(rb).join();
+    Frame res = DKV.get(newKey).get();
+    if( id == null ) {
+      Scope.track(res);
+      return res;
+    }
+    // Outlives the caller's Scope; the cache owns it
+    List<Key<Vec>> vkeys = new ArrayList<>();
+    for( Vec v : res.vecs() ) vkeys.add(v._key);
+    Scope.untrack(vkeys);
+    Entry e = new Entry(res, fr.keys().clone());
+    e._users.add(user);
+    List<Key<Frame>> drops = new ArrayList<>();
+    synchronized( CACHE ) {
+      Entry old = CACHE.put(id, e);
+      if( old != null ) evict(old, drops);
+      for( Iterator<Entry> it = CACHE.values().iterator(); CACHE.size() > CACHE_SIZE; ) {
+        Entry eldest = it.next();
+        it.remove();
+        evict(eldest, drops);
+      }
+    }
+    drop(drops);
+    return new Frame(res);
+  }
+
+  /** The user is done with the rebalanced Frames leased to it; evicted ones
+   *  no longer in use are deleted */
+  public static void release( Key<Job> user ) {
+    List<Key<Frame>> drops = new ArrayList<>();
+    synchronized( CACHE ) {
+      for( Entry e : CACHE.values() ) e._users.removeAll(Collections.singleton(user));
+      for( Iterator<Entry> it = EVICTED.iterator(); it.hasNext(); ) {
+        Entry e = it.next();
+        e._users.removeAll(Collections.singleton(user));
+        if( e._users.isEmpty() ) { it.remove(); drops.add(e._key); }
+      }
+    }
+    drop(drops);
+  }
+
+  /** Evict the copies made from any of these Vecs, as they are deleted */
+  static void sourceRemoved( Key<Vec>[] vecKeys ) {
+    if( CACHE_SIZE <= 0 || vecKeys.length == 0 ) return;
+    Set<Key<Vec>> removed = new HashSet<>(Arrays.asList(vecKeys));
+    List<Key<Frame>> drops = new ArrayList<>();
+    synchronized( CACHE ) {
+      for( Iterator<Entry> it = CACHE.values().iterator(); it.hasNext(); ) {
+        Entry e = it.next();
+        for( Key<Vec> k : e._srcKeys )
+          if( removed.contains(k) ) { it.remove(); evict(e, drops); break; }
+      }
+    }
+    drop(drops);
+  }
+
+  // Sources can also go Vec by Vec, without a Frame delete
+  private static void evictRemovedSources() {
+    List<Entry> entries;
+    synchronized( CACHE ) { entries = new ArrayList<>(CACHE.values()); }
+    List<Key<Frame>> drops = new ArrayList<>();
+    for( Entry e : entries ) {
+      if( e._srcKeys.length == 0 || DKV.get(e._srcKeys[0]) != null ) continue;
+      synchronized( CACHE ) {
+        if( CACHE.values().remove(e) ) evict(e, drops);
+      }
+    }
+    drop(drops);
+  }
+
+  /** Delete all cached rebalanced Frames not in use; the others go once
+   *  released */
+  public static void clearCache() {
+    List<Key<Frame>> drops = new ArrayList<>();
+    synchronized( CACHE ) {
+      for( Entry e : CACHE.values() ) evict(e, drops);
+      CACHE.clear();
+    }
+    drop(drops);
+  }
+
+  // Out of the cache: delete now if unused, else when last released
+  private static void evict( Entry e, List<Key<Frame>> drops ) {
+    if( e._users.isEmpty() ) drops.add(e._key);
+    else EVICTED.add(e);
+  }
+
+  // Outside the cache lock: deleting a Frame calls back into sourceRemoved
+  private static void drop( List<Key<Frame>> keys ) {
+    for( Key<Frame> key : keys ) {
+      try {
+        Keyed.remove(key);
+      } catch( Throwable t ) {
+        Log.warn("Could not delete cached rebalanced frame " + key + ": " + t);
+      }
+    }
+  }
+
+  /** True if fr is over the Vecs of a cached rebalanced copy, owned by the
+   *  cache */
+  public static boolean isCached( Frame fr ) {
+    Key<Vec> k = fr.anyVec()._key;
+    synchronized( CACHE ) {
+      for( Entry e : CACHE.values() ) if( e._vecKey.equals(k) ) return true;
+      return false;
+    }
+  }
+
+  /** Number of jobs using the cached copy fr is over */
+  static int users( Frame fr ) {
+    Key<Vec> k = fr.anyVec()._key;
+    synchronized( CACHE ) {
+      for( Entry e : CACHE.values() ) if( e._vecKey.equals(k) ) return e._users.size();
+      for( Entry e : EVICTED ) if( e._vecKey.equals(k) ) return e._users.size();
+      return 0;
+    }
+  }
+}
@@ -1258,6 +1258,17 @@ public class NewChunk extends Chunk {
     // wise we just flip to a float or double representation.
     if( overflow || (fpoint && floatOverflow) || -35 > xmin || xmin > 35 )
       return chunkD();
+    // Long runs of repeats, e.g. sorted timestamps?  Compare against the
+    // fixed-width size we would pick otherwise.
+    final boolean fits4 = fpoint ? leRange < 4294967295l : Integer.MIN_VALUE < min && max <= Integer.MAX_VALUE;
+    final long fixedSize = (long)_len*(leRange < 255 ? 1 : leRange < 65535 ? 2 : fits4 ? 4 : 8);
+    Chunk rle = chunkRLE(fixedSize, !fpoint);
+    if( rle != null ) return rle;
+    // Wide integers with small steps, e.g. timestamps or row ids?
+    if( !fpoint && leRange >= 65535 ) {
+      Chunk delta = chunkDelta(fixedSize);
+      if( delta != null ) return delta;
+    }
     if( fpoint ) {
       if( (int)lemin == lemin && (int)lemax == lemax ) {
         if(leRange < 255) { // Fits in scaled biased byte?
@@ -1401,12 +1412,60 @@ public class NewChunk extends Chunk {
       UnsafeUtils.set8d(bs, 8*i, d);
     }
     assert j == _sparseLen :"j = " + j + ", _len = " + _sparseLen;
-    if (fitsInUnique && CUDChunk.computeByteSize(hs.size(), len()) < 0.8 * bs.length)
+    boolean unique = fitsInUnique && CUDChunk.computeByteSize(hs.size(), len()) < 0.8 * bs.length;
+    Chunk rle = chunkRLE(unique ? CUDChunk.computeByteSize(hs.size(), len()) : bs.length, false);
+    if (rle != null)
+      return rle;
+    if (unique)
       return new CUDChunk(bs, hs, len());
     else
       return new C8DChunk(bs);
   }
 
+  // Value of dense row i as stored by CRLChunk: the exact long for integer
+  // columns, else the bits of the double
+  private long rawRL(int i, boolean isInt) {
+    if (!isInt) return Double.doubleToLongBits(getDouble(i));
+    if (isNA2(i)) return CRLChunk._NA;
+    int x = _xs.get(i)==Integer.MIN_VALUE+1 ? 0 : _xs.get(i);
+    return x >= 0 ? _ms.get(i)*PrettyPrint.pow10i(x) : _ms.get(i)/PrettyPrint.pow10i(-x);
+  }
+
+  // Delta bit-pack a dense integer chunk if that takes under 80% of the
+  // given size; else null
+  private Chunk chunkDelta(long size) {
+    if (_len < CDeltaChunk.BLOCK || _sparseLen != _len) return null;
+    long[] vs = MemoryManager.malloc8(_len);
+    for (int i = 0; i < _len; ++i)
+      vs[i] = rawRL(i, true);   // NAs are CDeltaChunk._NA too
+    byte[] bs = CDeltaChunk.encode(vs, _len, (long)(0.8 * size));
+    return bs == null ? null : new CDeltaChunk(bs);
+  }
+
+  // Run-length encode a dense chunk if that takes under 80% of the given
+  // size; else null.  Counting runs stops as soon as there are too many.
+  private Chunk chunkRLE(long size, boolean isInt) {
+    if (_len < CRLChunk.MIN_ROWS || _sparseLen != _len) return null;
+    final long maxRuns = (long)(0.8 * size - CRLChunk._OFF) / (4+8);
+    int runs = 1;
+    long prev = rawRL(0, isInt);
+    for (int i = 1; i < _len && runs <= maxRuns; ++i) {
+      long raw = rawRL(i, isInt);
+      if (raw != prev) { runs++; prev = raw; }
+    }
+    if (runs > maxRuns) return null;
+    int[] ends = new int[runs];
+    long[] vals = new long[runs];
+    int r = 0;
+    vals[0] = rawRL(0, isInt);
+    for (int i = 1; i < _len; ++i) {
+      long raw = rawRL(i, isInt);
+      if (raw != vals[r]) { ends[r++] = i; vals[r] = raw; }
+    }
+    ends[r] = _len;
+    return new CRLChunk(_len, runs, ends, vals, isInt);
+  }
+
   // Compute a compressed UUID buffer
   private Chunk chunkUUID() {
     final byte [] bs = MemoryManager.malloc1(_len *16,true);
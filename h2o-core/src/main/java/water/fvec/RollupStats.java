@@ -14,7 +14,10 @@ import water.parser.BufferedString;
 import water.util.ArrayUtils;
 import water.util.Log;
 
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
 
 /** A class to compute the rollup stats.  These are computed lazily, thrown
  *  away if the Vec is written into, and then recomputed lazily.  Error to ask
@@ -26,6 +29,13 @@ import java.util.Arrays;
  *  rollup work and final results.  Winner of a DKV CAS/PutIfMatch race gets to
  *  manage the M/R job computing the rollups.  Losers block for the same
  *  rollup.  Remote requests *always* forward to the Rollup Key's master.
+ *
+ *  Rollups are recomputed incrementally: every node keeps the partial rollup
+ *  of each of its Chunks, valid for as long as that Chunk's Value in the local
+ *  store is the one it was computed from.  Writing a Chunk installs a new
+ *  Value, so after a few Chunks are written only those get rescanned; all
+ *  other partials are just merged again.  The histogram and percentiles are
+ *  only computed when asked for.
  */
 final class RollupStats extends Iced {
   /** The count of missing elements.... or -2 if we have active writers and no
@@ -64,7 +74,7 @@ final class RollupStats extends Iced {
   // Check for: Rollups currently being computed
   private boolean isComputing() { return _naCnt==-1; }
   // Check for: Rollups available
-  private boolean isReady() { return _naCnt>=0; }
+  boolean isReady() { return _naCnt>=0; }
 
   private RollupStats(int mode) {
     _mins = new double[5];
@@ -220,6 +230,82 @@ final class RollupStats extends Iced {
     return this;
   }
 
+  // Copy safe to reduce into
+  private RollupStats copy() {
+    RollupStats rs = (RollupStats)clone();
+    rs._mins = _mins.clone();
+    rs._maxs = _maxs.clone();
+    rs._tsk = null;
+    return rs;
+  }
+
+  // ---
+  // Per-chunk partial rollups on this node, by Chunk Key.  Each weakly refers
+  // to the Chunk Value it was computed from; once that Value is collected -
+  // the Chunk was removed or overwritten, by whatever path - the entry is
+  // expunged on the next partial computed.
+  private static final class Partial extends WeakReference<Value> {
+    final Key _key;
+    final byte _type;                // Vec type at the time; Strings and UUIDs roll up differently
+    final RollupStats _rs;
+    Partial( Value val, byte type, RollupStats rs ) { super(val, COLLECTED); _key = val._key; _type = type; _rs = rs; }
+  }
+  private static final NonBlockingHashMap<Key,Partial> PARTIALS = new NonBlockingHashMap<>();
+  private static final ReferenceQueue<Value> COLLECTED = new ReferenceQueue<>();
+  // Partials merged as-is vs (re)computed from the Chunk data
+  static final AtomicLong PARTIALS_REUSED = new AtomicLong(), PARTIALS_COMPUTED = new AtomicLong();
+
+  /** Rollups of a single Chunk, reused if the Chunk was not written since */
+  private static RollupStats partial( Chunk c ) {
+    Vec vec = c._vec;
+    Value val = vec.isVolatile() ? null : H2O.STORE.get(vec.chunkKey(c.cidx()));
+    if( val != null ) {
+      Partial p = PARTIALS.get(val._key);
+      if( p != null && p.get() == val && p._type == vec.get_type() ) {
+        PARTIALS_REUSED.incrementAndGet();
+        return p._rs.copy();
+      }
+    }
+    RollupStats rs = new RollupStats(0).map(c);
+    PARTIALS_COMPUTED.incrementAndGet();
+    // Only keep it if it surely came from this Value, and not from a Chunk
+    // fetched just before a racing write
+    if( val != null && val.holdsPOJO(c) ) {
+      expunge();
+      PARTIALS.put(val._key, new Partial(val, vec.get_type(), rs.copy()));
+    }
+    return rs;
+  }
+
+  // Drop the partials whose Chunk Value was collected, unless already replaced
+  private static void expunge() {
+    Object r;
+    while( (r = COLLECTED.poll()) != null ) {
+      Partial p = (Partial)r;
+      PARTIALS.remove(p._key, p);
+    }
+  }
+
+  /** The cached partial rollups of this Chunk if still valid, else null.
+   *  Shared, so must not be modified. */
+  static RollupStats cachedPartial( Chunk c ) {
+    Vec vec = c._vec;
+    if( vec == null || vec.isVolatile() || PARTIALS.isEmpty() ) return null;
+    Value val = H2O.STORE.get(vec.chunkKey(c.cidx()));
+    if( val == null ) return null;
+    Partial p = PARTIALS.get(val._key);
+    return p != null && p.get() == val && p._type == vec.get_type() ? p._rs : null;
+  }
+
+  /** Drop the partial rollups of a removed Chunk */
+  static void forgetPartial( Key ckey ) { PARTIALS.remove(ckey); }
+
+  /** Number of per-chunk partial rollups held on this node */
+  static int partialCount() { expunge(); return PARTIALS.size(); }
+
+  /** Whether partial rollups of this Chunk are held on this node */
+  static boolean hasPartial( Key ckey ) { expunge(); return PARTIALS.containsKey(ckey); }
+
   private void reduce( RollupStats rs ) {
     for( double d : rs._mins ) if (!Double.isNaN(d)) min(d);
     for( double d : rs._maxs ) if (!Double.isNaN(d)) max(d);
@@ -262,7 +348,7 @@ final class RollupStats extends Iced {
     protected boolean modifiesVolatileVecs(){return false;}
 
     Roll( H2OCountedCompleter cmp, Key rskey ) { super(cmp); _rskey=rskey; }
-    @Override public void map( Chunk c ) { _rs = new RollupStats(0).map(c); }
+    @Override public void map( Chunk c ) { _rs = partial(c); }
     @Override public void reduce( Roll roll ) { _rs.reduce(roll._rs); }
     @Override public void postGlobal() {
       if( _rs == null )
@@ -996,8 +996,10 @@ public class Vec extends Keyed<Vec> {
    *  {@code DKV.get()}.  Warning: this pulls the data locally; using this call
    *  on every Chunk index on the same node will probably trigger an OOM!  */
   public Value chunkIdx( int cidx ) {
-    Value val = DKV.get(chunkKey(cidx));
-    assert checkMissing(cidx,val) : "Missing chunk " + chunkKey(cidx);
+    Key k = chunkKey(cidx);
+    if( ChunkPrefetcher.DEPTH > 0 && !k.home() ) ChunkPrefetcher.access(this, cidx, k);
+    Value val = DKV.get(k);
+    assert checkMissing(cidx,val) : "Missing chunk " + k;
     return val;
   }
 
@@ -1338,6 +1340,7 @@ public class Vec extends Keyed<Vec> {
     for( int i=0; i<ncs; i++ ) {
       Key kc = chunkKey(vkey,i);
       H2O.raw_remove(kc);
+      RollupStats.forgetPartial(kc);
     }
     H2O.raw_remove(vkey);
   }
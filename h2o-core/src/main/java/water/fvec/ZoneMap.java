@@ -0,0 +1,74 @@
+package water.fvec;
+
+import water.H2O;
+import water.Value;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Zone map of a Chunk: bounds on its non-NA values and its NA count, known
+ *  without scanning it.  Lets filters and comparisons answer or skip whole
+ *  Chunks which cannot match.
+ *  <p>
+ *  Zones come from constant Chunks, from the per-chunk partial rollups kept
+ *  alongside each Chunk on its home node (see {@link RollupStats}), or failing
+ *  that from the whole-Vec rollups if they are already computed.  They are
+ *  never computed just for this: no zone, no skipping.
+ */
+public final class ZoneMap {
+  /** Lower and upper bound of the non-NA values; NaN if there are none */
+  public final double _min, _max;
+  /** Number of NAs in the Chunk; exact unless {@link #_exactNAs} is false,
+   *  then only zero or not */
+  public final long _naCnt;
+  public final boolean _exactNAs;
+  /** Number of rows in the Chunk */
+  public final int _len;
+
+  private ZoneMap( double min, double max, long naCnt, boolean exactNAs, int len ) {
+    _min = min; _max = max; _naCnt = naCnt; _exactNAs = exactNAs; _len = len;
+  }
+
+  // Lifetime stats: Chunks asked about, and answered or skipped from their zone
+  private static final AtomicLong CONSULTED = new AtomicLong(), SKIPPED = new AtomicLong();
+  public static long consultedChunks() { return CONSULTED.get(); }
+  public static long skippedChunks()   { return SKIPPED.get(); }
+  /** Record that a Chunk was answered or skipped using its zone */
+  public static void skipped() { SKIPPED.incrementAndGet(); }
+
+  /** Surely all NA; never from an inexact count */
+  public boolean allNA()  { return _exactNAs && _naCnt == _len; }
+  public boolean hasNAs() { return _naCnt > 0; }
+
+  /** The zone of a numeric Chunk, or null if not known without a scan */
+  public static ZoneMap of( Chunk c ) {
+    CONSULTED.incrementAndGet();
+    Vec vec = c._vec;
+    if( vec == null || vec.isString() || vec.isUUID() ) return null;
+    if( c instanceof C0LChunk || c instanceof C0DChunk ) {
+      double d = c.min();
+      return Double.isNaN(d) ? new ZoneMap(Double.NaN, Double.NaN, c._len, true, c._len) : new ZoneMap(d, d, 0, true, c._len);
+    }
+    RollupStats rs = RollupStats.cachedPartial(c);
+    if( rs != null ) {
+      if( rs._naCnt == c._len ) return new ZoneMap(Double.NaN, Double.NaN, c._len, true, c._len);
+      double min = rs._ninfs > 0 ? Double.NEGATIVE_INFINITY : rs._mins[0];
+      double max = rs._pinfs > 0 ? Double.POSITIVE_INFINITY : rs._maxs[0];
+      if( Double.isNaN(min) || Double.isNaN(max) || min > max ) return null;
+      return new ZoneMap(min, max, rs._naCnt, true, c._len);
+    }
+    // Whole-Vec bounds are looser, but free if already computed and cached
+    // here; never fetched.  Only for Vecs without NAs: the Vec's NA count
+    // says nothing of this Chunk's.
+    Value val = H2O.STORE.get(vec.rollupStatsKey());
+    RollupStats vrs = val == null ? null : val.<RollupStats>get();
+    if( vrs == null || !vrs.isReady() || vrs._naCnt > 0 ) return null;
+    double min = vrs._ninfs > 0 ? Double.NEGATIVE_INFINITY : vrs._mins[0];
+    double max = vrs._pinfs > 0 ? Double.POSITIVE_INFINITY : vrs._maxs[0];
+    if( Double.isNaN(min) || Double.isNaN(max) || min > max ) return null;
+    return new ZoneMap(min, max, 0, true, c._len);
+  }
+
+  @Override public String toString() {
+    return "ZoneMap[" + _min + ", " + _max + "], NAs=" + _naCnt + (_exactNAs ? "" : "?") + " of " + _len;
+  }
+}
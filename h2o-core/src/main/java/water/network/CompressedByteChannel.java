@@ -0,0 +1,141 @@
+package water.network;
+
+import water.H2O;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ByteChannel;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A ByteChannel compressing everything written to it, and inflating everything
+ * read from it, for big-payload TCP connections between nodes.  Both ends of a
+ * connection agree on compression when it is opened; see {@code TCP_BIG_ZIP}.
+ * <p>
+ * Each write becomes a frame: 4 bytes raw length, 4 bytes deflated length (0
+ * if the frame is stored raw), then the payload.  Frames under {@link
+ * #MIN_BYTES}, and frames which do not deflate to {@link #MAX_RATIO} of their
+ * size, are stored raw; after an incompressible frame the next few are stored
+ * raw without trying, so streams of e.g. already compressed Chunks cost little.
+ * <p>
+ * Enabled by {@code -Dsys.ai.h2o.wire.compress=true}.
+ */
+public class CompressedByteChannel implements ByteChannel {
+  public static final boolean ENABLED = Boolean.getBoolean(H2O.OptArgs.SYSTEM_PROP_PREFIX + "wire.compress");
+  /** Smallest frame worth deflating */
+  public static final int MIN_BYTES = Integer.getInteger(H2O.OptArgs.SYSTEM_PROP_PREFIX + "wire.compress.min", 4096);
+  // Keep deflated frames only if they are at most this fraction of the raw bytes
+  static final double MAX_RATIO = 0.9;
+  // Frames stored raw without trying after an incompressible one
+  private static final int BACKOFF = 16;
+  private static final int MAX_FRAME = 1 << 20;
+  private static final int HDR = 4+4;
+
+  private final ByteChannel _chan;
+  private final Deflater _def = new Deflater(Deflater.BEST_SPEED);
+  private final Inflater _inf = new Inflater();
+  private byte[] _raw = new byte[0], _zip = new byte[0];
+  private final ByteBuffer _hdr = ByteBuffer.allocate(HDR);
+  private ByteBuffer _pending = ByteBuffer.allocate(0); // Inflated, not yet read
+  private int _skip;
+  private long _wire;                  // Bytes written to the wire
+
+  public CompressedByteChannel( ByteChannel chan ) { _chan = chan; }
+
+  /** The wrapped channel */
+  public ByteChannel channel() { return _chan; }
+
+  /** Bytes written to the wire since the last call */
+  public long takeWireBytes() { long w = _wire; _wire = 0; return w; }
+
+  private static byte[] grow( byte[] buf, int len ) { return buf.length >= len ? buf : new byte[Math.max(len, buf.length << 1)]; }
+
+  @Override public int write( ByteBuffer src ) throws IOException {
+    final int len = Math.min(src.remaining(), MAX_FRAME);
+    if( len == 0 ) return 0;
+    _raw = grow(_raw, len);
+    src.get(_raw, 0, len);
+    int zlen = 0;
+    if( len >= MIN_BYTES && _skip-- <= 0 ) {
+      final int max = (int)(len*MAX_RATIO);
+      _zip = grow(_zip, HDR+max);
+      _def.reset();
+      _def.setInput(_raw, 0, len);
+      _def.finish();
+      while( !_def.finished() && zlen < max )
+        zlen += _def.deflate(_zip, HDR+zlen, max-zlen);
+      if( !_def.finished() ) { zlen = 0; _skip = BACKOFF; }
+      else _skip = 0;
+    }
+    ByteBuffer frame;
+    if( zlen > 0 ) {
+      frame = ByteBuffer.wrap(_zip, 0, HDR+zlen);
+    } else {
+      _zip = grow(_zip, HDR+len);
+      System.arraycopy(_raw, 0, _zip, HDR, len);
+      frame = ByteBuffer.wrap(_zip, 0, HDR+len);
+    }
+    frame.putInt(0, len).putInt(4, zlen);
+    while( frame.hasRemaining() ) _chan.write(frame);
+    _wire += frame.limit();
+    return len;
+  }
+
+  @Override public int read( ByteBuffer dst ) throws IOException {
+    if( !_pending.hasRemaining() && !readFrame() ) return -1;
+    final int n = Math.min(dst.remaining(), _pending.remaining());
+    ByteBuffer part = _pending.duplicate();
+    part.limit(part.position()+n);
+    dst.put(part);
+    _pending.position(part.position());
+    return n;
+  }
+
+  // Read and inflate the next frame; false on a clean end of stream
+  private boolean readFrame() throws IOException {
+    _hdr.clear();
+    if( !readFully(_hdr, true) ) return false;
+    final int len = _hdr.getInt(0), zlen = _hdr.getInt(4);
+    _raw = grow(_raw, len);
+    if( zlen == 0 ) {
+      readFully(ByteBuffer.wrap(_raw, 0, len), false);
+    } else {
+      _zip = grow(_zip, zlen);
+      readFully(ByteBuffer.wrap(_zip, 0, zlen), false);
+      _inf.reset();
+      _inf.setInput(_zip, 0, zlen);
+      try {
+        int off = 0;
+        while( off < len ) {
+          int n = _inf.inflate(_raw, off, len-off);
+          if( n == 0 && (_inf.finished() || _inf.needsInput()) ) break;
+          off += n;
+        }
+        if( off != len ) throw new IOException("Truncated compressed frame: " + off + " of " + len + " bytes");
+      } catch( DataFormatException dfe ) {
+        throw new IOException(dfe);
+      }
+    }
+    _pending = ByteBuffer.wrap(_raw, 0, len);
+    return true;
+  }
+
+  private boolean readFully( ByteBuffer bb, boolean eofOK ) throws IOException {
+    while( bb.hasRemaining() )
+      if( _chan.read(bb) < 0 ) {
+        if( eofOK && bb.position() == 0 ) return false;
+        throw new EOFException("Reading compressed frame from " + _chan);
+      }
+    return true;
+  }
+
+  @Override public boolean isOpen() { return _chan.isOpen(); }
+  @Override public void close() throws IOException {
+    _chan.close();
+    _def.end();
+    _inf.end();
+  }
+}
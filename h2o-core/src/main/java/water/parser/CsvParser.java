@@ -1,6 +1,7 @@
 package water.parser;
 
 import org.apache.commons.lang.math.NumberUtils;
+import water.H2O;
 import water.Key;
 import water.fvec.FileVec;
 import water.fvec.Vec;
@@ -19,7 +20,14 @@ class CsvParser extends Parser {
   private static final int GUESS_HEADER = ParseSetup.GUESS_HEADER;
   private static final int HAS_HEADER = ParseSetup.HAS_HEADER;
 
-  CsvParser( ParseSetup ps, Key jobKey ) { super(ps, jobKey); }
+  /** Parse plain lines with the word-at-a-time {@link FastLines} tokenizer,
+   *  leaving the rest to the state machine below */
+  static final boolean FAST_TOKENIZER = Boolean.parseBoolean(System.getProperty(H2O.OptArgs.SYSTEM_PROP_PREFIX + "parse.csv.fast", "true"));
+
+  private final boolean _fast;
+
+  CsvParser( ParseSetup ps, Key jobKey ) { this(ps, jobKey, FAST_TOKENIZER); }
+  CsvParser( ParseSetup ps, Key jobKey, boolean fast ) { super(ps, jobKey); _fast = fast; }
 
   // Parse this one Chunk (in parallel with other Chunks)
   @SuppressWarnings("fallthrough")
@@ -78,6 +86,7 @@ class CsvParser extends Parser {
     dout.newLine();
 
     final boolean forceable = dout instanceof FVecParseWriter && ((FVecParseWriter)dout)._ctypes != null && _setup._column_types != null;
+    final FastLines fast = _fast && FastLines.applies(_setup) ? new FastLines(_setup) : null;
 MAIN_LOOP:
     while (true) {
       boolean forcedCategorical = forceable && colIdx < _setup._column_types.length && _setup._column_types[colIdx] == Vec.T_CAT;
@@ -196,6 +205,14 @@ MAIN_LOOP:
               state = EXPECT_COND_LF;
             break;
           }
+          if (fast != null && firstChunk) {
+            int lf = fast.line(bits, offset, dout, forceable);
+            if (lf >= 0) {      // Whole line parsed; carry on from its LF
+              offset = lf;
+              c = CHAR_LF;
+              break;
+            }
+          }
           state = WHITESPACE_BEFORE_TOKEN;
           // fallthrough to WHITESPACE_BEFORE_TOKEN
         // ---------------------------------------------------------------------
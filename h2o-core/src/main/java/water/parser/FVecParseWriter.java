@@ -27,13 +27,21 @@ public class FVecParseWriter extends Iced implements StreamParseWriter {
   ParseErr [] _errs = new ParseErr[0];
   private final Vec.VectorGroup _vg;
   private long _errCnt;
+  // Columns parsed, or null for all; the others are projected out, dropped
+  // after the parse, and get no data here - an all-NA chunk once closed
+  protected transient final boolean[] _read;
 
   public FVecParseWriter(Vec.VectorGroup vg, int cidx, Categorical[] categoricals, byte[] ctypes, int chunkSize, AppendableVec[] avs){
+    this(vg, cidx, categoricals, ctypes, chunkSize, avs, null);
+  }
+
+  public FVecParseWriter(Vec.VectorGroup vg, int cidx, Categorical[] categoricals, byte[] ctypes, int chunkSize, AppendableVec[] avs, boolean[] read){
     _ctypes = ctypes;           // Required not-null
     _vecs = avs;
+    _read = read;
     _nvs = new NewChunk[avs.length];
     for(int i = 0; i < avs.length; ++i)
-      _nvs[i] = _vecs[i].chunkForChunkIdx(cidx);
+      if( isRead(i) ) _nvs[i] = _vecs[i].chunkForChunkIdx(cidx);
     _categoricals = categoricals;
     _nCols = avs.length;
     _cidx = cidx;
@@ -65,8 +73,16 @@ public class FVecParseWriter extends Iced implements StreamParseWriter {
     fs.blockForPending();
     return this;
   }
+  private boolean isRead(int colIdx) { return _read == null || colIdx >= _read.length || _read[colIdx]; }
+
   @Override public FVecParseWriter close(Futures fs){
     if( _nvs == null ) return this; // Might call close twice
+    if( _read != null ) {       // All-NA chunks for the columns not parsed
+      int rows = 0;
+      for( NewChunk nv : _nvs ) if( nv != null ) { rows = nv._len; break; }
+      for( int i = 0; i < _nvs.length; i++ )
+        if( _nvs[i] == null ) (_nvs[i] = _vecs[i].chunkForChunkIdx(_cidx)).addNAs(rows);
+    }
     for(int i=0; i < _nvs.length; i++) {
       _nvs[i].close(_cidx, fs);
       _nvs[i] = null; // free immediately, don't wait for all columns to close
@@ -75,7 +91,7 @@ public class FVecParseWriter extends Iced implements StreamParseWriter {
     return this;
   }
   @Override public FVecParseWriter nextChunk(){
-    return  new FVecParseWriter(_vg, _cidx+1, _categoricals, _ctypes, _chunkSize, _vecs);
+    return  new FVecParseWriter(_vg, _cidx+1, _categoricals, _ctypes, _chunkSize, _vecs, _read);
   }
 
   @Override public void newLine() {
@@ -87,25 +103,25 @@ public class FVecParseWriter extends Iced implements StreamParseWriter {
     _col = -1;
   }
   @Override public void addNumCol(int colIdx, long number, int exp) {
-    if( colIdx < _nCols ) {
+    if( colIdx < _nCols && isRead(colIdx) ) {
       _nvs[_col = colIdx].addNum(number, exp);
       if(_ctypes != null && _ctypes[colIdx] == Vec.T_BAD ) _ctypes[colIdx] = Vec.T_NUM;
     }
   }
 
   @Override public final void addInvalidCol(int colIdx) {
-    if(colIdx < _nCols) _nvs[_col = colIdx].addNA();
+    if(colIdx < _nCols && isRead(colIdx)) _nvs[_col = colIdx].addNA();
   }
 
   @Override
   public void addNAs(int colIdx, int nrows) {
-    (_nvs[colIdx] = _vecs[colIdx].chunkForChunkIdx(_cidx)).addNAs(nrows);
+    if( isRead(colIdx) ) (_nvs[colIdx] = _vecs[colIdx].chunkForChunkIdx(_cidx)).addNAs(nrows);
   }
 
   @Override public boolean isString(int colIdx) { return (colIdx < _nCols) && (_ctypes[colIdx] == Vec.T_CAT || _ctypes[colIdx] == Vec.T_STR);}
 
   @Override public void addStrCol(int colIdx, BufferedString str) {
-    if(colIdx < _nvs.length){
+    if(colIdx < _nvs.length && isRead(colIdx)){
       if(_ctypes[colIdx] == Vec.T_NUM){ // support enforced types
         addInvalidCol(colIdx);
         return;
@@ -177,7 +193,7 @@ public class FVecParseWriter extends Iced implements StreamParseWriter {
   }
 
   @Override public void setIsAllASCII(int colIdx, boolean b) {
-    if(colIdx < _nvs.length)
+    if(colIdx < _nvs.length && isRead(colIdx))
       _nvs[colIdx]._isAllASCII = b;
   }
 
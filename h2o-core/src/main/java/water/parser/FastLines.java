@@ -0,0 +1,208 @@
+package water.parser;
+
+import water.fvec.Vec;
+import water.util.UnsafeUtils;
+
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import static water.parser.DefaultParserProviders.CSV_INFO;
+
+/**
+ * Word-at-a-time tokenizer for the plain lines of a CSV file, used by {@link
+ * CsvParser} ahead of its byte-at-a-time state machine.
+ * <p>
+ * A line is first indexed 8 bytes at a time: SWAR compares find its
+ * separators and its end, and flag the bytes only the state machine handles
+ * (quotes, a CR before the end, NULs).  Then the fields between separators
+ * are parsed with tight loops and handed to the {@link ParseWriter} exactly as
+ * the state machine would.  Anything unusual - quoting, leading blanks,
+ * currency and percent signs, numbers followed by blanks, more digits than a
+ * long holds, a line running past the chunk - makes {@link #line} return -1
+ * before emitting anything, and the state machine parses that line instead.
+ */
+final class FastLines {
+  private static final boolean LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+  private static final long LOW7 = 0x7F7F7F7F7F7F7F7FL;
+  private static final long ONES = 0x0101010101010101L;
+  private static final long HIGH = 0x8080808080808080L;
+  private static final long LF = CsvParser.CHAR_LF*ONES, CR = CsvParser.CHAR_CR*ONES, DQ = CsvParser.CHAR_DOUBLE_QUOTE*ONES;
+  private static final int MAX_DIGITS = 18; // Below CsvParser.LARGEST_DIGIT_NUMBER
+  private static final int MAX_EXP_DIGITS = 6;
+
+  // Field kinds
+  private static final byte NA = 0, NUM = 1, STR = 2;
+
+  private final ParseSetup _setup;
+  private final byte _sep;
+  private final byte _squote;
+  private final long _seps, _squotes;
+  private final BufferedString _str = new BufferedString();
+  // One line's fields: separator offsets, then kind and number of each field
+  private int[] _at = new int[16];
+  private byte[] _kinds = new byte[16];
+  private long[] _nums = new long[16];
+  private int[] _exps = new int[16];
+
+  FastLines( ParseSetup setup ) {
+    _setup = setup;
+    _sep = setup._separator;
+    _seps = (_sep & 0xFF)*ONES;
+    _squote = setup._single_quotes ? CsvParser.CHAR_SINGLE_QUOTE : CsvParser.CHAR_DOUBLE_QUOTE;
+    _squotes = _squote*ONES;
+  }
+
+  /** Separators that cannot start or end a field themselves; a space
+   *  separator collapses runs of blanks, which the state machine does */
+  static boolean applies( ParseSetup setup ) {
+    if( !CSV_INFO.equals(setup._parse_type) ) return false;
+    byte sep = setup._separator;
+    return sep == ',' || sep == ';' || sep == '|' || sep == '\t' || sep == CsvParser.HIVE_SEP;
+  }
+
+  // Bit 7 set in each byte of w equal to the byte repeated in pat
+  private static long match( long w, long pat ) {
+    long x = w ^ pat;
+    return ~(((x & LOW7) + LOW7) | x | LOW7);
+  }
+
+  private static long word( byte[] bits, int off ) {
+    long w = UnsafeUtils.get8(bits, off);
+    return LITTLE_ENDIAN ? w : Long.reverseBytes(w);
+  }
+
+  /** Parse the line starting at off, not at an end of line.
+   *  @return offset of its LF, or -1 if nothing was emitted */
+  int line( byte[] bits, int off, ParseWriter dout, boolean forceable ) {
+    // Index the line: separators, its LF, and any byte needing the state machine
+    int n = 0, i = off, lf = -1, cr = -1;
+    boolean ascii = true;
+    for( ; i+8 <= bits.length; i += 8 ) {
+      long w = word(bits, i);
+      long eol = match(w, LF);
+      long below = eol == 0 ? -1L : (eol & -eol)-1; // Bytes before the first LF
+      if( ((match(w, DQ) | match(w, _squotes) | match(w, 0)) & below) != 0 ) return -1;
+      long crs = match(w, CR) & below;
+      if( crs != 0 && cr < 0 ) cr = i + (Long.numberOfTrailingZeros(crs)>>>3);
+      if( (w & HIGH & below) != 0 ) ascii = false;
+      for( long s = match(w, _seps) & below; s != 0; s &= s-1 ) {
+        if( n == _at.length ) grow();
+        _at[n++] = i + (Long.numberOfTrailingZeros(s)>>>3);
+      }
+      if( eol != 0 ) { lf = i + (Long.numberOfTrailingZeros(eol)>>>3); break; }
+    }
+    for( ; lf < 0 && i < bits.length; i++ ) { // Last few bytes of the chunk
+      byte b = bits[i];
+      if( b == CsvParser.CHAR_LF ) { lf = i; break; }
+      if( b == CsvParser.CHAR_DOUBLE_QUOTE || b == _squote || b == 0 ) return -1;
+      if( b == CsvParser.CHAR_CR && cr < 0 ) cr = i;
+      if( b < 0 ) ascii = false;
+      if( b == _sep ) {
+        if( n == _at.length ) grow();
+        _at[n++] = i;
+      }
+    }
+    if( lf < 0 ) return -1;     // Line continues in the next chunk
+    int end = lf;
+    if( cr >= 0 ) {             // Only a CR LF line end
+      if( cr != lf-1 ) return -1;
+      end = cr;
+    }
+    if( n == _at.length ) grow();
+    _at[n] = end;
+
+    // Parse every field before emitting any
+    int start = off;
+    for( int col = 0; col <= n; col++ ) {
+      int e = _at[col];
+      byte kind;
+      if( start == e ) kind = NA;
+      else {
+        byte c = bits[start];
+        if( c == CsvParser.CHAR_SPACE || c == CsvParser.CHAR_TAB || c == '$' ) return -1;
+        boolean asString = dout.isString(col) ||
+          forceable && col < _setup._column_types.length &&
+          (_setup._column_types[col] == Vec.T_CAT || _setup._column_types[col] == Vec.T_STR);
+        if( asString || !((c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.') ) kind = STR;
+        else if( (kind = number(bits, start, e, col)) < 0 ) return -1;
+      }
+      _kinds[col] = kind;
+      start = e+1;
+    }
+
+    // Emit
+    start = off;
+    for( int col = 0; col <= n; col++ ) {
+      int e = _at[col];
+      switch( _kinds[col] ) {
+      case NA:  dout.addInvalidCol(col); break;
+      case NUM: dout.addNumCol(col, _nums[col], _exps[col]); break;
+      default:
+        _str.set(bits, start, e-start);
+        if( _setup.isNA(col, _str) ) dout.addInvalidCol(col);
+        else {
+          dout.addStrCol(col, _str);
+          if( !ascii && !isAllASCII(bits, start, e) ) dout.setIsAllASCII(col, false);
+        }
+      }
+      start = e+1;
+    }
+    _str.set(null, 0, 0);
+    dout.newLine();
+    return lf;
+  }
+
+  // Parse [s,e) as the state machine's numbers: [+-]? D* ('.' D*)? ([eE] [+-]* D+)?
+  // with some mantissa digit.  NUM on success, with the number and exponent
+  // saved; STR for what the state machine reads as a string; -1 otherwise.
+  private byte number( byte[] bits, int s, int e, int col ) {
+    int i = s;
+    boolean neg = false;
+    byte c = bits[i];
+    if( c == '-' || c == '+' ) { neg = c == '-'; i++; }
+    long num = 0;
+    int digits = 0, frac = 0;
+    for( ; i < e && (c = bits[i]) >= '0' && c <= '9'; i++, digits++ ) num = num*10 + (c-'0');
+    if( i < e && bits[i] == '.' )
+      for( i++; i < e && (c = bits[i]) >= '0' && c <= '9'; i++, digits++, frac++ ) num = num*10 + (c-'0');
+    if( digits > MAX_DIGITS ) return -1;
+    int exp = 0;
+    if( i < e && (bits[i] == 'e' || bits[i] == 'E') ) {
+      boolean negExp = false;
+      for( i++; i < e && ((c = bits[i]) == '-' || c == '+'); i++ ) negExp ^= c == '-';
+      int expDigits = 0;
+      for( ; i < e && (c = bits[i]) >= '0' && c <= '9'; i++, expDigits++ ) exp = exp*10 + (c-'0');
+      if( expDigits == 0 ) return tail(bits, i, e);
+      if( expDigits > MAX_EXP_DIGITS ) return -1;
+      if( negExp ) exp = -exp;
+    }
+    if( i < e ) return tail(bits, i, e);
+    if( digits == 0 ) return -1; // e.g. a lone '-', which the state machine reads as 0
+    _nums[col] = neg ? -num : num;
+    _exps[col] = exp - frac;
+    return NUM;
+  }
+
+  // A number followed by junk is a string, unless a blank or a percent sign
+  // is in there: the state machine treats those specially
+  private static byte tail( byte[] bits, int i, int e ) {
+    for( ; i < e; i++ ) {
+      byte c = bits[i];
+      if( c == CsvParser.CHAR_SPACE || c == CsvParser.CHAR_TAB || c == '%' ) return -1;
+    }
+    return STR;
+  }
+
+  private static boolean isAllASCII( byte[] bits, int s, int e ) {
+    for( int i = s; i < e; i++ ) if( bits[i] < 0 ) return false;
+    return true;
+  }
+
+  private void grow() {
+    int len = _at.length << 1;
+    _at = Arrays.copyOf(_at, len);
+    _kinds = Arrays.copyOf(_kinds, len);
+    _nums = Arrays.copyOf(_nums, len);
+    _exps = Arrays.copyOf(_exps, len);
+  }
+}
@@ -238,6 +238,15 @@ public final class ParseDataset {
       setup._column_names = null; // // FIXME: annoyingly front end sends column names as String[] {""} even if setup returned null
     if(setup._na_strings != null && setup._na_strings.length != setup._number_columns) setup._na_strings = null;
     if( fkeys.length == 0) { job.stop();  return pds;  }
+    final int[] skipped = setup.skippedColumns(); // Fail early on unknown columns
+    if( setup.hasPredicates() )
+      for( ParsePredicate p : setup._predicates ) {
+        byte type = setup._column_types == null ? Vec.T_NUM : setup._column_types[setup.checkColumn(p._column)];
+        if( type == Vec.T_BAD )
+          throw new H2OIllegalArgumentException("Row predicate " + p + " tests an all-NA column, which no row would match");
+        if( type != Vec.T_NUM && type != Vec.T_TIME )
+          throw new H2OIllegalArgumentException("Row predicate " + p + " needs a numeric column, not " + Vec.TYPE_STR[type]);
+      }
 
     job.update(0, "Ingesting files.");
     VectorGroup vg = getByteVec(fkeys[0]).group();
@@ -356,6 +365,18 @@ public final class ParseDataset {
         Log.warn(warns[i++] = err.toString());
       job.setWarnings(warns);
     }
+    // Projected out columns: those not read are all NA and go before the
+    // filter, those only tested after it
+    boolean[] read = setup.columnsToRead();
+    dropColumns(fr, setup._column_names, skipped, read, false);
+    if( setup.hasPredicates() ) {
+      job.update(0,"Filtering rows.");
+      filterRows(fr, setup);
+    }
+    dropColumns(fr, setup._column_names, skipped, read, true);
+    // Check for job cancellation
+    if ( job.stop_requested() ) return pds;
+
     job.update(0,"Calculating data summary.");
     logParseResults(fr);
     // Release the frame for overwriting
@@ -523,6 +544,59 @@ public final class ParseDataset {
     }
   }
 
+  // --------------------------------------------------------------------------
+  // Remove the skipped columns which were read, or not
+  private static void dropColumns( Frame fr, String[] names, int[] skipped, boolean[] read, boolean wasRead ) {
+    Futures fs = new Futures();
+    for( int c : skipped )
+      if( read[c] == wasRead ) fr.remove(names[c]).remove(fs);
+    fs.blockForPending();
+  }
+
+  // Keep only the rows matching all the row predicates of the setup; the
+  // Frame's Vecs are replaced by filtered ones
+  private static void filterRows( Frame fr, ParseSetup setup ) {
+    int[] cols = new int[setup._predicates.length];
+    for( int i = 0; i < cols.length; i++ ) cols[i] = fr.find(setup._predicates[i]._column);
+    String[] names = fr.names();
+    Frame out = new RowFilterTask(setup._predicates, cols).doAll(fr.types(), fr).outputFrame(names, fr.domains());
+    Futures fs = new Futures();
+    for( Vec v : fr.removeAll() ) v.remove(fs);
+    fs.blockForPending();
+    fr.add(names, out.vecs());
+  }
+
+  private static class RowFilterTask extends MRTask<RowFilterTask> {
+    private final ParsePredicate[] _preds;
+    private final int[] _cols;
+    private RowFilterTask( ParsePredicate[] preds, int[] cols ) { _preds = preds; _cols = cols; }
+    @Override public void map( Chunk[] cs, NewChunk[] ncs ) {
+      // Whole Chunks in or out from their zone maps, when known exactly
+      boolean all = true;
+      for( int i = 0; i < _preds.length; i++ ) {
+        ZoneMap z = ZoneMap.of(cs[_cols[i]]);
+        if( z == null || !z._exactNAs ) { all = false; continue; }
+        if( z.allNA() || !_preds[i].mayMatch(z._min, z._max) ) { ZoneMap.skipped(); return; }
+        all &= !z.hasNAs() && _preds[i].allMatch(z._min, z._max);
+      }
+      if( all ) {               // Kept whole: not skipped, just not tested row by row
+        for( int c = 0; c < cs.length; c++ ) cs[c].extractRows(ncs[c], 0, cs[c]._len);
+        return;
+      }
+      int[] rows = new int[cs[0]._len];
+      int n = 0;
+      outer:
+      for( int r = 0; r < rows.length; r++ ) {
+        for( int i = 0; i < _preds.length; i++ )
+          if( !_preds[i].test(cs[_cols[i]].atd(r)) ) continue outer;
+        rows[n++] = r;
+      }
+      if( n == 0 ) return;
+      rows = Arrays.copyOf(rows, n);
+      for( int c = 0; c < cs.length; c++ ) cs[c].extractRows(ncs[c], rows);
+    }
+  }
+
   // --------------------------------------------------------------------------
   // Run once on all nodes; fill in missing zero chunks
   private static class SVFTask extends MRTask<SVFTask> {
@@ -702,7 +776,7 @@ public final class ParseDataset {
         avs[i] = new AppendableVec(_vg.vecKey(i + _vecIdStart), espc, ctypes==null ? /*SVMLight*/Vec.T_NUM : ctypes[i], chunkOff);
       return localSetup._parse_type.equals(SVMLight_INFO)
         ? new SVMLightFVecParseWriter(_vg, _vecIdStart,chunkOff, _parseSetup._chunk_size, avs)
-        : new FVecParseWriter(_vg, chunkOff, categoricals(_cKey, localSetup._number_columns), localSetup._column_types, _parseSetup._chunk_size, avs);
+        : new FVecParseWriter(_vg, chunkOff, categoricals(_cKey, localSetup._number_columns), localSetup._column_types, _parseSetup._chunk_size, avs, localSetup.columnsToRead());
     }
 
     // Called once per file
@@ -764,9 +838,12 @@ public final class ParseDataset {
         case GZIP: {
           localSetup = ParserService.INSTANCE.getByInfo(localSetup._parse_type).setupLocal(vec,localSetup);
           InputStream bvs = vec.openStream(_jobKey);
-          // Zipped file; no parallel decompression;
-          _dout[_lo] = streamParse(decryptionTool.decryptInputStream(new GZIPInputStream(bvs)),
-                  localSetup, makeDout(localSetup,chunkStartIdx,vec.nChunks()),bvs);
+          InputStream is = decryptionTool.decryptInputStream(new GZIPInputStream(bvs));
+          FVecParseWriter dout = makeDout(localSetup,chunkStartIdx,vec.nChunks());
+          // No parallel decompression; but inflated blocks can parse in parallel
+          _dout[_lo] = PipelinedStreamParse.applies(localSetup)
+                  ? ((FVecParseWriter) PipelinedStreamParse.parse(localSetup.parser(_jobKey), is, dout, bvs)).close(_fs)
+                  : streamParse(is, localSetup, dout, bvs);
           _errors = _dout[_lo].removeErrors();
           // set this node as the one which processed all the chunks
           chunksAreLocal(vec,chunkStartIdx,key);
@@ -878,7 +955,7 @@ public final class ParseDataset {
         case "PARQUET":
           Categorical [] categoricals = categoricals(_cKey, _setup._number_columns);
           dout = new FVecParseWriter(_vg,_startChunkIdx + in.cidx(), categoricals, _setup._column_types,
-                  _setup._chunk_size, avs); //TODO: use _setup._domains instead of categoricals
+                  _setup._chunk_size, avs, _setup.columnsToRead()); //TODO: use _setup._domains instead of categoricals
           break;
         case "SVMLight":
           dout = new SVMLightFVecParseWriter(_vg, _vecIdStart, in.cidx() + _startChunkIdx, _setup._chunk_size, avs);
@@ -886,7 +963,7 @@ public final class ParseDataset {
         case "ORC":  // setup special case for ORC
           Categorical [] orc_categoricals = categoricals(_cKey, _setup._number_columns);
           dout = new FVecParseWriter(_vg, in.cidx() + _startChunkIdx, orc_categoricals, _setup._column_types,
-                  _setup._chunk_size, avs);
+                  _setup._chunk_size, avs, _setup.columnsToRead());
           break;
         default: // FIXME: should not be default and creation strategy should be forwarded to ParserProvider
           dout = new FVecParseWriter(_vg, in.cidx() + _startChunkIdx, null, _setup._column_types,
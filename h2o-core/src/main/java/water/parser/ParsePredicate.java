@@ -0,0 +1,88 @@
+package water.parser;
+
+import water.Iced;
+import water.exceptions.H2OIllegalArgumentException;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A row predicate of a parse: a numeric column compared to a constant, e.g.
+ * {@code "age >= 30"}.  Rows whose value is NA never match.
+ * <p>
+ * ParseDataset filters parsed rows by the predicates exactly.  Columnar
+ * parsers also use them to skip whole row groups or stripes whose min/max
+ * statistics show no row can match.
+ */
+public class ParsePredicate extends Iced<ParsePredicate> {
+  public enum Op {
+    LT("<"), LE("<="), GT(">"), GE(">="), EQ("=="), NE("!=");
+    final String _sym;
+    Op( String sym ) { _sym = sym; }
+  }
+
+  private static final Pattern PATTERN = Pattern.compile("^\\s*(.+?)\\s*(<=|>=|==|!=|<|>|=)\\s*(\\S+)\\s*$");
+
+  public final String _column;
+  public final Op _op;
+  public final double _value;
+
+  public ParsePredicate( String column, Op op, double value ) { _column = column; _op = op; _value = value; }
+
+  /** Parse e.g. {@code "x < 5"}; {@code =} is the same as {@code ==} */
+  public static ParsePredicate parse( String s ) {
+    Matcher m = PATTERN.matcher(s);
+    if( !m.matches() )
+      throw new H2OIllegalArgumentException("Invalid row predicate '" + s + "', expected: column op number, with op one of < <= > >= == !=");
+    String sym = m.group(2).equals("=") ? "==" : m.group(2);
+    Op op = null;
+    for( Op o : Op.values() ) if( o._sym.equals(sym) ) op = o;
+    try {
+      return new ParsePredicate(m.group(1), op, Double.parseDouble(m.group(3)));
+    } catch( NumberFormatException nfe ) {
+      throw new H2OIllegalArgumentException("Invalid row predicate '" + s + "', " + m.group(3) + " is not a number");
+    }
+  }
+
+  public static ParsePredicate[] parse( String[] ss ) {
+    if( ss == null ) return null;
+    ParsePredicate[] ps = new ParsePredicate[ss.length];
+    for( int i = 0; i < ss.length; i++ ) ps[i] = parse(ss[i]);
+    return ps;
+  }
+
+  /** Does value d match; false for NA */
+  public boolean test( double d ) {
+    switch( _op ) {
+    case LT: return d <  _value;
+    case LE: return d <= _value;
+    case GT: return d >  _value;
+    case GE: return d >= _value;
+    case EQ: return d == _value;
+    case NE: return d != _value && !Double.isNaN(d);
+    default: throw new IllegalStateException();
+    }
+  }
+
+  /** Can any value in [min,max] match */
+  public boolean mayMatch( double min, double max ) {
+    if( Double.isNaN(min) || Double.isNaN(max) ) return true; // Unknown
+    switch( _op ) {
+    case LT: return min <  _value;
+    case LE: return min <= _value;
+    case GT: return max >  _value;
+    case GE: return max >= _value;
+    case EQ: return min <= _value && _value <= max;
+    case NE: return !(min == _value && max == _value);
+    default: throw new IllegalStateException();
+    }
+  }
+
+  /** Do all values in [min,max] match */
+  public boolean allMatch( double min, double max ) {
+    return !Double.isNaN(min) && !Double.isNaN(max) && test(min) && test(max) &&
+      (_op != Op.NE || !(min < _value && _value < max));
+  }
+
+  @Override public String toString() { return _column + " " + _op._sym + " " + _value; }
+}
@@ -38,6 +38,8 @@ public class ParseSetup extends Iced {
   String[][] _domains;        // Domains for each column (null if numeric)
   String[][] _na_strings;       // Strings for NA in a given column
   String[][] _data;           // First few rows of parsed/tokenized data
+  String[] _projection;       // Names of the columns to keep, or null for all
+  ParsePredicate[] _predicates; // Rows to keep: all predicates must hold
 
   String [] _fileNames = new String[]{"unknown"};
   public  boolean disableParallelParse;
@@ -60,6 +62,8 @@ public class ParseSetup extends Iced {
          ps._separator, ps._single_quotes, ps._check_header, ps._number_columns,
          ps._column_names, ps._column_types, ps._domains, ps._na_strings, ps._data,
          new ParseWriter.ParseErr[0], ps._chunk_size, ps._decrypt_tool);
+    _projection = ps._projection;
+    _predicates = ps._predicates;
   }
 
 
@@ -213,6 +217,8 @@ public class ParseSetup extends Iced {
       ParseSetup ps = pp.createParserSetup(inputKeys, demandedSetup);
       if (demandedSetup._decrypt_tool != null)
         ps._decrypt_tool = demandedSetup._decrypt_tool;
+      ps._projection = demandedSetup._projection;
+      ps._predicates = demandedSetup._predicates;
       return ps;
     }
 
@@ -761,4 +767,55 @@ public class ParseSetup extends Iced {
     return this;
   }
 
+  public ParseSetup setProjection(String[] projection) {
+    this._projection = projection;
+    return this;
+  }
+
+  public ParseSetup setPredicates(ParsePredicate[] predicates) {
+    this._predicates = predicates;
+    return this;
+  }
+
+  public String[] getProjection() { return _projection; }
+  public ParsePredicate[] getPredicates() { return _predicates; }
+  public boolean hasPredicates() { return _predicates != null && _predicates.length > 0; }
+
+  /** Index of the named column, or -1 */
+  public int columnIndex(String name) {
+    String[] names = ParseDataset.getColumnNames(_number_columns, _column_names);
+    for (int i = 0; i < names.length; i++)
+      if (names[i].equals(name)) return i;
+    return -1;
+  }
+
+  /** Columns a parser has to read: those in the projection and those the
+   *  predicates test; null for all */
+  public boolean[] columnsToRead() {
+    if (_projection == null) return null;
+    boolean[] read = new boolean[_number_columns];
+    for (String name : _projection) read[checkColumn(name)] = true;
+    if (_predicates != null)
+      for (ParsePredicate p : _predicates) read[checkColumn(p._column)] = true;
+    return read;
+  }
+
+  /** Columns dropped after the parse, as left out of the projection */
+  int[] skippedColumns() {
+    if (_projection == null) return new int[0];
+    boolean[] keep = new boolean[_number_columns];
+    for (String name : _projection) keep[checkColumn(name)] = true;
+    int n = 0;
+    int[] skipped = new int[_number_columns];
+    for (int i = 0; i < keep.length; i++)
+      if (!keep[i]) skipped[n++] = i;
+    return Arrays.copyOf(skipped, n);
+  }
+
+  int checkColumn(String name) {
+    int i = columnIndex(name);
+    if (i < 0) throw new H2OIllegalArgumentException("Column " + name + " not found in " + Arrays.toString(_column_names));
+    return i;
+  }
+
 } // ParseSetup state class
@@ -0,0 +1,164 @@
+package water.parser;
+
+import water.H2O;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+import static water.parser.DefaultParserProviders.CSV_INFO;
+
+/**
+ * Parallel parse of one decompressing stream, e.g. a gzip'd CSV file.
+ * <p>
+ * The calling thread only inflates: it reads the stream into blocks, one per
+ * chunk of the underlying compressed ByteVec, each cut just past its last line
+ * end outside a quoted token, with the rest carried over into the next block.
+ * A quoted token spanning lines thus stays in one block, as if the file was
+ * parsed whole.  Each block is
+ * tokenized into its own output chunk by an F/J task, while the following
+ * blocks are inflated.  As in {@link Parser#streamParseZip}, output chunks
+ * match input chunks, so a file never makes more chunks than it has.  At most
+ * {@link #MAX_BLOCKS} blocks are in flight; their writers are reduced in
+ * chunk order.
+ */
+final class PipelinedStreamParse {
+  static final boolean ENABLED = Boolean.parseBoolean(System.getProperty(H2O.OptArgs.SYSTEM_PROP_PREFIX + "parse.pipelined", "true"));
+  static final int MAX_BLOCKS = Integer.getInteger(H2O.OptArgs.SYSTEM_PROP_PREFIX + "parse.pipelined.blocks", H2O.NUMCPUS);
+  private static final int READ_SIZE = 64*1024;
+
+  private PipelinedStreamParse() {}
+
+  /** Only for CSV: its records end at line ends outside quotes, which
+   *  {@link LineEnds} can find without parsing */
+  static boolean applies( ParseSetup setup ) {
+    return ENABLED && CSV_INFO.equals(setup._parse_type);
+  }
+
+  static StreamParseWriter parse( Parser p, InputStream is, StreamParseWriter dout, InputStream bvs ) throws IOException {
+    ArrayDeque<Block> inflight = new ArrayDeque<>();
+    StreamParseWriter w = null;
+    byte[] buf = new byte[4*READ_SIZE];
+    int len = 0, cidx = 0;
+    int zidx = bvs.read(null, 0, 0); // Back-channel read of chunk index
+    boolean cut = false, stopped = false;
+    LineEnds ends = new LineEnds(p._setup);
+    int n;
+    while( (n = is.read(buf, len, Math.min(READ_SIZE, buf.length - len))) >= 0 ) {
+      len += n;
+      if( len == buf.length ) buf = Arrays.copyOf(buf, buf.length << 1);
+      int xidx = bvs.read(null, 0, 0);
+      if( xidx > zidx ) { zidx = xidx; cut = true; } // Match output chunks to input chunks
+      int end;
+      if( (end = ends.blockEnd(buf, len)) == 0 || !cut ) continue;
+      w = w == null ? dout : w.nextChunk();
+      submit(inflight, new Block(p, cidx++, Arrays.copyOf(buf, end), w), dout);
+      System.arraycopy(buf, end, buf, 0, len -= end);
+      ends.cut(end);
+      cut = false;
+      if( p._jobKey != null && p._jobKey.get().stop_requested() ) { stopped = true; break; }
+    }
+    if( len > 0 && !stopped ) {
+      w = w == null ? dout : w.nextChunk();
+      submit(inflight, new Block(p, cidx, Arrays.copyOf(buf, len), w), dout);
+    }
+    while( !inflight.isEmpty() ) finish(inflight.removeFirst(), dout);
+    bvs.close();
+    is.close();
+    return dout;
+  }
+
+  /** Finds the line ends outside quoted tokens, scanning each byte once as the
+   *  buffer grows.  Follows the CSV parser: a quote opens a token only at its
+   *  start, and a doubled quote inside one is an escaped quote. */
+  static final class LineEnds {
+    private static final int OUT = 0, IN = 1, MAYBE_OUT = 2;
+    private final byte _sep;
+    private final boolean _quoting, _single;
+    private int _state = OUT;
+    private byte _quote;          // Quote char of the open token
+    private boolean _tokenStart = true, _prevCR;
+    private int _scanned;         // Bytes of the buffer scanned
+    private int _last;            // Just past the last line end, 0 if none
+    LineEnds( ParseSetup ps ) {
+      _sep = ps._separator;
+      _quoting = _sep != CsvParser.HIVE_SEP; // Only allow quoting in CSV not Hive files
+      _single = ps._single_quotes;
+    }
+
+    /** Offset just past the last line end outside quotes in buf[0,len), or 0
+     *  if none yet.  A CR as the last byte read may be the first half of a
+     *  CR LF, so it does not count. */
+    int blockEnd( byte[] buf, int len ) {
+      for( ; _scanned < len; _scanned++ ) {
+        byte c = buf[_scanned];
+        if( _prevCR ) { _prevCR = false; if( c != Parser.CHAR_LF ) _last = _scanned; }
+        switch( _state ) {
+          case IN:
+            if( c == _quote ) _state = MAYBE_OUT;
+            continue;
+          case MAYBE_OUT:
+            if( c == _quote ) { _state = IN; continue; } // Escaped quote
+            _state = OUT;
+            // fallthrough: c follows the closing quote
+          default:
+            if( _tokenStart && _quoting && (c == Parser.CHAR_DOUBLE_QUOTE || _single && c == Parser.CHAR_SINGLE_QUOTE) ) {
+              _quote = c;
+              _state = IN;
+              _tokenStart = false;
+              continue;
+            }
+            if( c == Parser.CHAR_LF ) _last = _scanned+1;
+            else if( c == Parser.CHAR_CR ) _prevCR = true;
+            _tokenStart = c == _sep || c == Parser.CHAR_LF || c == Parser.CHAR_CR;
+        }
+      }
+      return _last;
+    }
+
+    /** The first end bytes were cut off the buffer */
+    void cut( int end ) {
+      assert end == _last;
+      _scanned -= end;
+      _last = 0;
+    }
+  }
+
+  private static void submit( ArrayDeque<Block> inflight, Block b, StreamParseWriter dout ) {
+    H2O.submitTask(b);
+    inflight.addLast(b);
+    if( inflight.size() >= MAX_BLOCKS ) finish(inflight.removeFirst(), dout);
+  }
+
+  private static void finish( Block b, StreamParseWriter dout ) {
+    b.join();
+    if( b._w != dout ) dout.reduce(b._w);
+  }
+
+  // Tokenize one block into one output chunk
+  private static class Block extends H2O.H2OCountedCompleter<Block> {
+    final Parser _p;
+    final int _cidx;
+    final byte[] _bits;
+    final StreamParseWriter _w;
+    Block( Parser p, int cidx, byte[] bits, StreamParseWriter w ) { _p = p; _cidx = cidx; _bits = bits; _w = w; }
+    @Override public void compute2() {
+      _p.parseChunk(_cidx, new BlockData(_cidx, _bits), _w);
+      _w.close();
+      tryComplete();
+    }
+  }
+
+  // A block starts on a line; only the file's first block has a header or
+  // comments to skip
+  static final class BlockData implements ParseReader {
+    private final int _cidx;
+    private final byte[] _bits;
+    BlockData( int cidx, byte[] bits ) { _cidx = cidx; _bits = bits; }
+    @Override public byte[] getChunkData( int cidx ) { return cidx == _cidx ? _bits : null; }
+    @Override public int getChunkDataStart( int cidx ) { return cidx == 0 ? -1 : 0; }
+    @Override public void setChunkDataStart( int cidx, int offset ) { }
+    @Override public long getGlobalByteOffset() { return 0; }
+  }
+}
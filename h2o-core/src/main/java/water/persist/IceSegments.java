@@ -0,0 +1,212 @@
+package water.persist;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import water.AutoBuffer;
+import water.Key;
+import water.Value;
+import water.nbhm.NonBlockingHashMap;
+import water.util.Log;
+
+/**
+ * Segmented swap space for {@link PersistFS}: instead of one ICE file per
+ * Value, swapped Values are appended into large segment files.  Full segments
+ * are sealed and memory-mapped read-only, so reloading a Value is a copy out
+ * of the page cache with no open/read/close syscalls.  Segments whose contents
+ * are mostly dead (deleted or overwritten Values) are compacted by copying the
+ * live remainder into the current segment and deleting the file.
+ * <p>
+ * All appends come from the Cleaner thread, so writing is simply serialized.
+ * Reads can race with compaction: a reader may still hold the location of a
+ * Value in a segment being compacted, so a segment stays readable through its
+ * mapping even after its file is closed and deleted.
+ * <p>
+ * Enabled with {@code -Dsys.ai.h2o.persist.ice.segments=true}; the segment
+ * size is set by {@code sys.ai.h2o.persist.ice.segment.size} (in bytes).
+ */
+final class IceSegments {
+  static final long DEFAULT_SEGMENT_SIZE = 256L<<20;
+  // Compact sealed segments once this fraction of their bytes is dead
+  static final double COMPACT_DEAD_FRACTION = 0.5;
+
+  private final File _dir;
+  private final long _segSize;
+  private final NonBlockingHashMap<Key,Loc> _locs = new NonBlockingHashMap<>();
+  private int _nextId;
+  private Segment _cur;                   // Segment being appended to; guarded by this
+  private final ArrayList<Segment> _sealed = new ArrayList<>(); // Guarded by this
+  private volatile boolean _needsCompact; // Some sealed segment crossed the dead threshold
+
+  // Stats
+  final AtomicLong _compactedSegs = new AtomicLong();
+  final AtomicLong _compactedBytes = new AtomicLong();
+
+  IceSegments( File dir, long segSize ) {
+    _dir = dir;
+    _segSize = segSize;
+  }
+
+  /** Location of a stored Value */
+  private static final class Loc {
+    final Segment _seg;
+    final long _off;
+    final int _len;
+    Loc( Segment seg, long off, int len ) { _seg = seg; _off = off; _len = len; }
+  }
+
+  /** A single swap file.  Appended to until full, then sealed and mapped. */
+  private static final class Segment {
+    final File _file;
+    final FileChannel _ch;
+    final long _cap;
+    long _end;                          // Append position; guarded by IceSegments.this
+    volatile MappedByteBuffer _map;     // Set when sealed, if it fits a mapping
+    final AtomicLong _dead = new AtomicLong();
+
+    Segment( File f, long cap ) throws IOException {
+      _file = f;
+      _cap = cap;
+      _ch = new RandomAccessFile(f,"rw").getChannel();
+    }
+
+    boolean sealed() { return _map != null; }
+
+    void seal() throws IOException {
+      if( _end <= Integer.MAX_VALUE ) // Larger segments stay on positional reads
+        _map = _ch.map(FileChannel.MapMode.READ_ONLY, 0, _end);
+    }
+
+    void write( byte[] m, long off ) throws IOException {
+      ByteBuffer bb = ByteBuffer.wrap(m);
+      while( bb.hasRemaining() )
+        _ch.write(bb, off+bb.position());
+    }
+
+    byte[] read( long off, int len ) throws IOException {
+      byte[] res = new byte[len];
+      MappedByteBuffer map = _map;
+      if( map != null ) {       // Sealed: copy out of the mapping
+        ByteBuffer bb = map.duplicate();
+        bb.position((int)off);
+        bb.get(res);
+      } else {                  // Still being appended: positional read
+        ByteBuffer bb = ByteBuffer.wrap(res);
+        while( bb.hasRemaining() )
+          if( _ch.read(bb, off+bb.position()) < 0 )
+            throw new IOException("Unexpected EOF in ICE segment "+_file);
+      }
+      return res;
+    }
+
+    void close() {
+      try { _ch.close(); } catch( IOException ignore ) { }
+      if( !_file.delete() ) Log.warn("Failed to delete ICE segment " + _file);
+    }
+  }
+
+  /** Append the Value's bytes to the current segment. */
+  void store( Value v ) throws IOException {
+    if( _needsCompact ) compact();
+    byte[] m = v.memOrLoad();
+    if( m.length != v._max ) {
+      Log.warn("Value size mismatch? " + v._key + " byte[].len=" + m.length+" v._max="+v._max);
+      v._max = m.length; // Implies update of underlying POJO, then re-serializing it without K/V storing it
+    }
+    kill(_locs.put(v._key, append(m)));
+  }
+
+  /** Read back a stored Value, or null if it is gone (racing delete). */
+  byte[] load( Value v ) throws IOException {
+    Loc l = _locs.get(v._key);
+    if( l == null || l._len < v._max ) {
+      assert !v.isPersisted() : "Missing ICE segment entry for " + v._key;
+      return null;
+    }
+    return l._seg.read(l._off, l._len);
+  }
+
+  /** Put a stored Value's bytes into ab as {@link AutoBuffer#putA1(byte[])}
+   *  would, straight from the mapping or the segment file; false if it is
+   *  gone (racing delete). */
+  boolean putA1( Value v, AutoBuffer ab ) throws IOException {
+    Loc l = _locs.get(v._key);
+    if( l == null || l._len < v._max ) return false;
+    MappedByteBuffer map = l._seg._map;
+    if( map != null ) {
+      ByteBuffer bb = map.duplicate();
+      bb.position((int)l._off).limit((int)l._off + l._len);
+      ab.putBulkA1(bb);
+    } else ab.putBulkA1(l._seg._ch, l._off, l._len);
+    return true;
+  }
+
+  void delete( Value v ) { kill(_locs.remove(v._key)); }
+
+  private synchronized Loc append( byte[] m ) throws IOException {
+    Segment s = _cur;
+    if( s == null || s._end + m.length > s._cap ) {
+      if( s != null ) {
+        s.seal();
+        _sealed.add(s);
+        if( s._dead.get() >= s._end*COMPACT_DEAD_FRACTION ) _needsCompact = true;
+      }
+      if( !_dir.mkdirs() && !_dir.exists() )
+        throw new IOException("mkdirs failed making "+_dir);
+      s = _cur = new Segment(new File(_dir, "seg_" + (_nextId++) + ".ice"), Math.max(_segSize, m.length));
+    }
+    long off = s._end;
+    s.write(m, off);
+    s._end += m.length;
+    return new Loc(s, off, m.length);
+  }
+
+  // Account for a Loc no longer reachable from the map
+  private void kill( Loc l ) {
+    if( l == null ) return;
+    Segment s = l._seg;
+    long dead = s._dead.addAndGet(l._len);
+    if( s.sealed() && dead >= s._end*COMPACT_DEAD_FRACTION )
+      _needsCompact = true;     // Let the (single) writer do the work
+  }
+
+  /** Move the live Values out of mostly-dead sealed segments, and delete
+   *  those segments.  Called on the writer (Cleaner) thread. */
+  synchronized void compact() throws IOException {
+    _needsCompact = false;
+    IdentityHashMap<Segment,Boolean> victims = new IdentityHashMap<>();
+    for( Segment s : _sealed )
+      if( s.sealed() && s._dead.get() >= s._end*COMPACT_DEAD_FRACTION )
+        victims.put(s, Boolean.TRUE);
+    if( victims.isEmpty() ) return;
+    _sealed.removeAll(victims.keySet());
+    for( Map.Entry<Key,Loc> e : _locs.entrySet() ) {
+      Loc l = e.getValue();
+      if( !victims.containsKey(l._seg) ) continue;
+      Loc nl = append(l._seg.read(l._off, l._len));
+      if( _locs.replace(e.getKey(), l, nl) ) _compactedBytes.addAndGet(l._len);
+      else kill(nl);            // Raced with a delete or a newer store
+    }
+    // Readers holding an old Loc keep reading through the mapping, which
+    // outlives the closed and deleted file.
+    for( Segment s : victims.keySet() ) {
+      s.close();
+      _compactedSegs.incrementAndGet();
+    }
+  }
+
+  /** Total bytes in all segments, live or dead */
+  synchronized long segmentBytes() {
+    long sum = _cur == null ? 0 : _cur._end;
+    for( Segment s : _sealed ) sum += s._end;
+    return sum;
+  }
+}
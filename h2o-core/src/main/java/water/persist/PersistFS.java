@@ -2,6 +2,7 @@ package water.persist;
 
 import java.io.*;
 import java.net.URI;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 
 import water.*;
@@ -9,16 +10,26 @@ import water.api.FSIOException;
 import water.fvec.NFSFileVec;
 import water.util.Log;
 
+import static water.H2O.OptArgs.SYSTEM_PROP_PREFIX;
+
 /**
  * Persistence backend using local file system.
  */
 public final class PersistFS extends Persist {
+  /** Swap Values into large memory-mapped segment files, instead of one file per Value */
+  final static String PROP_ICE_SEGMENTS = SYSTEM_PROP_PREFIX + "persist.ice.segments";
+  final static String PROP_ICE_SEGMENT_SIZE = SYSTEM_PROP_PREFIX + "persist.ice.segment.size";
+
   final File _root;
   final File _dir;
+  final IceSegments _segments; // Null unless segmented swapping is on
 
   PersistFS(File root) {
     _root = root;
     _dir = new File(root, "ice" + H2O.API_PORT);
+    _segments = Boolean.getBoolean(PROP_ICE_SEGMENTS)
+      ? new IceSegments(new File(_dir, "segments"), Long.getLong(PROP_ICE_SEGMENT_SIZE, IceSegments.DEFAULT_SEGMENT_SIZE))
+      : null;
     //deleteRecursive(_dir);
     // Make the directory as-needed
     root.mkdirs();
@@ -47,6 +58,7 @@ public final class PersistFS extends Persist {
   }
 
   @Override public byte[] load(Value v) throws IOException {
+    if( _segments != null ) return _segments.load(v);
     File f = getFile(v);
     if( f.length() < v._max ) { // Should be fully on disk...
       // or it's a racey delete of a spilled value
@@ -61,9 +73,25 @@ public final class PersistFS extends Persist {
       }
   }
 
+  /** Put a swapped Value's bytes into ab as {@link AutoBuffer#putA1(byte[])}
+   *  would, straight from disk without loading them into the heap.
+   *  @return false if the Value is not on disk */
+  public boolean putA1( Value v, AutoBuffer ab ) throws IOException {
+    if( _segments != null ) return _segments.putA1(v, ab);
+    try (FileInputStream s = new FileInputStream(getFile(v))) {
+      FileChannel fc = s.getChannel();
+      if( fc.size() < v._max ) return false; // Racey delete of a spilled value
+      ab.putBulkA1(fc, 0, v._max);
+      return true;
+    } catch( FileNotFoundException fnfe ) {
+      return false;
+    }
+  }
+
   // Store Value v to disk.
   @Override public void store(Value v) throws IOException {
     assert !v.isPersisted();
+    if( _segments != null ) { _segments.store(v); return; }
     File dirs = new File(_dir, getIceDirectory(v._key));
     if( !dirs.mkdirs() && !dirs.exists() )
       throw new java.io.IOException("mkdirs failed making "+dirs);
@@ -80,6 +108,7 @@ public final class PersistFS extends Persist {
   }
 
   @Override public void delete(Value v) {
+    if( _segments != null ) { _segments.delete(v); return; }
     getFile(v).delete();        // Silently ignore errors
     // Attempt to delete empty containing directory
     new File(_dir, getIceDirectory(v._key)).delete();
@@ -8,6 +8,7 @@ import water.fvec.Chunk;
 import water.fvec.Frame;
 import water.fvec.NewChunk;
 import water.fvec.Vec;
+import water.fvec.ZoneMap;
 import water.parser.BufferedString;
 import water.rapids.*;
 import water.rapids.ast.AstPrimitive;
@@ -161,6 +162,65 @@ abstract public class AstBinOp extends AstPrimitive {
    */
   public abstract double op(double l, double r);
 
+  /**
+   * True if the op implements {@link #rangeOp} and {@link #rangeOpR}
+   */
+  public boolean supportsRangeOp() {
+    return false;
+  }
+
+  /**
+   * Override for ops whose result is the same for every l in [lo,hi], e.g.
+   * comparisons: return that result, or NaN if it may differ.  Lets whole
+   * Chunks be answered from their {@link ZoneMap} without a scan.  Ops
+   * overriding it also override {@link #supportsRangeOp}.
+   */
+  public double rangeOp(double lo, double hi, double r) {
+    return Double.NaN;
+  }
+
+  /**
+   * Same as {@link #rangeOp}, for every r in [lo,hi]
+   */
+  public double rangeOpR(double l, double lo, double hi) {
+    return Double.NaN;
+  }
+
+  // For ops monotone in each argument the ends of the range decide
+  final double monotoneOp(double lo, double hi, double r) {
+    double x = op(lo, r);
+    return x == op(hi, r) ? x : Double.NaN;
+  }
+
+  final double monotoneOpR(double l, double lo, double hi) {
+    double x = op(l, lo);
+    return x == op(l, hi) ? x : Double.NaN;
+  }
+
+  /**
+   * The op of every row of the Chunk with d, if the Chunk's zone map decides
+   * it; else NaN and the Chunk has to be scanned.
+   */
+  protected double zoneOp(Chunk chk, double d, boolean scalarLeft) {
+    if (!supportsRangeOp()) return Double.NaN;
+    ZoneMap z = ZoneMap.of(chk);
+    if (z == null) return Double.NaN;
+    double na = scalarLeft ? op(d, Double.NaN) : op(Double.NaN, d);
+    double res;
+    if (z.allNA()) res = na;
+    else {
+      res = scalarLeft ? rangeOpR(d, z._min, z._max) : rangeOp(z._min, z._max, d);
+      if (z.hasNAs() && res != na) return Double.NaN;
+    }
+    if (!Double.isNaN(res)) ZoneMap.skipped();
+    return res;
+  }
+
+  static void addCon(NewChunk nc, double d, int len) {
+    if (d == 0) nc.addZeros(len);
+    else for (int i = 0; i < len; i++) nc.addNum(d);
+  }
+
   public double str_op(BufferedString l, BufferedString r) {
     throw H2O.unimpl("Binary operation '" + str() + "' is not supported on String columns.");
   }
@@ -175,6 +235,11 @@ abstract public class AstBinOp extends AstPrimitive {
         for (int c = 0; c < chks.length; c++) {
           Chunk chk = chks[c];
           NewChunk cres = cress[c];
+          double z = zoneOp(chk, d, true);
+          if (!Double.isNaN(z)) {
+            addCon(cres, z, chk._len);
+            continue;
+          }
           for (int i = 0; i < chk._len; i++)
             cres.addNum(op(d, chk.atd(i)));
         }
@@ -193,6 +258,11 @@ abstract public class AstBinOp extends AstPrimitive {
         for (int c = 0; c < chks.length; c++) {
           Chunk chk = chks[c];
           NewChunk cres = cress[c];
+          double z = zoneOp(chk, d, false);
+          if (!Double.isNaN(z)) {
+            addCon(cres, z, chk._len);
+            continue;
+          }
           for (int i = 0; i < chk._len; i++)
             cres.addNum(op(chk.atd(i), d));
         }
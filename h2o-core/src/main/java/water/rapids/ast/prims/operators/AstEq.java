@@ -22,6 +22,24 @@ public class AstEq extends AstBinOp {
     return MathUtils.equalsWithinOneSmallUlp(l, r) ? 1 : 0;
   }
 
+  @Override
+  public boolean supportsRangeOp() {
+    return true;
+  }
+
+  @Override
+  public double rangeOp(double lo, double hi, double r) {
+    // Equal within an ulp of a bound is still equal
+    if (r < lo && !MathUtils.equalsWithinOneSmallUlp(lo, r) || r > hi && !MathUtils.equalsWithinOneSmallUlp(hi, r))
+      return 0;
+    return lo == hi && lo == r ? 1 : Double.NaN;
+  }
+
+  @Override
+  public double rangeOpR(double l, double lo, double hi) {
+    return rangeOp(lo, hi, l);
+  }
+
   @Override
   public ValFrame frame_op_scalar(Frame fr, final double d) {
     return new ValFrame(new MRTask() {
@@ -31,10 +49,12 @@ public class AstEq extends AstBinOp {
           Chunk chk = chks[c];
           NewChunk cres = cress[c];
           BufferedString bStr = new BufferedString();
+          double z;
           if (chk.vec().isString())
             for (int i = 0; i < chk._len; i++)
               cres.addNum(str_op(chk.atStr(bStr, i), Double.isNaN(d) ? null : new BufferedString(String.valueOf(d))));
           else if (!chk.vec().isNumeric()) cres.addZeros(chk._len);
+          else if (!Double.isNaN(z = zoneOp(chk, d, false))) addCon(cres, z, chk._len);
           else
             for (int i = 0; i < chk._len; i++)
               cres.addNum(op(chk.atd(i), d));
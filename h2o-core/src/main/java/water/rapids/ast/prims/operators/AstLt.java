@@ -10,4 +10,19 @@ public class AstLt extends AstBinOp {
   public double op(double l, double r) {
     return l < r ? 1 : 0;
   }
+
+  @Override
+  public boolean supportsRangeOp() {
+    return true;
+  }
+
+  @Override
+  public double rangeOp(double lo, double hi, double r) {
+    return monotoneOp(lo, hi, r);
+  }
+
+  @Override
+  public double rangeOpR(double l, double lo, double hi) {
+    return monotoneOpR(l, lo, hi);
+  }
 }
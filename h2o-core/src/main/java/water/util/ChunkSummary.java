@@ -30,9 +30,11 @@ public class ChunkSummary extends MRTask<ChunkSummary> {
       {"C4S","4-Byte Fractions"},
       {"C4F","4-byte Reals"},
       {"C8","8-byte Integers"},
+      {"CDelta","Delta Bit-packed Integers"},
       {"C16","UUIDs"},
       {"CStr","Strings"},
       {"CUD","Unique Reals"},
+      {"CRL","Run-length Encoded"},
       {"C8D","64-bit Reals"},
   };
 
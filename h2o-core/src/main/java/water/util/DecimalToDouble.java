@@ -0,0 +1,113 @@
+package water.util;
+
+import java.math.BigInteger;
+
+/**
+ * Exact conversion of a parsed decimal, {@code m * 10^e}, to the nearest
+ * double, without allocating.
+ * <p>
+ * Small cases take Clinger's fast path: a mantissa below 2^53 and a power of
+ * ten up to 10^22 are both exact doubles, so one multiply or divide rounds
+ * correctly.  Other cases take the Eisel-Lemire algorithm (Lemire, "Number
+ * Parsing at a Gigabyte per Second", 2021): the mantissa times a 128-bit
+ * truncated power of five gives the result's top bits and, almost always,
+ * proof that they round correctly.  The few inputs it cannot decide, and
+ * subnormal results, go to {@link Double#parseDouble}.
+ */
+public final class DecimalToDouble {
+  private DecimalToDouble() {}
+
+  private static final int MIN_Q = -342, MAX_Q = 308;
+  private static final double[] EXACT_POWERS = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+    1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  // 5^q for q in [MIN_Q, MAX_Q], normalized to 128 bits with the top bit
+  // set; hi and lo 64-bit halves interleaved.  Negative powers are rounded
+  // up reciprocals, as in the paper.
+  private static final long[] POW5 = new long[2*(MAX_Q - MIN_Q + 1)];
+  static {
+    BigInteger two128 = BigInteger.ONE.shiftLeft(128);
+    BigInteger mask64 = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+    for( int q = MIN_Q; q <= MAX_Q; q++ ) {
+      BigInteger c;
+      if( q >= 0 ) {
+        c = BigInteger.valueOf(5).pow(q);
+        int shift = 128 - c.bitLength();
+        c = shift >= 0 ? c.shiftLeft(shift) : c.shiftRight(-shift);
+      } else {
+        BigInteger p5 = BigInteger.valueOf(5).pow(-q);
+        int z = p5.bitLength(); // Smallest z with 2^z >= 5^-q, as 5^-q is no power of two
+        int b = q >= -27 ? z + 127 : 2*z + 128;
+        c = BigInteger.ONE.shiftLeft(b).divide(p5).add(BigInteger.ONE);
+        while( c.compareTo(two128) >= 0 ) c = c.shiftRight(1);
+      }
+      int i = 2*(q - MIN_Q);
+      POW5[i  ] = c.shiftRight(64).longValue();
+      POW5[i+1] = c.and(mask64).longValue();
+    }
+  }
+
+  /** The double nearest to m * 10^e */
+  public static double toDouble( long m, int e ) {
+    if( m == 0 ) return 0;
+    boolean neg = m < 0;
+    long w = neg ? -m : m;      // Long.MIN_VALUE stays 2^63 unsigned
+    if( w > 0 && w < (1L << 53) && e >= -22 && e <= 22 ) {
+      double d = w;
+      d = e < 0 ? d / EXACT_POWERS[-e] : d * EXACT_POWERS[e];
+      return neg ? -d : d;
+    }
+    long bits = eiselLemire(w, e);
+    if( bits < 0 ) return Double.parseDouble(m + "E" + e); // Rare
+    double d = Double.longBitsToDouble(bits);
+    return neg ? -d : d;
+  }
+
+  // IEEE bits of the double nearest to w * 10^q for unsigned w != 0, or -1 if
+  // it cannot be decided cheaply
+  static long eiselLemire( long w, int q ) {
+    if( q < MIN_Q ) return 0;
+    if( q > MAX_Q ) return 0x7FFL << 52; // Infinity
+    int lz = Long.numberOfLeadingZeros(w);
+    w <<= lz;
+    int i = 2*(q - MIN_Q);
+    long hi = multiplyHigh(w, POW5[i]);
+    long lo = w * POW5[i];
+    if( (hi & 0x1FF) == 0x1FF ) { // Not enough bits yet; take the lower half in
+      long hi2 = multiplyHigh(w, POW5[i+1]);
+      lo += hi2;
+      if( lessUnsigned(lo, hi2) ) hi++;
+    }
+    if( lo == -1L && (q < -27 || q > 55) ) return -1;
+    int upper = (int)(hi >>> 63);
+    long mantissa = hi >>> (upper + 9);
+    int power2 = (((152170 + 65536) * q) >> 16) + 63 + upper - lz + 1023;
+    if( power2 <= 0 ) return -1; // Subnormal
+    // Usually round up; but exactly halfway between two doubles, round to even
+    if( (lo == 0 || lo == 1) && q >= -4 && q <= 23 && (mantissa & 3) == 1 &&
+        (mantissa << (upper + 9)) == hi )
+      mantissa &= ~1L;
+    mantissa += mantissa & 1;
+    mantissa >>>= 1;
+    if( mantissa >= (2L << 52) ) {
+      mantissa = 1L << 52;
+      power2++;
+    }
+    mantissa &= ~(1L << 52);
+    if( power2 >= 0x7FF ) return 0x7FFL << 52; // Infinity
+    return ((long)power2 << 52) | mantissa;
+  }
+
+  private static boolean lessUnsigned( long a, long b ) { return (a ^ Long.MIN_VALUE) < (b ^ Long.MIN_VALUE); }
+
+  // High 64 bits of the unsigned 128-bit product
+  static long multiplyHigh( long x, long y ) {
+    long x0 = x & 0xFFFFFFFFL, x1 = x >>> 32;
+    long y0 = y & 0xFFFFFFFFL, y1 = y >>> 32;
+    long p00 = x0*y0, p01 = x0*y1, p10 = x1*y0, p11 = x1*y1;
+    long mid = (p00 >>> 32) + (p01 & 0xFFFFFFFFL) + (p10 & 0xFFFFFFFFL);
+    return p11 + (p01 >>> 32) + (p10 >>> 32) + (mid >>> 32);
+  }
+}
@@ -0,0 +1,100 @@
+package water.util;
+
+import water.H2O;
+import water.Iced;
+import water.MRTask;
+import water.Tracing;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+/** Collects the {@link Tracing} spans of all nodes, optionally turning tracing
+ *  on or off everywhere first; writes them out in the Chrome trace-event
+ *  format, loadable by chrome://tracing, Perfetto or speedscope. */
+public class TraceCollectorTask extends MRTask<TraceCollectorTask> {
+  // helper class to store per-node spans
+  public static class NodeTrace extends Iced {
+    public String node_name;
+    public boolean enabled;
+    public Tracing.Span[] spans;
+  }
+
+  /** @param enable 1 to turn tracing on, 0 to turn it off, -1 to leave it
+   *  @param clear drop the collected spans on each node */
+  public TraceCollectorTask(int enable, boolean clear) { super(H2O.GUI_PRIORITY); _enable = enable; _clear = clear; }
+
+  // input
+  public final int _enable;
+  public final boolean _clear;
+
+  // output
+  public NodeTrace[] _result;
+
+  @Override public void reduce(TraceCollectorTask that) {
+    for (int i=0; i<_result.length; ++i)
+      if (_result[i] == null)
+        _result[i] = that._result[i];
+  }
+
+  /**
+   * This runs on each node in the cluster.
+   */
+  @Override public void setupLocal() {
+    if (_enable >= 0) Tracing.setEnabled(_enable == 1);
+    _result = new NodeTrace[H2O.CLOUD.size()];
+    NodeTrace nt = _result[H2O.SELF.index()] = new NodeTrace();
+    nt.node_name = H2O.getIpPortString();
+    nt.enabled = Tracing.isEnabled();
+    nt.spans = Tracing.snapshot(_clear);
+  }
+
+  public long spanCount() {
+    long n = 0;
+    for (NodeTrace nt : _result) if (nt != null) n += nt.spans.length;
+    return n;
+  }
+
+  /** Write all spans as a Chrome trace: one process per node, one track per
+   *  thread. */
+  public void writeChromeTrace(OutputStream os) throws IOException {
+    Writer w = new OutputStreamWriter(os, StandardCharsets.UTF_8);
+    w.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+    boolean first = true;
+    for (int pid = 0; pid < _result.length; pid++) {
+      NodeTrace nt = _result[pid];
+      if (nt == null) continue;
+      first = event(w, first, "{\"ph\":\"M\",\"name\":\"process_name\",\"pid\":" + pid + ",\"args\":{\"name\":" + quote(nt.node_name) + "}}");
+      Set<Long> tids = new HashSet<>();
+      for (Tracing.Span s : nt.spans) {
+        if (tids.add(s._tid))
+          first = event(w, first, "{\"ph\":\"M\",\"name\":\"thread_name\",\"pid\":" + pid + ",\"tid\":" + s._tid + ",\"args\":{\"name\":" + quote(s._thread) + "}}");
+        first = event(w, first, "{\"ph\":\"X\",\"cat\":" + quote(s._cat) + ",\"name\":" + quote(s._name) +
+                ",\"ts\":" + s._ts + ",\"dur\":" + s._dur + ",\"pid\":" + pid + ",\"tid\":" + s._tid + "}");
+      }
+    }
+    w.write("]}");
+    w.flush();
+  }
+
+  private static boolean event(Writer w, boolean first, String json) throws IOException {
+    if (!first) w.write(",\n");
+    w.write(json);
+    return false;
+  }
+
+  private static String quote(String s) {
+    StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      if (c == '"' || c == '\\') sb.append('\\').append(c);
+      else if (c < ' ') sb.append(String.format("\\u%04x", (int) c));
+      else sb.append(c);
+    }
+    return sb.append('"').toString();
+  }
+}
@@ -108,8 +108,11 @@ public class VecUtils {
   public static Vec numericToCategorical(Vec src) {
     if (src.isInt()) {
       int min = (int) src.min(), max = (int) src.max();
-      // try to do the fast domain collection
-      long dom[] = (min >= 0 && max < Integer.MAX_VALUE - 4) ? new CollectDomainFast(max).doAll(src).domain() : new CollectIntegerDomain().doAll(src).domain();
+      // try to do the fast domain collection; the domain is a set, the same
+      // wherever a chunk is mapped, so idle nodes may steal chunks
+      long dom[] = (min >= 0 && max < Integer.MAX_VALUE - 4)
+          ? new CollectDomainFast(max).withWorkStealing().doAll(src).domain()
+          : new CollectIntegerDomain().withWorkStealing().doAll(src).domain();
       if (dom.length > Categorical.MAX_CATEGORICAL_COUNT)
         throw new H2OIllegalArgumentException("Column domain is too large to be represented as an categorical: " + dom.length + " > " + Categorical.MAX_CATEGORICAL_COUNT);
       return copyOver(src, Vec.T_CAT, dom);
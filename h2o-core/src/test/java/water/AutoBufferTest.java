@@ -5,7 +5,13 @@ import org.junit.Assume;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
 
 import static org.junit.Assert.*;
 
@@ -57,6 +63,46 @@ public class AutoBufferTest extends TestUtil {
     ab.close();
   }
 
+  @Test
+  public void testBulkA1() throws Exception {
+    byte[] big = new byte[3 * AutoBuffer.BULK_MIN + 17];
+    new Random(42).nextBytes(big);
+    ByteBuffer direct = ByteBuffer.allocateDirect(big.length);
+    direct.put(big).flip();
+    File src = File.createTempFile("bulk-src", ".bin");
+    File dst = File.createTempFile("bulk-dst", ".bin");
+    try {
+      try (FileOutputStream os = new FileOutputStream(src)) { os.write(big); }
+      long bulk = AutoBuffer.bulkBytes();
+      try (FileOutputStream os = new FileOutputStream(dst);
+           FileInputStream is = new FileInputStream(src)) {
+        AutoBuffer ab = new AutoBuffer(os.getChannel(), false, Value.ICE);
+        ab.put4(12345);
+        ab.putBulkA1(direct);                                // Straight from the direct buffer
+        ab.putBulkA1(is.getChannel(), 0, big.length);        // Straight from the file
+        ab.putBulkA1(ByteBuffer.wrap(big, 0, 100));          // Small: copied as usual
+        ab.putBulkA1(is.getChannel(), 1, 100);
+        ab.put4(54321);
+        ab.close();
+      }
+      assertEquals(2L * big.length, AutoBuffer.bulkBytes() - bulk);
+      assertEquals(big.length, direct.remaining());          // Source untouched
+      try (FileInputStream is = new FileInputStream(dst)) {
+        AutoBuffer ab = new AutoBuffer(is.getChannel(), true, Value.ICE);
+        assertEquals(12345, ab.get4());
+        assertArrayEquals(big, ab.getA1());
+        assertArrayEquals(big, ab.getA1());
+        assertArrayEquals(Arrays.copyOfRange(big, 0, 100), ab.getA1());
+        assertArrayEquals(Arrays.copyOfRange(big, 1, 101), ab.getA1());
+        assertEquals(54321, ab.get4());
+        ab.close();
+      }
+    } finally {
+      src.delete();
+      dst.delete();
+    }
+  }
+
   static class XYZZY implements Serializable {
     int i = 1;
     String s = "hi";
@@ -0,0 +1,87 @@
+package water;
+
+import jsr166y.ForkJoinPool;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.*;
+
+public class BlockingTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  private static class Waiter extends H2O.H2OCountedCompleter<Waiter> {
+    final transient CountDownLatch _latch;
+    final boolean _mayPark;
+    Waiter( CountDownLatch latch ) { this(latch, true); }
+    Waiter( CountDownLatch latch, boolean mayPark ) { _latch = latch; _mayPark = mayPark; }
+    @Override public void compute2() {
+      Blocking.block(new ForkJoinPool.ManagedBlocker() {
+        @Override public boolean isReleasable() { return _latch.getCount() == 0; }
+        @Override public boolean block() throws InterruptedException { _latch.await(); return true; }
+      }, _mayPark);
+      tryComplete();
+    }
+  }
+
+  @Test public void testBoundedModeParksExtraWaiters() throws Exception {
+    boolean bounded = Blocking._bounded;
+    int max = Blocking._maxCompensated;
+    Blocking._bounded = true;
+    Blocking._maxCompensated = 1;
+    CountDownLatch latch = new CountDownLatch(1);
+    try {
+      long direct = Blocking.direct(), compensated = Blocking.compensated();
+      Waiter[] ws = new Waiter[8];
+      for( int i = 0; i < ws.length; i++ ) ws[i] = H2O.submitTask(new Waiter(latch));
+      // One wait compensates; the next worker to wait on the same pool parks
+      long deadline = System.currentTimeMillis() + 10000;
+      while( Blocking.direct() == direct && System.currentTimeMillis() < deadline )
+        Thread.sleep(10);
+      assertTrue(Blocking.compensated() > compensated);
+      assertTrue(Blocking.direct() > direct);
+      latch.countDown();
+      for( Waiter w : ws ) w.join();
+    } finally {
+      latch.countDown();
+      Blocking._bounded = bounded;
+      Blocking._maxCompensated = max;
+    }
+  }
+
+  @Test public void testSamePriorityWaitsAlwaysCompensate() throws Exception {
+    boolean bounded = Blocking._bounded;
+    int max = Blocking._maxCompensated;
+    Blocking._bounded = true;
+    Blocking._maxCompensated = 1;
+    CountDownLatch latch = new CountDownLatch(1);
+    try {
+      long direct = Blocking.direct(), compensated = Blocking.compensated();
+      Waiter[] ws = new Waiter[8];
+      for( int i = 0; i < ws.length; i++ ) ws[i] = H2O.submitTask(new Waiter(latch, false));
+      long deadline = System.currentTimeMillis() + 10000;
+      while( Blocking.compensated() - compensated < ws.length && System.currentTimeMillis() < deadline )
+        Thread.sleep(10);
+      assertTrue(Blocking.compensated() - compensated >= ws.length);
+      assertEquals(direct, Blocking.direct());
+      latch.countDown();
+      for( Waiter w : ws ) w.join();
+    } finally {
+      latch.countDown();
+      Blocking._bounded = bounded;
+      Blocking._maxCompensated = max;
+    }
+  }
+
+  @Test public void testNoWaitWhenReleasable() {
+    long direct = Blocking.direct(), compensated = Blocking.compensated();
+    Blocking.block(new ForkJoinPool.ManagedBlocker() {
+      @Override public boolean isReleasable() { return true; }
+      @Override public boolean block() { fail(); return true; }
+    });
+    assertEquals(direct, Blocking.direct());
+    assertEquals(compensated, Blocking.compensated());
+    assertTrue(Blocking.peakThreads() >= Blocking.threads());
+  }
+}
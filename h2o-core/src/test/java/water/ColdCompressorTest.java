@@ -0,0 +1,58 @@
+package water;
+
+import org.junit.*;
+import water.fvec.Chunk;
+import water.fvec.NewChunk;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ColdCompressorTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  // Smooth doubles: C8DChunk bytes that only compress once shuffled into planes
+  private static Chunk doubles( int n ) {
+    NewChunk nc = new NewChunk(null, 0);
+    Random r = new Random(42);
+    double d = 1000;
+    for( int i = 0; i < n; i++ ) nc.addNum(d += 1e-3*r.nextGaussian());
+    return nc.compress();
+  }
+
+  @Test public void testShuffleRoundTrip() {
+    byte[] b = new byte[1003]; // Ragged tail
+    new Random(1).nextBytes(b);
+    for( int w : new int[]{2,4,8} )
+      assertArrayEquals(b, ColdCompressor.unshuffle(ColdCompressor.shuffle(b, w), w));
+  }
+
+  @Test public void testCompressDoubles() {
+    Chunk c = doubles(10000);
+    byte[] mem = c.getBytes();
+    byte[] z = ColdCompressor.compress(mem, ColdCompressor.elemWidth(c));
+    assertNotNull(z);
+    assertTrue(z.length < mem.length*ColdCompressor.MAX_RATIO);
+    assertArrayEquals(mem, ColdCompressor.decompress(z));
+  }
+
+  @Test public void testIncompressibleRefused() {
+    byte[] b = new byte[1<<14];
+    new Random(7).nextBytes(b);
+    assertNull(ColdCompressor.compress(b, 1));
+  }
+
+  @Test public void testValueInflatesTransparently() {
+    Chunk c = doubles(10000);
+    Value val = new Value(Key.make(), c);
+    byte[] mem = val.memOrLoad().clone();
+    assertTrue(val.compressMem(ColdCompressor.elemWidth(c)) > 0);
+    assertTrue(val.isCompressed());
+    assertNull(val.rawMem());
+    assertNull(val.rawPOJO());
+    assertArrayEquals(mem, val.memOrLoad());
+    Chunk c2 = val.get();
+    for( int i = 0; i < c._len; i++ )
+      assertEquals(c.atd(i), c2.atd(i), 0);
+  }
+}
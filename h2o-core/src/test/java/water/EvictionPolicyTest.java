@@ -0,0 +1,69 @@
+package water;
+
+import org.junit.*;
+import water.fvec.Vec;
+
+import static org.junit.Assert.*;
+
+public class EvictionPolicyTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  @Test public void testLRU2PrefersReusedValues() {
+    Value scanned = new Value(Key.make(), new byte[16]);
+    Value reused  = new Value(Key.make(), new byte[16]);
+    long now = System.currentTimeMillis();
+    scanned._lastAccessedTime = now;        // Touched once, just now
+    reused._prevAccessedTime = now-10000;   // Touched twice, a while ago
+    reused._lastAccessedTime = now-5000;
+    assertTrue(EvictionPolicy.LRU.evictionTime(reused) < EvictionPolicy.LRU.evictionTime(scanned));
+    assertTrue(EvictionPolicy.LRU2.evictionTime(scanned) < EvictionPolicy.LRU2.evictionTime(reused));
+  }
+
+  @Test public void testCostPrefersCheapReloads() {
+    Value cheap  = new Value(Key.make(), new byte[16]);
+    Value costly = new Value(Key.make(), new byte[16]);
+    cheap.setDsk();             // Already on disk; dropping it costs a read only
+    cheap ._lastAccessedTime = 1000;
+    costly._lastAccessedTime = 1000;
+    assertTrue(EvictionPolicy.COST.evictionTime(cheap) < EvictionPolicy.COST.evictionTime(costly));
+  }
+
+  @Test public void testByName() {
+    assertSame(EvictionPolicy.LRU2, EvictionPolicy.forName("LRU2"));
+    assertNull(EvictionPolicy.forName("mru"));
+  }
+
+  @Test public void testPinCoversChunks() {
+    Vec v = Vec.makeCon(0,1000);
+    try {
+      Key ckey = v.chunkKey(0);
+      assertFalse(EvictionPolicy.isPinned(ckey));
+      EvictionPolicy.pin(v._key);
+      EvictionPolicy.pin(v._key);   // Reference counted
+      assertTrue(EvictionPolicy.isPinned(v._key));
+      assertTrue(EvictionPolicy.isPinned(ckey));
+      EvictionPolicy.unpin(v._key);
+      assertTrue(EvictionPolicy.isPinned(ckey));
+      EvictionPolicy.unpin(v._key);
+      assertFalse(EvictionPolicy.isPinned(ckey));
+      assertEquals(0, EvictionPolicy.pinnedCount());
+    } finally {
+      v.remove();
+    }
+  }
+
+  @Test public void testMissCounted() {
+    long oldMax = H2O.ARGS.off_heap_mem;
+    H2O.ARGS.off_heap_mem = 1<<20;
+    try {
+      Value val = new Value(Key.make(), new byte[1024]);
+      assertTrue(val.storeOffHeap());
+      val.freeMem();
+      long misses = EvictionPolicy.current().misses();
+      val.memOrLoad();
+      assertEquals(misses+1, EvictionPolicy.current().misses());
+    } finally {
+      H2O.ARGS.off_heap_mem = oldMax;
+    }
+  }
+}
@@ -94,6 +94,73 @@ public class MRTaskTest extends TestUtil {
 
     zeros.remove();
   }
+  @Test public void testWorkStealing() {
+    Assume.assumeTrue("needs a multi-node cloud", H2O.CLOUD.size() > 1);
+    Vec v = Vec.makeCon(1, 1 << 16, 10, false); // 64 chunks
+    try {
+      // This node maps slowly; the others run out of chunks and steal its
+      long given = WorkStealing.givenChunks();
+      CountTask t = new CountTask(H2O.SELF).withWorkStealing(2).doAll(v);
+      assertEquals(v.nChunks(), t._chunks);
+      assertEquals(v.length(), t._sum, 0);
+      assertTrue("no chunks were stolen", t._remote > 0);
+      assertTrue(WorkStealing.givenChunks() > given);
+      // Never below the threshold
+      t = new CountTask(H2O.SELF).withWorkStealing(Integer.MAX_VALUE).doAll(v);
+      assertEquals(v.nChunks(), t._chunks);
+      assertEquals(0, t._remote);
+    } finally {
+      v.remove();
+    }
+  }
+  @Test public void testNumericToCategoricalSteals() {
+    Vec v = Vec.makeSeq(1 << 16, false);
+    Vec c = null;
+    try {
+      c = water.util.VecUtils.numericToCategorical(v);
+      assertEquals(1 << 16, c.domain().length);
+      assertEquals("1", c.domain()[0]);
+      assertEquals(String.valueOf(1 << 16), c.domain()[c.domain().length - 1]);
+    } finally {
+      v.remove();
+      if (c != null) c.remove();
+    }
+  }
+  @Test public void testBoundedPartials() {
+    Vec v = Vec.makeCon(1, 1 << 16, 8, false); // 256 chunks
+    try {
+      for (int max : new int[]{1, 3}) {
+        CountTask t = new CountTask(null).withBoundedPartials(max).doAll(v);
+        assertEquals(v.nChunks(), t._chunks);
+        assertEquals(v.length(), t._sum, 0);
+        t = new CountTask(null).withBoundedPartials(max).withWorkStealing().doAll(v);
+        assertEquals(v.nChunks(), t._chunks);
+        assertEquals(v.length(), t._sum, 0);
+      }
+    } finally {
+      v.remove();
+    }
+  }
+  private static class CountTask extends MRTask<CountTask> {
+    final H2ONode _slow;
+    long _chunks, _remote;
+    double _sum;
+    CountTask(H2ONode slow) { _slow = slow; }
+    @Override public void map(Chunk c) {
+      // One slow node leaves work for the others to steal
+      if (H2O.SELF == _slow)
+        try { Thread.sleep(20); } catch (InterruptedException ignore) { }
+      _chunks++;
+      if (!c.vec().chunkKey(c.cidx()).home()) _remote++;
+      for (int i = 0; i < c._len; i++) _sum += c.atd(i);
+    }
+    @Override public void reduce(CountTask t) {
+      _chunks += t._chunks;
+      _remote += t._remote;
+      _sum += t._sum;
+    }
+  }
+
   private static MRTask manyMaps(Vec vec) {
     return new MRTask() { 
       @Override public void map(Chunk cs[]) { }
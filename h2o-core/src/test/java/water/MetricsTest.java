@@ -0,0 +1,38 @@
+package water;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.StringWriter;
+
+import static org.junit.Assert.*;
+
+public class MetricsTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  @Test public void testPrometheusText() throws Exception {
+    Key k = Key.make("metrics_test");
+    try {
+      DKV.put(k, new Value(k, new byte[]{1, 2, 3}));
+      long hits = DKV.LOCAL_HITS.get();
+      assertNotNull(DKV.get(k));
+      assertTrue(DKV.LOCAL_HITS.get() >= hits + 1); // Other threads count too
+
+      StringWriter w = new StringWriter();
+      Metrics.local().write(w);
+      String text = w.toString();
+      assertTrue(text.contains("# TYPE h2o_dkv_local_hits_total counter\n"));
+      assertTrue(text.contains("# TYPE h2o_rpc_latency_seconds histogram\n"));
+      assertTrue(text.contains("h2o_rpc_latency_seconds_bucket{le=\"+Inf\"} "));
+      assertTrue(text.contains("h2o_fj_queued_tasks{priority=\""));
+      for (String line : text.split("\n"))
+        assertTrue(line, line.startsWith("# ") || line.matches("h2o_\\w+(\\{.*\\})? -?[0-9.E-]+"));
+
+      w = new StringWriter();
+      Metrics.cloud().write(w);
+      assertTrue(w.toString().contains("h2o_dkv_local_hits_total{node=\"" + H2O.SELF.getIpPortString() + "\"} "));
+    } finally {
+      DKV.remove(k);
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package water;
+
+import org.junit.*;
+import water.fvec.Vec;
+
+import static org.junit.Assert.*;
+
+public class OffHeapStoreTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  private long _oldMax;
+  @Before public void enableTier() { _oldMax = H2O.ARGS.off_heap_mem; H2O.ARGS.off_heap_mem = 1<<20; }
+  @After  public void restoreTier() { H2O.ARGS.off_heap_mem = _oldMax; }
+
+  @Test public void testRoundTrip() {
+    Vec vcon = Vec.makeCon(0,1000);
+    Vec v = vcon.makeRand(0xCAFEL);
+    vcon.remove();
+    try {
+      double d = v.at(0);
+      Value val = v.chunkIdx(0);
+      byte[] mem = val.memOrLoad().clone();
+      assertTrue(val.storeOffHeap());
+      assertTrue(val.isOffHeap());
+      val.freePOJO();
+      val.freeMem();
+      assertNull(val.rawMem());
+      assertArrayEquals(mem, val.memOrLoad()); // Reloaded from off-heap, not disk
+      assertFalse(val.isPersisted());
+      assertEquals(d, v.at(0), 0);
+    } finally {
+      v.remove();
+    }
+  }
+
+  @Test public void testFullTierRefuses() {
+    H2O.ARGS.off_heap_mem = 16;
+    Value val = new Value(Key.make(), new byte[1024]);
+    assertFalse(val.storeOffHeap());
+    assertFalse(val.isOffHeap());
+  }
+
+  @Test public void testRemoveDropsOffHeapCopy() {
+    Value val = new Value(Key.make(), new byte[1024]);
+    assertTrue(val.storeOffHeap());
+    val.removePersist();
+    assertFalse(val.isOffHeap());
+    assertFalse(val.storeOffHeap()); // Deleted Values are not re-stored
+  }
+}
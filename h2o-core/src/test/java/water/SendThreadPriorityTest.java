@@ -0,0 +1,47 @@
+package water;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+public class SendThreadPriorityTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  private static ByteBuffer msg( int id ) { return ByteBuffer.wrap(new byte[]{(byte)id}); }
+
+  @Test public void testHighPriorityFirstWithoutStarvingLow() {
+    // Never started: messages are only queued and taken here
+    H2ONode.UDP_TCP_SendThread st = H2O.SELF.new UDP_TCP_SendThread();
+    int nlo = 40, nhi = 40;     // Ids fit a byte: lows 0-39, highs 64-103
+    for( int i = 0; i < nlo; i++ ) st.sendMessage(msg(i), (byte)1);
+    for( int i = 0; i < nhi; i++ ) st.sendMessage(msg(64 + i), H2O.ACK_PRIORITY);
+
+    int lo = 0, hi = 0, run = 0;
+    for( int i = 0; i < nlo + nhi; i++ ) {
+      int id = st.nextMessage().get(0);
+      if( id >= 64 ) {
+        assertEquals(64 + hi++, id); // FIFO within a level
+        if( lo < nlo ) assertTrue("Low priority starved", ++run <= H2ONode.STARVE_LIMIT);
+      } else {
+        assertEquals(lo++, id);
+        if( hi < nhi || run > 0 ) // Only after STARVE_LIMIT high ones while both waited
+          assertEquals("Low priority overtook high", H2ONode.STARVE_LIMIT, run);
+        run = 0;
+      }
+    }
+    assertEquals(nlo, lo);        // Everything eventually went out
+    assertEquals(nhi, hi);
+  }
+
+  @Test public void testLaterHighPriorityOvertakesQueuedLow() {
+    H2ONode.UDP_TCP_SendThread st = H2O.SELF.new UDP_TCP_SendThread();
+    for( int i = 0; i < 5; i++ ) st.sendMessage(msg(i), (byte)1);
+    assertEquals(0, st.nextMessage().get(0));
+    st.sendMessage(msg(64), H2O.FETCH_ACK_PRIORITY);
+    assertEquals(64, st.nextMessage().get(0));
+    for( int i = 1; i < 5; i++ ) assertEquals(i, st.nextMessage().get(0));
+  }
+}
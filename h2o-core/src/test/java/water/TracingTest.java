@@ -0,0 +1,56 @@
+package water;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.fvec.Chunk;
+import water.fvec.Vec;
+import water.util.TraceCollectorTask;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.Assert.*;
+
+public class TracingTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  private static class SumTask extends MRTask<SumTask> {
+    double _sum;
+    @Override public void map(Chunk c) { for (int i = 0; i < c._len; i++) _sum += c.atd(i); }
+    @Override public void reduce(SumTask mrt) { _sum += mrt._sum; }
+  }
+
+  @Test public void testSpansCollected() throws Exception {
+    Vec v = Vec.makeCon(1, 10000, 10, false);
+    try {
+      new TraceCollectorTask(1, true).doAllNodes();
+      assertTrue(Tracing.isEnabled());
+      assertEquals(10000, new SumTask().doAll(v)._sum, 0);
+
+      TraceCollectorTask trace = new TraceCollectorTask(0, true).doAllNodes();
+      assertFalse(Tracing.isEnabled());
+      int maps = 0, dforks = 0;
+      for (TraceCollectorTask.NodeTrace nt : trace._result)
+        for (Tracing.Span s : nt.spans) {
+          if (s._name.equals("map TracingTest$SumTask")) maps++;
+          if (s._name.equals("dfork TracingTest$SumTask")) dforks++;
+          assertTrue(s._dur > 0);
+        }
+      assertEquals(v.nChunks(), maps);
+      assertEquals(1, dforks);
+
+      ByteArrayOutputStream os = new ByteArrayOutputStream();
+      trace.writeChromeTrace(os);
+      String json = os.toString("UTF-8");
+      assertTrue(json.startsWith("{\"displayTimeUnit\":\"ms\",\"traceEvents\":["));
+      assertTrue(json.contains("\"name\":\"map TracingTest$SumTask\""));
+
+      // Off: nothing recorded, once the collector's own last span is gone
+      new TraceCollectorTask(-1, true).doAllNodes();
+      new SumTask().doAll(v);
+      assertEquals(0, new TraceCollectorTask(-1, true).doAllNodes().spanCount());
+    } finally {
+      Tracing.setEnabled(false);
+      v.remove();
+    }
+  }
+}
@@ -0,0 +1,88 @@
+package water.fvec;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.IcedUtils;
+import water.TestUtil;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class CDeltaChunkTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  private static final int LEN = 10000;
+
+  private static Chunk compress(long[] vals) {
+    NewChunk nc = new NewChunk(null, 0);
+    for (long v : vals)
+      if (v == CDeltaChunk._NA) nc.addNA();
+      else nc.addNum(v, 0);
+    return nc.compress();
+  }
+
+  private static void check(long[] vals, Chunk cc) {
+    Assert.assertEquals(vals.length, cc._len);
+    for (int i = 0; i < vals.length; ++i) {
+      boolean na = vals[i] == CDeltaChunk._NA;
+      Assert.assertEquals("row " + i, na, cc.isNA(i));
+      if (!na) Assert.assertEquals("row " + i, vals[i], cc.at8(i));
+    }
+    long[] ls = new long[vals.length];
+    long[] nas = new long[Chunk.naMaskLen(vals.length)];
+    cc.decodeLongs(ls, nas, 3, vals.length);
+    for (int i = 3; i < vals.length; ++i)
+      Assert.assertEquals("row " + i, vals[i] == CDeltaChunk._NA ? 0 : vals[i], ls[i - 3]);
+  }
+
+  @Test
+  public void test_timestamps() {
+    // Event times in msec, about one a second with jitter, some missing
+    Random r = new Random(42);
+    long[] vals = new long[LEN];
+    long t = 1500000000123L;
+    for (int i = 0; i < LEN; ++i) {
+      t += 500 + r.nextInt(1000);
+      vals[i] = i % 777 == 5 ? CDeltaChunk._NA : t;
+    }
+    Chunk cc = compress(vals);
+    Assert.assertTrue(cc.getClass().getSimpleName(), cc instanceof CDeltaChunk);
+    Assert.assertFalse(cc.hasFloat());
+    // 8 bytes a row as C8Chunk
+    Assert.assertTrue("bytes: " + cc._mem.length, cc._mem.length * 3 < LEN * 8);
+    check(vals, cc);
+    check(vals, IcedUtils.deepCopy(cc));
+
+    NewChunk nc = cc.extractRows(new NewChunk(null, 0), 0, LEN);
+    Chunk cc2 = nc.compress();
+    Assert.assertTrue(cc2 instanceof CDeltaChunk);
+    Assert.assertTrue(Arrays.equals(cc._mem, cc2._mem));
+  }
+
+  @Test
+  public void test_row_ids() {
+    // Exact steps need no bits at all; a partial last block
+    long[] vals = new long[LEN + 17];
+    for (int i = 0; i < vals.length; ++i) vals[i] = (1L << 40) + 3L * i;
+    Chunk cc = compress(vals);
+    Assert.assertTrue(cc.getClass().getSimpleName(), cc instanceof CDeltaChunk);
+    Assert.assertTrue(cc._mem.length < vals.length);
+    check(vals, cc);
+  }
+
+  @Test
+  public void test_extremes() {
+    // Decreasing values near Long.MIN_VALUE, and an all-NA block
+    long[] vals = new long[1000];
+    for (int i = 0; i < vals.length; ++i)
+      vals[i] = i >= 256 && i < 384 ? CDeltaChunk._NA : Long.MIN_VALUE + 1000000 - 7L * i + (i % 3);
+    byte[] bs = CDeltaChunk.encode(vals, vals.length, Long.MAX_VALUE);
+    Assert.assertNotNull(bs);
+    check(vals, new CDeltaChunk(bs));
+    // Random values do not pay off
+    Random r = new Random(7);
+    for (int i = 0; i < vals.length; ++i) vals[i] = r.nextLong() >> 2;
+    Assert.assertNull(CDeltaChunk.encode(vals, vals.length, vals.length * 8));
+  }
+}
@@ -0,0 +1,82 @@
+package water.fvec;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.IcedUtils;
+import water.TestUtil;
+
+import java.util.Arrays;
+
+public class CRLChunkTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  private static final int LEN = 10000;
+
+  // Sorted timestamps in msec, 100 rows per distinct value, a few NAs
+  private static long[] timestamps() {
+    long[] ts = new long[LEN];
+    for (int i = 0; i < LEN; ++i) ts[i] = 1500000000000L + (i / 100) * 1000L;
+    return ts;
+  }
+
+  @Test
+  public void test_longs() {
+    long[] ts = timestamps();
+    NewChunk nc = new NewChunk(null, 0);
+    for (int i = 0; i < LEN; ++i)
+      if (i >= 500 && i < 550) nc.addNA();
+      else nc.addNum(ts[i], 0);
+    Chunk cc = nc.compress();
+    Assert.assertTrue(cc.getClass().getSimpleName(), cc instanceof CRLChunk);
+    Assert.assertFalse(cc.hasFloat());
+    Assert.assertEquals(LEN, cc._len);
+    Assert.assertEquals(101, ((CRLChunk) cc).runs());
+    Assert.assertTrue(cc._mem.length < LEN);
+    for (Chunk c : new Chunk[]{cc, IcedUtils.deepCopy(cc)}) {
+      for (int i = 0; i < LEN; ++i) {
+        boolean na = i >= 500 && i < 550;
+        Assert.assertEquals(na, c.isNA(i));
+        if (!na) Assert.assertEquals(ts[i], c.at8(i));
+      }
+    }
+
+    nc = cc.extractRows(new NewChunk(null, 0), 0, LEN);
+    Assert.assertEquals(LEN, nc._len);
+    for (int i = 0; i < LEN; ++i)
+      if (!nc.isNA(i)) Assert.assertEquals(ts[i], nc.at8(i));
+    Chunk cc2 = nc.compress();
+    Assert.assertTrue(cc2 instanceof CRLChunk);
+    Assert.assertTrue(Arrays.equals(cc._mem, cc2._mem));
+  }
+
+  @Test
+  public void test_doubles() {
+    final double[] prices = {19.99, Math.PI, Double.NaN, -0.1, 1e-300};
+    NewChunk nc = new NewChunk(null, 0);
+    for (int i = 0; i < LEN; ++i) nc.addNum(prices[i * prices.length / LEN]);
+    Chunk cc = nc.compress();
+    Assert.assertTrue(cc.getClass().getSimpleName(), cc instanceof CRLChunk);
+    Assert.assertTrue(cc.hasFloat());
+    Assert.assertEquals(prices.length, ((CRLChunk) cc).runs());
+    double[] vals = new double[LEN];
+    long[] nas = new long[Chunk.naMaskLen(LEN)];
+    Assert.assertEquals(LEN / prices.length, cc.decodeDoubles(vals, nas, 0, LEN));
+    for (int i = 0; i < LEN; ++i) {
+      double d = prices[i * prices.length / LEN];
+      Assert.assertEquals(d, cc.atd(i), 0);
+      Assert.assertEquals(d, vals[i], 0);
+      Assert.assertEquals(Double.isNaN(d), Chunk.isNA(nas, i));
+    }
+    // Writes which keep the value are fine; others inflate the chunk
+    Assert.assertTrue(cc.set_impl(0, 19.99));
+    Assert.assertFalse(cc.set_impl(0, 20.0));
+  }
+
+  @Test
+  public void test_no_runs() {
+    NewChunk nc = new NewChunk(null, 0);
+    for (int i = 0; i < LEN; ++i) nc.addNum(i % 2 == 0 ? 0.5 : 1.5);
+    Assert.assertFalse(nc.compress() instanceof CRLChunk);
+  }
+}
@@ -0,0 +1,118 @@
+package water.fvec;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.TestUtil;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class ChunkDecodeTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  private static final int LEN = 2000;
+
+  private interface Gen { void add(NewChunk nc, int i, Random r); }
+
+  private static Chunk make(Gen g) {
+    Random r = new Random(0xDECAF);
+    NewChunk nc = new NewChunk(null, 0);
+    for (int i = 0; i < LEN; i++) g.add(nc, i, r);
+    return nc.compress();
+  }
+
+  private static Chunk[] chunks() {
+    return new Chunk[]{
+      make(new Gen() { public void add(NewChunk nc, int i, Random r) { if (i % 17 == 0) nc.addNA(); else nc.addNum(r.nextInt(200)); } }),
+      make(new Gen() { public void add(NewChunk nc, int i, Random r) { nc.addNum(r.nextInt(256)); } }),
+      make(new Gen() { public void add(NewChunk nc, int i, Random r) { if (i % 13 == 0) nc.addNA(); else nc.addNum(r.nextInt(60000) - 30000); } }),
+      make(new Gen() { public void add(NewChunk nc, int i, Random r) { if (i % 11 == 0) nc.addNA(); else nc.addNum(r.nextInt()); } }),
+      make(new Gen() { public void add(NewChunk nc, int i, Random r) { if (i % 7 == 0) nc.addNA(); else nc.addNum(r.nextLong() >> 8); } }),
+      make(new Gen() { public void add(NewChunk nc, int i, Random r) { if (i % 19 == 0) nc.addNA(); else nc.addNum(r.nextGaussian()); } }),
+      make(new Gen() { public void add(NewChunk nc, int i, Random r) { if (i % 5 == 0) nc.addNA(); else nc.addNum(r.nextInt(100), -1); } }),
+      make(new Gen() { public void add(NewChunk nc, int i, Random r) { if (i % 5 == 0) nc.addNA(); else nc.addNum(r.nextInt(20000) + 100000, -2); } }),
+      make(new Gen() { public void add(NewChunk nc, int i, Random r) { nc.addNum((float) r.nextGaussian()); } }),
+      make(new Gen() { public void add(NewChunk nc, int i, Random r) { if (i % 9 == 0) nc.addNA(); else nc.addNum(r.nextInt(2)); } }),
+      make(new Gen() { public void add(NewChunk nc, int i, Random r) { if (i % 97 == 0) nc.addNum(r.nextInt(1000) + 1); else if (i % 101 == 0) nc.addNA(); else nc.addNum(0); } }),
+      make(new Gen() { public void add(NewChunk nc, int i, Random r) { if (i % 97 == 0) nc.addNum(r.nextDouble()); else nc.addNum(0); } }),
+      make(new Gen() { public void add(NewChunk nc, int i, Random r) { if (i % 97 == 0) nc.addNum(r.nextInt(50)); else nc.addNA(); } }),
+      make(new Gen() { public void add(NewChunk nc, int i, Random r) { nc.addNum(42); } }),
+      make(new Gen() { public void add(NewChunk nc, int i, Random r) { nc.addNum(3.25); } }),
+      make(new Gen() { public void add(NewChunk nc, int i, Random r) { nc.addNA(); } }),
+      make(new Gen() { public void add(NewChunk nc, int i, Random r) { double[] u = {Math.PI, -1e-300, 1e300, Double.NaN}; nc.addNum(u[r.nextInt(u.length)]); } }),
+      make(new Gen() { public void add(NewChunk nc, int i, Random r) { if (i % 301 == 7) nc.addNA(); else nc.addNum(1500000000000L + 1000L * i + r.nextInt(100), 0); } }),
+      make(new Gen() { public void add(NewChunk nc, int i, Random r) { if (i / 100 == 3) nc.addNA(); else nc.addNum(1500000000000L + i / 100, 0); } }),
+      make(new Gen() { public void add(NewChunk nc, int i, Random r) { double[] u = {Math.PI, -1e-300, Double.NaN}; nc.addNum(u[i / 150 % u.length]); } }),
+    };
+  }
+
+  private static final int[][] RANGES = {{0, LEN}, {3, LEN - 5}, {64, 128}, {70, 201}, {LEN - 1, LEN}, {10, 10}};
+
+  @Test public void testDecodeDoubles() {
+    double[] vals = new double[LEN];
+    long[] nas = new long[Chunk.naMaskLen(LEN)];
+    for (Chunk c : chunks())
+      for (int[] rg : RANGES) {
+        java.util.Arrays.fill(nas, -1L); // Must be cleared by decode
+        int cnt = c.decodeDoubles(vals, nas, rg[0], rg[1]);
+        int expCnt = 0;
+        for (int i = rg[0]; i < rg[1]; i++) {
+          String msg = c.getClass().getSimpleName() + " row " + i;
+          boolean na = c.isNA(i);
+          if (na) expCnt++;
+          assertEquals(msg, na, Chunk.isNA(nas, i - rg[0]));
+          assertEquals(msg, c.atd(i), vals[i - rg[0]], 0);
+        }
+        assertEquals(c.getClass().getSimpleName(), expCnt, cnt);
+        assertEquals(expCnt, c.decodeDoubles(vals, null, rg[0], rg[1]));
+      }
+  }
+
+  @Test public void testDecodeLongsAndInts() {
+    long[] ls = new long[LEN];
+    int[] is = new int[LEN];
+    long[] nas = new long[Chunk.naMaskLen(LEN)];
+    long[] nas2 = new long[Chunk.naMaskLen(LEN)];
+    Set<Class> seen = new HashSet<>();
+    for (Chunk c : chunks()) {
+      seen.add(c.getClass());
+      boolean fitsInt = true;
+      for (int i = 0; i < c._len; i++)
+        if (!c.isNA(i) && (int) c.at8(i) != c.at8(i)) fitsInt = false;
+      for (int[] rg : RANGES) {
+        int cnt = c.decodeLongs(ls, nas, rg[0], rg[1]);
+        int expCnt = 0;
+        for (int i = rg[0]; i < rg[1]; i++) {
+          String msg = c.getClass().getSimpleName() + " row " + i;
+          boolean na = c.isNA(i);
+          if (na) expCnt++;
+          assertEquals(msg, na, Chunk.isNA(nas, i - rg[0]));
+          assertEquals(msg, na ? 0 : c.at8(i), ls[i - rg[0]]);
+        }
+        assertEquals(c.getClass().getSimpleName(), expCnt, cnt);
+        assertEquals(expCnt, c.decodeLongs(ls, null, rg[0], rg[1]));
+        if (!fitsInt) continue;
+        assertEquals(expCnt, c.decodeInts(is, nas2, rg[0], rg[1]));
+        for (int i = rg[0]; i < rg[1]; i++) {
+          assertEquals(ls[i - rg[0]], is[i - rg[0]]);
+          assertEquals(Chunk.isNA(nas, i - rg[0]), Chunk.isNA(nas2, i - rg[0]));
+        }
+        assertEquals(expCnt, c.decodeInts(is, null, rg[0], rg[1]));
+      }
+    }
+    // Make sure the generators cover the main encodings
+    for (Class cls : new Class[]{C1Chunk.class, C1NChunk.class, C2Chunk.class, C4Chunk.class, C8DChunk.class,
+                                 CBSChunk.class, CXIChunk.class, C0LChunk.class, C0DChunk.class, CUDChunk.class,
+                                 CRLChunk.class, CDeltaChunk.class})
+      assertTrue(cls.getSimpleName() + " not covered: " + seen, seen.contains(cls));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDecodeIntsOverflow() {
+    Chunk c = make(new Gen() { public void add(NewChunk nc, int i, Random r) { nc.addNum(1L << 40 | i); } });
+    c.decodeInts(new int[LEN], new long[Chunk.naMaskLen(LEN)], 0, LEN);
+  }
+}
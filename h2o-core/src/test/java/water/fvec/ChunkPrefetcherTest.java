@@ -0,0 +1,63 @@
+package water.fvec;
+
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.DKV;
+import water.H2O;
+import water.Key;
+import water.TestUtil;
+
+import static org.junit.Assert.*;
+
+public class ChunkPrefetcherTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  @Test public void testSequentialReadsFetchAhead() {
+    Key a = Key.make("prefetch_a"), b = Key.make("prefetch_b");
+    ChunkPrefetcher.Stream s = new ChunkPrefetcher.Stream();
+    assertEquals(-1, s.next(a, 0));
+    assertEquals(2, s.next(a, 1));
+    assertEquals(3, s.next(a, 2));
+    assertEquals(-1, s.next(a, 7));   // Jumped
+    assertEquals(-1, s.next(b, 8));   // Other Vec
+    assertEquals(10, s.next(b, 9));
+    assertTrue(s.same(b, 9));
+    assertFalse(s.same(a, 9));
+  }
+
+  @Test public void testCachedChunksAreNotFetched() {
+    Vec v = Vec.makeCon(1, 10000, 6, false);
+    try {
+      for( int i = 0; i < v.nChunks(); i++ )
+        DKV.get(v.chunkKey(i)); // Cache the remote ones, past the prefetcher
+      long issued = ChunkPrefetcher.issued(), misses = ChunkPrefetcher.misses();
+      for( int i = 0; i < v.nChunks(); i++ )
+        ChunkPrefetcher.access(v, i, v.chunkKey(i));
+      assertEquals(issued, ChunkPrefetcher.issued()); // All in the local store
+      assertEquals(misses, ChunkPrefetcher.misses());
+    } finally {
+      v.remove();
+    }
+  }
+
+  // Reads every Chunk in order from this node, as a scan of a remote Vec
+  // does: the runs of remote Chunks must get fetched ahead
+  @Test public void testRemoteScanHitsPrefetches() {
+    Assume.assumeTrue(H2O.CLOUD.size() > 1);
+    Vec v = Vec.makeCon(1, 1 << 16, 6, false); // 1024 Chunks, homed round robin
+    try {
+      long issued = ChunkPrefetcher.issued(), hits = ChunkPrefetcher.hits();
+      int remote = 0;
+      for( int i = 0; i < v.nChunks(); i++ ) {
+        if( !v.chunkKey(i).home() ) remote++;
+        assertEquals(1, v.chunkForChunkIdx(i).atd(0), 0);
+      }
+      assertTrue(remote > 0);
+      assertTrue(ChunkPrefetcher.issued() > issued);
+      assertTrue(ChunkPrefetcher.hits() > hits);
+    } finally {
+      v.remove();
+    }
+  }
+}
@@ -0,0 +1,137 @@
+package water.fvec;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.DKV;
+import water.Key;
+import water.TestUtil;
+import water.exceptions.H2OIllegalArgumentException;
+import water.parser.ParserTest;
+import water.util.IcedInt;
+
+import static org.junit.Assert.*;
+
+public class FrameAppenderTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  @Test public void testAppendKeepsChunksAndMergesDomains() {
+    Frame dst = null, src = null;
+    try {
+      dst = new TestFrameBuilder()
+              .withName("append_dst")
+              .withColNames("x", "c")
+              .withVecTypes(Vec.T_NUM, Vec.T_CAT)
+              .withDataForCol(0, ard(1, 2, 3, 4))
+              .withDataForCol(1, ar("a", "b", "a", "c"))
+              .withChunkLayout(2, 2)
+              .build();
+      src = new TestFrameBuilder()
+              .withName("append_src")
+              .withColNames("x", "c")
+              .withVecTypes(Vec.T_NUM, Vec.T_CAT)
+              .withDataForCol(0, ard(5, 6, 7))
+              .withDataForCol(1, ar("b", "d", null))
+              .build();
+      Key<Vec> key = dst.vec(0)._key;
+      Chunk first = dst.vec(1).chunkForChunkIdx(0);
+      assertEquals(2.5, dst.vec(0).mean(), 1e-9);
+
+      FrameAppender.append(dst, src);
+
+      assertEquals(7, dst.numRows());
+      assertEquals(key, dst.vec(0)._key);
+      assertEquals(3, dst.vec(0).nChunks());
+      assertArrayEquals(ar("a", "b", "c", "d"), dst.vec(1).domain());
+      assertEquals(4.0, dst.vec(0).mean(), 1e-9);  // Rollups refreshed
+      for( int i = 0; i < 7; i++ ) assertEquals(i+1, dst.vec(0).at(i), 0);
+      String[] cats = {"a", "b", "a", "c", "b", "d", null};
+      for( int i = 0; i < 7; i++ )
+        if( cats[i] == null ) assertTrue(dst.vec(1).isNA(i));
+        else assertEquals(cats[i], dst.vec(1).factor(dst.vec(1).at8(i)));
+      // Existing Chunks untouched
+      assertEquals(first.at8(1), dst.vec(1).chunkForChunkIdx(0).at8(1));
+      // The batch is left as is
+      assertEquals(3, src.numRows());
+      assertArrayEquals(ar("b", "d"), src.vec(1).domain());
+    } finally {
+      if( dst != null ) dst.delete();
+      if( src != null ) src.delete();
+    }
+  }
+
+  @Test public void testAppendFiles() {
+    Frame dst = null;
+    try {
+      dst = new TestFrameBuilder()
+              .withName("append_files")
+              .withColNames("x", "c")
+              .withVecTypes(Vec.T_NUM, Vec.T_CAT)
+              .withDataForCol(0, ard(1, 2))
+              .withDataForCol(1, ar("a", "b"))
+              .build();
+      FrameAppender.appendAll(dst, ParserTest.makeByteVec("3,b\n4,z\n"));
+      assertEquals(4, dst.numRows());
+      assertArrayEquals(ar("a", "b", "z"), dst.vec(1).domain());
+      assertEquals(4, dst.vec(0).at(3), 0);
+      assertEquals("z", dst.vec(1).factor(dst.vec(1).at8(3)));
+    } finally {
+      if( dst != null ) dst.delete();
+    }
+  }
+
+  @Test(expected = H2OIllegalArgumentException.class)
+  public void testTypeMismatch() {
+    Frame dst = null, src = null;
+    try {
+      dst = new TestFrameBuilder().withName("append_mismatch_dst").withColNames("x")
+              .withVecTypes(Vec.T_NUM).withDataForCol(0, ard(1, 2)).build();
+      src = new TestFrameBuilder().withName("append_mismatch_src").withColNames("x")
+              .withVecTypes(Vec.T_STR).withDataForCol(0, ar("a", "b")).build();
+      FrameAppender.append(dst, src);
+    } finally {
+      if( dst != null ) dst.delete();
+      if( src != null ) src.delete();
+    }
+  }
+
+  @Test public void testSharedVecsRejected() {
+    Frame dst = null;
+    Key<Frame> otherKey = Key.make("append_other");
+    try {
+      dst = new TestFrameBuilder().withName("append_shared").withColNames("x")
+              .withVecTypes(Vec.T_NUM).withDataForCol(0, ard(1, 2)).build();
+      DKV.put(new Frame(otherKey, dst.names(), dst.vecs()));
+      try {
+        FrameAppender.appendAll(dst, ParserTest.makeByteVec("3\n"));
+        fail("Appended to Vecs shared with another Frame");
+      } catch( H2OIllegalArgumentException expected ) { }
+      assertEquals(2, dst.numRows());
+      assertEquals(2, ((Frame)DKV.getGet(otherKey)).numRows());
+      DKV.remove(otherKey);  // No longer shared
+      FrameAppender.appendAll(dst, ParserTest.makeByteVec("3\n"));
+      assertEquals(3, dst.numRows());
+    } finally {
+      DKV.remove(otherKey);  // Not its Vecs, dst's
+      if( dst != null ) dst.delete();
+    }
+  }
+
+  @Test public void testAppendAsyncAndBadSource() {
+    Frame dst = null;
+    Key notAFrame = Key.make("append_not_a_frame");
+    try {
+      dst = new TestFrameBuilder().withName("append_async").withColNames("x")
+              .withVecTypes(Vec.T_NUM).withDataForCol(0, ard(1, 2)).build();
+      DKV.put(notAFrame, new IcedInt(1));
+      try {
+        FrameAppender.appendAll(dst, notAFrame);
+        fail("Appended a non-Frame");
+      } catch( H2OIllegalArgumentException expected ) { }
+      FrameAppender.appendAllAsync(dst, ParserTest.makeByteVec("3\n4\n")).get();
+      assertEquals(4, ((Frame)DKV.getGet(dst._key)).numRows());
+    } finally {
+      DKV.remove(notAFrame);
+      if( dst != null ) dst.delete();
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package water.fvec;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.DKV;
+import water.Job;
+import water.Key;
+import water.Scope;
+import water.TestUtil;
+
+import static org.junit.Assert.*;
+
+public class LayoutPolicyTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  @Test public void testPoorLayouts() {
+    Frame one = null, tiny = null;
+    try {
+      one = new Frame(Vec.makeCon(1, 10000, 20, false));    // A single chunk
+      assertEquals(1, LayoutPolicy.layout(one)._chunks);
+      assertEquals(4, LayoutPolicy.rebalanceTo(one, 4));
+      assertEquals(-1, LayoutPolicy.rebalanceTo(one, 1));
+
+      tiny = new Frame(Vec.makeCon(1, 100000, 6, false));   // 64 rows a chunk
+      LayoutPolicy.Layout l = LayoutPolicy.layout(tiny);
+      assertTrue(l.bytesPerChunk() < LayoutPolicy.MIN_CHUNK_BYTES);
+      assertEquals(1.0, l.skew(), 0.1);
+      assertEquals(4, LayoutPolicy.rebalanceTo(tiny, 4));
+    } finally {
+      if (one != null) one.delete();
+      if (tiny != null) tiny.delete();
+    }
+  }
+
+  @Test public void testRebalancedCopiesShared() {
+    int cacheSize = LayoutPolicy.setCacheSize(2);
+    Key<Job> job1 = Key.make(), job2 = Key.make();
+    Frame fr = null;
+    try {
+      fr = new Frame(Vec.makeSeq(10000, false));
+      Scope.enter();
+      Frame r1 = LayoutPolicy.rebalance(fr, 8, "layout_test", job1);
+      assertEquals(8, r1.anyVec().nChunks());
+      assertEquals(fr.numRows(), r1.numRows());
+      assertTrue(LayoutPolicy.isCached(r1));
+      Scope.exit();                                          // The cache owns the copy
+      Frame r2 = LayoutPolicy.rebalance(fr, 8, "layout_test", job2);
+      Key<Vec> vkey = r1.anyVec()._key;
+      assertEquals(vkey, r2.anyVec()._key);
+      assertEquals(10000, r2.vec(0).at8(9999));
+      assertEquals(2, LayoutPolicy.users(r1));
+      r2.remove(0);                                          // Each caller has its own Frame
+      assertEquals(1, r1.numCols());
+
+      LayoutPolicy.clearCache();                             // Still in use: kept until released
+      assertFalse(LayoutPolicy.isCached(r1));
+      LayoutPolicy.release(job1);
+      assertNotNull(DKV.get(vkey));
+      LayoutPolicy.release(job2);
+      assertNull(DKV.get(vkey));
+
+      Frame r3 = LayoutPolicy.rebalance(fr, 8, "layout_test", job1);
+      LayoutPolicy.release(job1);
+      assertTrue(LayoutPolicy.isCached(r3));
+      Key<Vec> vkey3 = r3.anyVec()._key;
+      fr.delete();                                           // Its copies go with it
+      fr = null;
+      assertFalse(LayoutPolicy.isCached(r3));
+      assertNull(DKV.get(vkey3));
+    } finally {
+      LayoutPolicy.clearCache();
+      LayoutPolicy.setCacheSize(cacheSize);
+      if (fr != null) fr.delete();
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package water.fvec;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.DKV;
+import water.Key;
+import water.TestUtil;
+
+import static org.junit.Assert.*;
+
+public class RollupStatsTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  @Test public void testIncrementalRollups() {
+    Vec v = Vec.makeCon(1, 10000, 10, false); // 1K rows a chunk
+    try {
+      int nchunks = v.nChunks();
+      assertTrue(nchunks > 5);
+      assertEquals(1, v.mean(), 0);
+      long computed = RollupStats.PARTIALS_COMPUTED.get();
+      long reused = RollupStats.PARTIALS_REUSED.get();
+
+      // Write one chunk: only its partial is recomputed
+      v.set(5, 10001);
+      assertEquals(10001, v.max(), 0);
+      assertEquals(2, v.mean(), 1e-12);
+      assertEquals(1, RollupStats.PARTIALS_COMPUTED.get() - computed);
+      assertEquals(nchunks - 1, RollupStats.PARTIALS_REUSED.get() - reused);
+
+      // Reused partials are not modified by merging
+      v.set(9999, 1);
+      assertEquals(10001, v.max(), 0);
+      assertEquals(2, v.mean(), 1e-12);
+      assertEquals(10000, v.length() - v.naCnt());
+
+      // Histogram stays lazy and sees the new values
+      long[] bins = v.bins();
+      assertEquals(9999, bins[0]);
+      assertEquals(1, bins[bins.length - 1]);
+    } finally {
+      v.remove();
+    }
+  }
+
+  @Test public void testPartialsOfRemovedChunksAreDropped() throws InterruptedException {
+    Vec v = Vec.makeCon(1, 10000, 10, false);
+    Key ckey = v.chunkKey(3);
+    try {
+      assertEquals(1, v.mean(), 0);
+      assertTrue(RollupStats.hasPartial(ckey));
+      // Removed outside of Vec.remove: nothing forgets the partial explicitly
+      DKV.remove(ckey);
+      for( int i = 0; i < 50 && RollupStats.hasPartial(ckey); i++ ) {
+        System.gc();
+        Thread.sleep(100);
+      }
+      assertFalse(RollupStats.hasPartial(ckey));
+    } finally {
+      v.remove();
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package water.fvec;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.MRTask;
+import water.TestUtil;
+import water.rapids.ast.prims.operators.AstEq;
+import water.rapids.ast.prims.operators.AstGt;
+
+import static org.junit.Assert.*;
+
+public class ZoneMapTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  @Test public void testFilterSkipsChunks() {
+    Vec v = Vec.makeCon(0, 10000, 10, false); // 1K rows a chunk
+    new MRTask() {
+      @Override public void map(Chunk c) {
+        for (int r = 0; r < c._len; r++)
+          c.set(r, r + c._start);
+      }
+    }.doAll(v);
+    Frame fr = new Frame(v);
+    Frame gt = null, eq = null, sel = null;
+    try {
+      int nchunks = v.nChunks();
+      assertEquals(9999, v.max(), 0);  // Rollups, and with them the zones
+
+      ZoneMap z = ZoneMap.of(v.chunkForChunkIdx(1));
+      assertNotNull(z);
+      assertEquals(1024, z._min, 0);
+      assertEquals(2047, z._max, 0);
+      assertFalse(z.hasNAs());
+
+      // Only the chunk holding 4999.5 needs a scan
+      long skipped = ZoneMap.skippedChunks();
+      gt = new AstGt().frame_op_scalar(fr, 4999.5).getFrame();
+      assertEquals(nchunks - 1, ZoneMap.skippedChunks() - skipped);
+      assertEquals(0.5, gt.vec(0).mean(), 0);
+      assertEquals(1, gt.vec(0).at8(5000));
+      assertEquals(0, gt.vec(0).at8(4999));
+
+      skipped = ZoneMap.skippedChunks();
+      eq = new AstEq().frame_op_scalar(fr, 3.0).getFrame();
+      assertEquals(nchunks - 1, ZoneMap.skippedChunks() - skipped);
+      assertEquals(1, eq.vec(0).at8(3));
+      assertEquals(1, eq.vec(0).nzCnt());
+
+      // Row-slice skips the chunks selecting nothing and takes the rest whole
+      skipped = ZoneMap.skippedChunks();
+      sel = fr.deepSlice(gt, null);
+      assertTrue(ZoneMap.skippedChunks() - skipped >= nchunks - 1);
+      assertEquals(5000, sel.numRows());
+      assertEquals(5000, sel.vec(0).min(), 0);
+      assertEquals(9999, sel.vec(0).max(), 0);
+    } finally {
+      fr.delete();
+      if (gt != null) gt.delete();
+      if (eq != null) eq.delete();
+      if (sel != null) sel.delete();
+    }
+  }
+
+  @Test public void testNAsSpreadOverChunks() {
+    double NA = Double.NaN;
+    Frame fr = new TestFrameBuilder()
+            .withName("zone_nas")
+            .withColNames("x", "p")
+            .withVecTypes(Vec.T_NUM, Vec.T_NUM)
+            .withDataForCol(0, ard(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15))
+            .withDataForCol(1, ard(1, 1, 1, NA, 1, NA, 1, 1, NA, 1, NA, 1, 1.5, 1.5, 1.5, 1.5))
+            .withChunkLayout(4, 4, 4, 4)
+            .build();
+    Frame x = new Frame(fr.vec("x")), p = new Frame(fr.vec("p"));
+    Frame sel = null, sel2 = null, eq = null;
+    try {
+      Vec pv = fr.vec("p");
+      assertEquals(4, pv.naCnt());  // As many NAs as a Chunk has rows
+      // 1.5 truncates to 1, so the last Chunk is taken whole
+      sel = x.deepSlice(p, null);
+      assertEquals(12, sel.numRows());
+      assertEquals(15, sel.vec(0).max(), 0);
+
+      // Without per-chunk partials, the Vec's NA count must not make any Chunk all-NA
+      for (int i = 0; i < pv.nChunks(); i++) RollupStats.forgetPartial(pv.chunkKey(i));
+      for (int i = 0; i < pv.nChunks(); i++) {
+        ZoneMap z = ZoneMap.of(pv.chunkForChunkIdx(i));
+        assertTrue(z == null || !z.allNA());
+      }
+      sel2 = x.deepSlice(p, null);
+      assertEquals(12, sel2.numRows());
+      eq = new AstEq().frame_op_scalar(p, 1.0).getFrame();
+      assertEquals(8, eq.vec(0).nzCnt());
+    } finally {
+      fr.delete();
+      if (sel != null) sel.delete();
+      if (sel2 != null) sel2.delete();
+      if (eq != null) eq.delete();
+    }
+  }
+}
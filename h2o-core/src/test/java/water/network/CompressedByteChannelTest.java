@@ -0,0 +1,64 @@
+package water.network;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ByteChannel;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class CompressedByteChannelTest {
+
+    // Writes go to a byte array, reads come from a given byte array
+    private static class MemChannel implements ByteChannel {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final WritableByteChannel w = Channels.newChannel(out);
+        final ReadableByteChannel r;
+        MemChannel(byte[] in) { r = Channels.newChannel(new ByteArrayInputStream(in)); }
+        @Override public int read(ByteBuffer dst) throws IOException { return r.read(dst); }
+        @Override public int write(ByteBuffer src) throws IOException { return w.write(src); }
+        @Override public boolean isOpen() { return true; }
+        @Override public void close() { }
+    }
+
+    @Test
+    public void shouldRoundTripCompressibleAndRandomFrames() throws IOException {
+        byte[] zeros = new byte[100000];
+        byte[] random = new byte[100000];
+        new Random(42).nextBytes(random);
+        byte[] small = new byte[]{1, 2, 3};
+
+        MemChannel sink = new MemChannel(new byte[0]);
+        CompressedByteChannel out = new CompressedByteChannel(sink);
+        for (byte[] ary : new byte[][]{zeros, random, small, zeros}) {
+            ByteBuffer bb = ByteBuffer.wrap(ary);
+            while (bb.hasRemaining()) out.write(bb);
+        }
+        long wire = out.takeWireBytes();
+        assertEquals(sink.out.size(), wire);
+        assertEquals(0, out.takeWireBytes());
+        // Zeros shrink to almost nothing, random bytes go raw plus framing
+        assertTrue(wire < random.length + 1000);
+
+        CompressedByteChannel in = new CompressedByteChannel(new MemChannel(sink.out.toByteArray()));
+        for (byte[] ary : new byte[][]{zeros, random, small, zeros}) {
+            ByteBuffer bb = ByteBuffer.allocate(ary.length);
+            while (bb.hasRemaining()) assertTrue(in.read(bb) > 0);
+            assertArrayEquals(ary, bb.array());
+        }
+        assertEquals(-1, in.read(ByteBuffer.allocate(1)));
+    }
+
+    @Test
+    public void shouldReportWrappedSocketChannel() {
+        CompressedByteChannel chan = new CompressedByteChannel(new MemChannel(new byte[0]));
+        assertFalse(SocketChannelUtils.isSocketChannel(chan));
+    }
+}
@@ -3,6 +3,10 @@ package water.parser;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.nio.charset.StandardCharsets;
+
+import static water.parser.DefaultParserProviders.CSV_INFO;
+
 public class CsvParserTest {
 
   @Test
@@ -16,4 +20,55 @@ public class CsvParserTest {
     Assert.assertEquals("C2", strings[1]);
     Assert.assertEquals("契約状態1709", strings[2]);
   }
-}
\ No newline at end of file
+
+  // Writes the parse events as text
+  private static class RecordingWriter extends PreviewParseWriter {
+    final StringBuilder _sb = new StringBuilder();
+    final int _strCol;
+    RecordingWriter(int ncols, int strCol) { super(ncols); _strCol = strCol; }
+    @Override public boolean isString(int colIdx) { return colIdx == _strCol; }
+    @Override public void newLine() { _sb.append("|\n"); }
+    @Override public void addNumCol(int colIdx, long number, int exp) { _sb.append(colIdx).append(':').append(number).append('e').append(exp).append(' '); }
+    @Override public void addInvalidCol(int colIdx) { _sb.append(colIdx).append(":NA "); }
+    @Override public void addStrCol(int colIdx, BufferedString str) { _sb.append(colIdx).append(":'").append(str.toString()).append("' "); }
+    @Override public void setIsAllASCII(int colIdx, boolean b) { _sb.append(colIdx).append(":ascii=").append(b).append(' '); }
+    @Override public void rollbackLine() { _sb.append("rollback"); }
+    @Override public void invalidLine(ParseErr err) { _sb.append("invalid\n"); }
+  }
+
+  private static String parse(String data, byte sep, boolean fast, int strCol) {
+    String[][] nas = new String[][]{null, {"NA", "?"}};
+    ParseSetup ps = new ParseSetup(CSV_INFO, sep, true, ParseSetup.NO_HEADER, 4, null, null, null, nas, null, null, 1 << 20);
+    RecordingWriter w = new RecordingWriter(4, strCol);
+    new CsvParser(ps, null, fast).parseChunk(0, new Parser.ByteAryData(data.getBytes(StandardCharsets.UTF_8), 0), w);
+    return w._sb.toString();
+  }
+
+  @Test
+  public void fastTokenizerMatchesStateMachine() {
+    String data =
+        "1,2.5,abc,-3e2\n" +
+        "0.125,NA,hello world,+7\n" +
+        ",,,\n" +
+        "1e--5,.5,1.2.3,2020-01-01\n" +
+        "123456789012345678901,1e1234567,x,y\n" +   // too many digits
+        "1 ,2,3,4\n" +                              // blank after a number
+        "\"quoted\",2,'single',4\n" +
+        "$5,10%,\t7,契約\n" +
+        "5,6,7,8\r\n" +
+        "\n" +
+        "-,.,-e5,1e\n" +
+        "a\rb,2,3,4\n" +
+        "1,2,3,last line without end";
+    for (byte sep : new byte[]{',', ';'}) {
+      String d = sep == ',' ? data : data.replace(',', ';');
+      for (int strCol : new int[]{-1, 2})
+        Assert.assertEquals(parse(d, sep, false, strCol), parse(d, sep, true, strCol));
+    }
+    // Lines long enough for several words each
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 100; i++)
+      sb.append(i * 12345).append(',').append(i / 7.0).append(",name").append(i).append(",").append(i % 3 == 0 ? "" : "z").append('\n');
+    Assert.assertEquals(parse(sb.toString(), (byte)',', false, -1), parse(sb.toString(), (byte)',', true, -1));
+  }
+}
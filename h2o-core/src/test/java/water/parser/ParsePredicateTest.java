@@ -0,0 +1,90 @@
+package water.parser;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.Key;
+import water.Keyed;
+import water.TestUtil;
+import water.exceptions.H2OIllegalArgumentException;
+import water.fvec.Frame;
+import water.fvec.Vec;
+
+import static org.junit.Assert.*;
+
+public class ParsePredicateTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  @Test public void testParse() {
+    ParsePredicate p = ParsePredicate.parse(" age>=30 ");
+    assertEquals("age", p._column);
+    assertEquals(ParsePredicate.Op.GE, p._op);
+    assertEquals(30, p._value, 0);
+    assertEquals(ParsePredicate.Op.EQ, ParsePredicate.parse("x = -1.5")._op);
+    assertEquals("my col", ParsePredicate.parse("my col != 2")._column);
+  }
+
+  @Test(expected = H2OIllegalArgumentException.class)
+  public void testParseNotANumber() { ParsePredicate.parse("x < y"); }
+
+  @Test public void testRanges() {
+    ParsePredicate lt = ParsePredicate.parse("x < 5");
+    assertTrue(lt.test(4));
+    assertFalse(lt.test(5));
+    assertFalse(lt.test(Double.NaN));
+    assertTrue(lt.mayMatch(4, 10));
+    assertFalse(lt.mayMatch(5, 10));
+    assertTrue(lt.allMatch(0, 4));
+    assertFalse(lt.allMatch(0, 5));
+    ParsePredicate ne = ParsePredicate.parse("x != 5");
+    assertFalse(ne.mayMatch(5, 5));
+    assertTrue(ne.mayMatch(5, 6));
+    assertFalse(ne.allMatch(4, 6));
+    assertTrue(ne.allMatch(6, 7));
+    assertFalse(ne.test(Double.NaN));
+    assertTrue(ne.mayMatch(Double.NaN, Double.NaN)); // Unknown bounds
+  }
+
+  @Test public void testProjectionAndPredicates() {
+    Frame fr = null;
+    try {
+      Key k = ParserTest.makeByteVec("a,b,c\n1,x,10\n2,y,20\n", "3,z,30\n4,,\n", "5,w,50\n6,v,60\n");
+      ParseSetup ps = ParseSetup.guessSetup(new Key[]{k}, false, ParseSetup.GUESS_HEADER);
+      ps.setProjection(new String[]{"a", "b"})
+        .setPredicates(ParsePredicate.parse(new String[]{"c >= 20", "a != 5"}));
+      fr = ParseDataset.parse(Key.make("projected.hex"), new Key[]{k}, true, ps);
+      assertArrayEquals(ar("a", "b"), fr.names());
+      assertEquals(3, fr.numRows()); // The NA in c never matches
+      assertEquals(2, fr.vec(0).at(0), 0);
+      assertEquals(3, fr.vec(0).at(1), 0);
+      assertEquals(6, fr.vec(0).at(2), 0);
+      assertEquals("v", fr.vec(1).factor(fr.vec(1).at8(2)));
+    } finally {
+      if( fr != null ) fr.delete();
+    }
+  }
+
+  @Test public void testPredicateOnAllNAColumn() {
+    Key k = ParserTest.makeByteVec("a,b\n1,\n2,\n");
+    try {
+      ParseSetup ps = ParseSetup.guessSetup(new Key[]{k}, false, ParseSetup.GUESS_HEADER);
+      assertEquals(Vec.T_BAD, ps.getColumnTypes()[1]);
+      ps.setPredicates(ParsePredicate.parse(new String[]{"b > 0"}));
+      try {
+        ParseDataset.parse(Key.make("predicate_all_na.hex"), new Key[]{k}, true, ps).delete();
+        fail("Parsed with a predicate on an all-NA column");
+      } catch( RuntimeException e ) {
+        Throwable t = e;
+        while( t.getCause() != null && !String.valueOf(t.getMessage()).contains("all-NA") ) t = t.getCause();
+        assertTrue(String.valueOf(t.getMessage()).contains("all-NA"));
+      }
+    } finally {
+      Keyed.remove(k);
+    }
+  }
+
+  @Test(expected = H2OIllegalArgumentException.class)
+  public void testUnknownColumn() {
+    ParseSetup ps = new ParseSetup().setColumnNames(ar("a", "b")).setNumberColumns(2);
+    ps.setProjection(new String[]{"nope"}).columnsToRead();
+  }
+}
@@ -0,0 +1,125 @@
+package water.parser;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.DKV;
+import water.Futures;
+import water.Key;
+import water.TestUtil;
+import water.Value;
+import water.fvec.ByteVec;
+import water.fvec.C1NChunk;
+import water.fvec.Frame;
+import water.fvec.Vec;
+import water.util.StringUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.*;
+
+public class PipelinedStreamParseTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  // A ByteVec of the given bytes, in chunks of chunkSize
+  private static Key makeByteVec( byte[] bits, int chunkSize ) {
+    Futures fs = new Futures();
+    int nchunks = (bits.length + chunkSize - 1)/chunkSize;
+    long[] espc = new long[nchunks+1];
+    for( int i = 0; i < nchunks; ++i ) espc[i+1] = Math.min(espc[i] + chunkSize, bits.length);
+    Key k = Vec.newKey();
+    ByteVec bv = new ByteVec(k, Vec.ESPC.rowLayout(k, espc));
+    DKV.put(k, bv, fs);
+    for( int i = 0; i < nchunks; ++i ) {
+      Key ck = bv.chunkKey(i);
+      DKV.put(ck, new Value(ck, new C1NChunk(Arrays.copyOfRange(bits, (int)espc[i], (int)espc[i+1]))), fs);
+    }
+    fs.blockForPending();
+    return k;
+  }
+
+  private static byte[] gzip( byte[] bits ) throws IOException {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    try (GZIPOutputStream gz = new GZIPOutputStream(bos)) { gz.write(bits); }
+    return bos.toByteArray();
+  }
+
+  @Test public void testGzipMatchesPlain() throws IOException {
+    Random r = new Random(0x6219);
+    StringBuilder sb = new StringBuilder("id,x,name,y\n");
+    for( int i = 0; i < 50000; i++ )
+      sb.append(i).append(',').append(r.nextGaussian()).append(',')
+        .append("n").append(r.nextInt(50)).append(',').append(r.nextInt(1000)).append(i % 7 == 0 ? "\r\n" : "\n");
+    byte[] csv = StringUtils.bytesOf(sb.toString());
+    byte[] gz = gzip(csv);
+    Frame plain = null, zipped = null;
+    try {
+      plain = ParseDataset.parse(Key.make("pipelined_plain.hex"), makeByteVec(csv, 1 << 16));
+      Key gzKey = makeByteVec(gz, 1 << 12); // Many small input chunks: many blocks
+      assertTrue(((ByteVec)DKV.getGet(gzKey)).nChunks() > 8);
+      zipped = ParseDataset.parse(Key.make("pipelined_gz.hex"), gzKey);
+      assertEquals(50000, zipped.numRows());
+      assertTrue(zipped.anyVec().nChunks() > 1);
+      assertTrue(isBitIdentical(plain, zipped));
+    } finally {
+      if( plain != null ) plain.delete();
+      if( zipped != null ) zipped.delete();
+    }
+  }
+
+  private static int blockEnd( String s, int len ) {
+    return new PipelinedStreamParse.LineEnds(new ParseSetup().setSeparator((byte)',')).blockEnd(StringUtils.bytesOf(s), len);
+  }
+
+  @Test public void testBlockEnd() {
+    String b = "a,b\nc,d\r\ne,f";
+    assertEquals(9, blockEnd(b, b.length()));
+    assertEquals(4, blockEnd(b, 8));   // CR last: may precede an LF
+    assertEquals(0, blockEnd(b, 3));
+    assertEquals(4, blockEnd("a\rb\rc", 5));
+  }
+
+  @Test public void testBlockEndSkipsQuotedLineEnds() {
+    String q = "1,\"x\ny\",2\n3,\"a\"\"\nb\",4";
+    assertEquals(10, blockEnd(q, q.length()));     // Not inside the second token
+    assertEquals(0, blockEnd(q, 6));               // Nor the first
+    assertEquals(5, blockEnd("1,5\"\n,\"z\"\n3", 7));  // A quote mid-token is no quote
+    assertEquals(10, blockEnd("1,5\"\n,\"z\"\n3", 11));
+    // Scanning incrementally, across a cut, matches scanning at once
+    PipelinedStreamParse.LineEnds ends = new PipelinedStreamParse.LineEnds(new ParseSetup().setSeparator((byte)','));
+    byte[] bits = StringUtils.bytesOf(q);
+    assertEquals(0, ends.blockEnd(bits, 4));
+    assertEquals(10, ends.blockEnd(bits, 13));
+    ends.cut(10);
+    bits = Arrays.copyOfRange(bits, 10, bits.length);
+    assertEquals(0, ends.blockEnd(bits, bits.length));
+  }
+
+  // Multi-line quoted tokens straddling block boundaries parse as in the plain file
+  @Test public void testGzipQuotedLineEnds() throws IOException {
+    Random r = new Random(0x9E0);
+    StringBuilder sb = new StringBuilder("id,text,y\n");
+    for( int i = 0; i < 20000; i++ ) {
+      sb.append(i).append(",\"");
+      for( int j = r.nextInt(4); j >= 0; j-- ) sb.append("w").append(r.nextInt(100)).append(j > 0 ? "\n" : "");
+      sb.append("\",").append(r.nextInt(1000)).append('\n');
+    }
+    byte[] csv = StringUtils.bytesOf(sb.toString());
+    Frame plain = null, zipped = null;
+    try {
+      plain = ParseDataset.parse(Key.make("pipelined_quoted_plain.hex"), makeByteVec(csv, csv.length));
+      Key gzKey = makeByteVec(gzip(csv), 1 << 10);
+      assertTrue(((ByteVec)DKV.getGet(gzKey)).nChunks() > 16);
+      zipped = ParseDataset.parse(Key.make("pipelined_quoted_gz.hex"), gzKey);
+      assertTrue(zipped.anyVec().nChunks() > 16);
+      assertEquals(plain.numRows(), zipped.numRows());
+      assertTrue(isBitIdentical(plain, zipped));
+    } finally {
+      if( plain != null ) plain.delete();
+      if( zipped != null ) zipped.delete();
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package water.persist;
+
+import org.junit.*;
+import org.junit.rules.TemporaryFolder;
+import water.Key;
+import water.TestUtil;
+import water.Value;
+
+import static org.junit.Assert.*;
+
+public class IceSegmentsTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  @Rule public TemporaryFolder tmp = new TemporaryFolder();
+
+  private static Value val( int i ) {
+    byte[] b = new byte[40];
+    for( int j = 0; j < b.length; j++ ) b[j] = (byte)(i*31+j);
+    return new Value(Key.make("iceSeg"+i), b);
+  }
+
+  @Test public void testStoreLoadAcrossSegments() throws Exception {
+    IceSegments segs = new IceSegments(tmp.newFolder(), 100); // 2 Values per segment
+    Value[] vs = new Value[10];
+    for( int i = 0; i < vs.length; i++ ) segs.store(vs[i] = val(i));
+    for( Value v : vs ) assertArrayEquals(v.memOrLoad(), segs.load(v));
+    assertEquals(400, segs.segmentBytes());
+  }
+
+  @Test public void testCompaction() throws Exception {
+    IceSegments segs = new IceSegments(tmp.newFolder(), 100);
+    Value[] vs = new Value[10];
+    for( int i = 0; i < vs.length; i++ ) segs.store(vs[i] = val(i));
+    for( int i = 0; i < 8; i += 2 ) segs.delete(vs[i]); // Half of each sealed segment dies
+    segs.store(val(99));                                // Writer compacts first
+    assertTrue(segs._compactedSegs.get() > 0);
+    for( int i = 0; i < vs.length; i++ )
+      if( i >= 8 || (i&1)==1 ) assertArrayEquals(vs[i].memOrLoad(), segs.load(vs[i]));
+      else assertNull(segs.load(vs[i]));
+    assertTrue(segs.segmentBytes() < 440);
+  }
+}
@@ -0,0 +1,54 @@
+package water.util;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class DecimalToDoubleTest {
+
+  private static void check(long m, int e) {
+    double expected = Double.parseDouble(m + "E" + e);
+    assertEquals(m + "E" + e, Double.doubleToLongBits(expected), Double.doubleToLongBits(DecimalToDouble.toDouble(m, e)));
+  }
+
+  @Test
+  public void testEdgeCases() {
+    long[] ms = {1, 9, 10, -7, 123456789012345678L, Long.MAX_VALUE, Long.MIN_VALUE,
+                 9007199254740993L,   // 2^53+1, halfway between two doubles
+                 17976931348623157L,  // Double.MAX_VALUE digits
+                 22250738585072014L,  // Double.MIN_NORMAL digits
+                 49406564584124654L}; // Double.MIN_VALUE digits
+    for (long m : ms)
+      for (int e = -360; e <= 330; e++)
+        check(m, e);
+    assertEquals(0.0, DecimalToDouble.toDouble(0, 400), 0);
+    assertEquals(Double.POSITIVE_INFINITY, DecimalToDouble.toDouble(1, 400), 0);
+    assertEquals(Double.NEGATIVE_INFINITY, DecimalToDouble.toDouble(-1, 400), 0);
+  }
+
+  @Test
+  public void testRoundToEven() {
+    for (long m = (1L << 53) - 100; m < (1L << 53) + 100; m++)
+      for (int e = -5; e <= 25; e++)
+        check(m, e);
+  }
+
+  @Test
+  public void testRandom() {
+    Random r = new Random(0xD0B1E);
+    for (int i = 0; i < 200000; i++) {
+      long m = r.nextLong() >> r.nextInt(64);
+      int e = r.nextBoolean() ? r.nextInt(60) - 30 : r.nextInt(700) - 360;
+      check(m, e);
+    }
+  }
+
+  @Test
+  public void testPrettyPrintPow10() {
+    assertEquals(0.1, PrettyPrint.pow10(1, -1), 0);
+    assertEquals(1.7976931348623157E308, PrettyPrint.pow10(17976931348623157L, 292), 0);
+    assertEquals(4.9e-324, PrettyPrint.pow10(49406564584124654L, -340), 0);
+  }
+}
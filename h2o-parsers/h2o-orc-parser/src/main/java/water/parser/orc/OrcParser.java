@@ -2,9 +2,13 @@ package water.parser.orc;
 
 import org.apache.hadoop.hive.common.type.HiveDecimal;
 import org.apache.hadoop.hive.ql.exec.vector.*;
+import org.apache.hadoop.hive.ql.io.orc.ColumnStatistics;
+import org.apache.hadoop.hive.ql.io.orc.DoubleColumnStatistics;
+import org.apache.hadoop.hive.ql.io.orc.IntegerColumnStatistics;
 import org.apache.hadoop.hive.ql.io.orc.Reader;
 import org.apache.hadoop.hive.ql.io.orc.RecordReader;
 import org.apache.hadoop.hive.ql.io.orc.StripeInformation;
+import org.apache.hadoop.hive.ql.io.orc.StripeStatistics;
 import org.apache.hadoop.hive.serde2.io.HiveDecimalWritable;
 import org.apache.hadoop.hive.serde2.objectinspector.*;
 import org.joda.time.DateTime;
@@ -16,6 +20,7 @@ import water.Key;
 import water.fvec.Vec;
 import water.parser.*;
 import water.util.ArrayUtils;
+import water.util.Log;
 import water.util.StringUtils;
 
 import java.io.IOException;
@@ -24,6 +29,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static water.parser.orc.OrcUtil.isSupportedSchema;
 import static water.parser.orc.OrcUtil.schemaToColumnType;
@@ -64,6 +70,10 @@ public class OrcParser extends Parser {
     this.orcFileReader = ((OrcParser.OrcParseSetup) setup).orcFileReader;
   }
 
+  // Lifetime stats of this node: stripes never read, as no row could match
+  private static final AtomicLong SKIPPED_STRIPES = new AtomicLong();
+  public static long skippedStripes() { return SKIPPED_STRIPES.get(); }
+
   private transient int _cidx;
 
   private transient HashMap<Integer,HashMap<Number,byte[]>> _toStringMaps = new HashMap<>();
@@ -116,9 +126,15 @@ public class OrcParser extends Parser {
     // write one stripe of data to H2O frame
     String [] orcTypes = setup.getColumnTypesString();
     boolean[] toInclude = setup.getToInclude();
+    boolean[] toRead = setup.columnsToRead(); // projection, by H2O column
     try {
+      if (!mayMatch(thisStripe, chunkId, toInclude, orcTypes)) {
+        Log.info("Skipping stripe #", chunkId, " not matching ", Arrays.toString(setup.getPredicates()));
+        SKIPPED_STRIPES.incrementAndGet();
+        return dout;
+      }
       RecordReader perStripe = orcFileReader.rows(thisStripe.getOffset(), thisStripe.getDataLength(),
-          setup.getToInclude(), null, setup.getColumnNames());
+          orcInclude(toInclude, toRead), null, setup.getColumnNames());
       VectorizedRowBatch batch = null;
       long rows = 0;
       long rowCount = thisStripe.getNumberOfRows();
@@ -132,7 +148,9 @@ public class OrcParser extends Parser {
         int colIndex = 0;
         for (int col = 0; col < batch.numCols; ++col) {  // read one column at a time;
           if (toInclude[col + 1]) { // only write a column if we actually want it
-            if(_setup.getColumnTypes()[colIndex] != Vec.T_BAD)
+            if (toRead != null && !toRead[colIndex])
+              dout.addNAs(colIndex, nrows); // projected out, dropped after the parse
+            else if(_setup.getColumnTypes()[colIndex] != Vec.T_BAD)
               write1column(dataVectors[col], orcTypes[colIndex], colIndex, nrows, dout);
             else dout.addNAs(col,nrows);
             colIndex++;
@@ -153,6 +171,58 @@ public class OrcParser extends Parser {
   }
 
 
+  /**
+   * ORC columns to read: the included ones which are also in the projection, if any.
+   */
+  private static boolean[] orcInclude(boolean[] toInclude, boolean[] toRead) {
+    if (toRead == null) return toInclude;
+    boolean[] include = toInclude.clone();
+    int colIndex = 0;
+    for (int col = 0; col < include.length - 1; ++col)
+      if (toInclude[col + 1])
+        include[col + 1] = toRead[colIndex++];
+    return include;
+  }
+
+  /**
+   * Can any row of the stripe match the row predicates, as told by the min/max statistics of
+   * the tested columns.  Rows of the stripes read are filtered after the parse.
+   */
+  private boolean mayMatch(StripeInformation stripe, int stripeId, boolean[] toInclude, String[] orcTypes) throws IOException {
+    if (!_setup.hasPredicates()) return true;
+    List<StripeStatistics> stripeStats = orcFileReader.getMetadata().getStripeStatistics();
+    if (stripeStats == null || stripeStats.size() <= stripeId) return true; // written without
+    ColumnStatistics[] stats = stripeStats.get(stripeId).getColumnStatistics();
+    // Statistics actually recorded count every row at the root; else they are all zeros
+    if (stats.length < toInclude.length || stats[0].getNumberOfValues() != stripe.getNumberOfRows()) return true;
+    for (ParsePredicate p : _setup.getPredicates()) {
+      int colIndex = _setup.columnIndex(p._column);
+      byte type = _setup.getColumnTypes()[colIndex];
+      if (type != Vec.T_NUM) continue; // times are shifted when read, do not compare
+      int id = 0, included = -1;
+      while (included < colIndex) if (toInclude[++id]) included++; // ORC id of the column
+      ColumnStatistics cs = stats[id];
+      if (cs.getNumberOfValues() == 0) return false; // all NAs, which never match
+      switch (orcTypes[colIndex].toLowerCase()) {
+        case "bigint":
+        case "int":
+        case "smallint":
+        case "tinyint":
+          if (cs instanceof IntegerColumnStatistics &&
+              !p.mayMatch(((IntegerColumnStatistics) cs).getMinimum(), ((IntegerColumnStatistics) cs).getMaximum()))
+            return false;
+          break;
+        case "float":
+        case "double":
+          if (cs instanceof DoubleColumnStatistics &&
+              !p.mayMatch(((DoubleColumnStatistics) cs).getMinimum(), ((DoubleColumnStatistics) cs).getMaximum()))
+            return false;
+          break;
+      }
+    }
+    return true;
+  }
+
   /**
    * This method writes one column of H2O data frame at a time.
    *
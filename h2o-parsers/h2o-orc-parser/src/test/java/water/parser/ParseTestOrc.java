@@ -1,5 +1,14 @@
 package water.parser;
 
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hive.ql.io.orc.IntegerColumnStatistics;
+import org.apache.hadoop.hive.ql.io.orc.OrcFile;
+import org.apache.hadoop.hive.ql.io.orc.Reader;
+import org.apache.hadoop.hive.ql.io.orc.StripeStatistics;
+import org.apache.hadoop.hive.ql.io.orc.Writer;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
 import org.junit.Assert;
 import org.junit.Assume;
 import org.junit.BeforeClass;
@@ -8,22 +17,27 @@ import org.junit.Test;
 import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 
 import water.Job;
 import water.Key;
+import water.MRTask;
 import water.TestUtil;
 import water.api.schemas3.ParseSetupV3;
 import water.fvec.Frame;
 import water.fvec.NFSFileVec;
 import water.fvec.Vec;
+import water.parser.orc.OrcParser;
 import water.parser.orc.OrcParserProvider;
 import water.util.ArrayUtils;
 import water.util.FileUtils;
 import water.util.Log;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static water.parser.OrcTestUtils.compareOrcAndH2OFrame;
 import static water.util.FileUtils.*;
 
@@ -146,4 +160,134 @@ public class ParseTestOrc extends TestUtil {
             Log.info("Parser test passed!  Number of files parsed is " + totalFilesTested);
         }
     }
+
+    @Test
+    public void testParseSkipsStripes() throws IOException {
+        File f = writeSortedOrcFile("pruning.orc", 50000);
+        int expected = 0;
+        List<StripeStatistics> stripes = stripeStatistics(f);
+        assertTrue("Needs several stripes", stripes.size() > 5);
+        for (StripeStatistics ss : stripes)
+            if (((IntegerColumnStatistics) ss.getColumnStatistics()[1]).getMaximum() < 40000) expected++;
+        assertTrue(expected > 0);
+        Frame fr = null;
+        try {
+            long skipped = SkippedStripes.count();
+            // Tests a column left out of the projection
+            fr = parseFiltered(f, ar("x"), "id >= 40000");
+            assertEquals(expected, SkippedStripes.count() - skipped);
+            assertArrayEquals(ar("x"), fr.names());
+            assertEquals(10000, fr.numRows());
+            for (int row = 0; row < fr.numRows(); row++) {
+                int id = 40000 + row;
+                if (isNullX(id))
+                    assertTrue("Value in column x", fr.vec(0).isNA(row));
+                else
+                    assertEquals("Value in column x", id * 0.5, fr.vec(0).at(row), 1e-9);
+            }
+        } finally {
+            if (fr != null) fr.delete();
+        }
+    }
+
+    @Test
+    public void testParseSkipsAllNullStripes() throws IOException {
+        File f = writeSortedOrcFile("allNull.orc", 50000);
+        int expected = 0;
+        for (StripeStatistics ss : stripeStatistics(f))
+            if (ss.getColumnStatistics()[2].getNumberOfValues() == 0) expected++;
+        assertTrue("Needs stripes without any x", expected > 0);
+        Frame fr = null;
+        try {
+            long skipped = SkippedStripes.count();
+            fr = parseFiltered(f, ar("id", "x"), "x >= 0");
+            assertEquals(expected, SkippedStripes.count() - skipped);
+            int row = 0;
+            for (int id = 0; id < 50000; id++) {
+                if (isNullX(id)) continue;
+                assertEquals("Value in column id", id, fr.vec(0).at8(row));
+                assertEquals("Value in column x", id * 0.5, fr.vec(1).at(row), 1e-9);
+                row++;
+            }
+            assertEquals(row, fr.numRows());
+        } finally {
+            if (fr != null) fr.delete();
+        }
+    }
+
+    @Test
+    public void testParseWithoutStripeStatistics() throws IOException {
+        File f = locateFile("smalldata/parser/orc/demo-11-zlib.orc"); // Hive 0.11 format
+        Assume.assumeTrue(f != null && f.exists());
+        assertTrue("Written before stripe statistics", stripeStatistics(f).isEmpty());
+        Frame all = null, fr = null;
+        try {
+            NFSFileVec nfs = makeNfsFileVec(f.getCanonicalPath());
+            String col = ParseSetup.guessSetup(new Key[]{nfs._key}, false, ParseSetup.GUESS_HEADER).getColumnNames()[0];
+            all = parseFiltered(f, ar(col));
+            assertTrue(all.vec(0).isNumeric());
+            double mean = all.vec(0).mean();
+            long matching = 0;
+            for (long row = 0; row < all.numRows(); row++)
+                if (all.vec(0).at(row) >= mean) matching++;
+            long skipped = SkippedStripes.count();
+            fr = parseFiltered(f, ar(col), col + " >= " + mean);
+            assertEquals("Nothing to prune on", 0, SkippedStripes.count() - skipped);
+            assertEquals(matching, fr.numRows());
+        } finally {
+            if (all != null) all.delete();
+            if (fr != null) fr.delete();
+        }
+    }
+
+    private static Frame parseFiltered(File f, String[] projection, String... predicates) throws IOException {
+        NFSFileVec nfs = makeNfsFileVec(f.getCanonicalPath());
+        Key[] keys = new Key[]{nfs._key};
+        ParseSetup ps = ParseSetup.guessSetup(keys, false, ParseSetup.GUESS_HEADER);
+        ps.setProjection(projection).setPredicates(ParsePredicate.parse(predicates));
+        return ParseDataset.parse(Key.make(), keys, true, ps);
+    }
+
+    private static List<StripeStatistics> stripeStatistics(File f) throws IOException {
+        Reader reader = OrcFile.createReader(new Path(f.getPath()), OrcFile.readerOptions(new Configuration()));
+        return reader.getMetadata().getStripeStatistics();
+    }
+
+    // Rows sorted by id; x is missing in every other run of 5000 rows, the rows of a stripe
+    public static class Row {
+        Integer id;
+        Double x;
+        String s;
+        Row(int i) {
+            id = i;
+            x = isNullX(i) ? null : i * 0.5;
+            s = "s" + (i % 10);
+        }
+    }
+
+    private static boolean isNullX(int i) { return (i / 5000) % 2 == 1; }
+
+    private static File writeSortedOrcFile(String name, int nrows) throws IOException {
+        File f = new File(java.nio.file.Files.createTempDirectory("orc").toFile(), name);
+        ObjectInspector inspector = ObjectInspectorFactory.getReflectionObjectInspector(Row.class,
+                ObjectInspectorFactory.ObjectInspectorOptions.JAVA);
+        // The writer checks its size every 5000 rows: small stripes end there
+        Writer writer = OrcFile.createWriter(new Path(f.getPath()),
+                OrcFile.writerOptions(new Configuration()).inspector(inspector).stripeSize(10000).bufferSize(1000));
+        try {
+            for (int i = 0; i < nrows; i++)
+                writer.addRow(new Row(i));
+        } finally {
+            writer.close();
+        }
+        return f;
+    }
+
+    // Stripes skipped by all the nodes so far
+    private static class SkippedStripes extends MRTask<SkippedStripes> {
+        long _n;
+        @Override protected void setupLocal() { _n = OrcParser.skippedStripes(); }
+        @Override public void reduce(SkippedStripes other) { _n += other._n; }
+        static long count() { return new SkippedStripes().doAllNodes()._n; }
+    }
 }
\ No newline at end of file
@@ -39,15 +39,19 @@ class ChunkConverter extends GroupConverter {
 
   private int _currentRecordIdx = -1;
 
-  ChunkConverter(MessageType parquetSchema, byte[] chunkSchema, ParseWriter writer) {
+  /**
+   * @param fileSchema schema of the file, its fields are the columns of the chunk
+   * @param requestedSchema fields actually read, in file order; columns of the other fields are NAs
+   */
+  ChunkConverter(MessageType fileSchema, MessageType requestedSchema, byte[] chunkSchema, ParseWriter writer) {
     _maxStringSize = getMaxStringSize();
     _writer = new WriterDelegate(writer, chunkSchema.length);
-    int colIdx = 0;
-    _converters = new Converter[chunkSchema.length];
-    for (Type parquetField : parquetSchema.getFields()) {
+    _converters = new Converter[requestedSchema.getFieldCount()];
+    int fieldIdx = 0;
+    for (Type parquetField : requestedSchema.getFields()) {
       assert parquetField.isPrimitive();
-      _converters[colIdx] = newConverter(colIdx, chunkSchema[colIdx], parquetField.asPrimitiveType());
-      colIdx++;
+      int colIdx = fileSchema.getFieldIndex(parquetField.getName());
+      _converters[fieldIdx++] = newConverter(colIdx, chunkSchema[colIdx], parquetField.asPrimitiveType());
     }
   }
 
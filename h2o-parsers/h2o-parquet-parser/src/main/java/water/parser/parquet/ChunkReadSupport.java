@@ -5,29 +5,44 @@ import org.apache.parquet.hadoop.api.InitContext;
 import org.apache.parquet.hadoop.api.ReadSupport;
 import org.apache.parquet.io.api.RecordMaterializer;
 import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Type;
 import water.parser.ParseWriter;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 public class ChunkReadSupport extends ReadSupport<Integer> {
 
   private ParseWriter _writer;
   private byte[] _chunkSchema;
+  private boolean[] _read;
 
-  public ChunkReadSupport(ParseWriter writer, byte[] chunkSchema) {
+  /**
+   * @param read columns to read, null for all; the others are filled with NAs
+   */
+  public ChunkReadSupport(ParseWriter writer, byte[] chunkSchema, boolean[] read) {
     _writer = writer;
     _chunkSchema = chunkSchema;
+    _read = read;
   }
 
   @Override
   public ReadContext init(InitContext context) {
-    return new ReadContext(context.getFileSchema());
+    MessageType fileSchema = context.getFileSchema();
+    if (_read == null)
+      return new ReadContext(fileSchema);
+    // Column projection: Parquet doesn't even fetch the column chunks of the other fields
+    List<Type> fields = new ArrayList<>();
+    for (int i = 0; i < fileSchema.getFieldCount(); i++)
+      if (_read[i]) fields.add(fileSchema.getType(i));
+    return new ReadContext(new MessageType(fileSchema.getName(), fields));
   }
 
   @Override
   public RecordMaterializer<Integer> prepareForRead(Configuration configuration, Map<String, String> keyValueMetaData,
                                                     MessageType fileSchema, ReadContext readContext) {
-    return new ChunkRecordMaterializer(fileSchema, _chunkSchema, _writer);
+    return new ChunkRecordMaterializer(fileSchema, readContext.getRequestedSchema(), _chunkSchema, _writer);
   }
 
 }
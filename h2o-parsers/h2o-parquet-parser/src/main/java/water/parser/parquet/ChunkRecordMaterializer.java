@@ -16,8 +16,8 @@ class ChunkRecordMaterializer extends RecordMaterializer<Integer> {
 
   private ChunkConverter _converter;
 
-  ChunkRecordMaterializer(MessageType parquetSchema, byte[] chunkSchema, ParseWriter writer) {
-    _converter = new ChunkConverter(parquetSchema, chunkSchema, writer);
+  ChunkRecordMaterializer(MessageType fileSchema, MessageType requestedSchema, byte[] chunkSchema, ParseWriter writer) {
+    _converter = new ChunkConverter(fileSchema, requestedSchema, chunkSchema, writer);
   }
 
   @Override
@@ -1,7 +1,9 @@
 package water.parser.parquet;
 
+import org.apache.parquet.column.statistics.Statistics;
 import org.apache.parquet.format.converter.ParquetMetadataConverter;
 import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
 import org.apache.parquet.schema.MessageType;
 import org.apache.parquet.schema.OriginalType;
@@ -17,9 +19,11 @@ import water.util.IcedHashMapGeneric;
 import water.util.Log;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.apache.parquet.hadoop.ParquetFileWriter.MAGIC;
 
@@ -30,6 +34,10 @@ public class ParquetParser extends Parser {
 
   private static final int MAX_PREVIEW_RECORDS = 1000;
 
+  // Lifetime stats of this node: row groups never read, as no row could match
+  private static final AtomicLong SKIPPED_BLOCKS = new AtomicLong();
+  static long skippedBlocks() { return SKIPPED_BLOCKS.get(); }
+
   private final byte[] _metadata;
 
   ParquetParser(ParseSetup setup, Key<Job> jobKey) {
@@ -53,8 +61,11 @@ public class ParquetParser extends Parser {
       Log.trace("Chunk #", cidx, " doesn't contain any Parquet block center.");
       return dout;
     }
+    metadata = pruneBlocks(metadata, cidx);
+    if (metadata.getBlocks().isEmpty())
+      return dout;
     Log.info("Processing ", metadata.getBlocks().size(), " blocks of chunk #", cidx);
-    VecParquetReader reader = new VecParquetReader(vec, metadata, dout, _setup.getColumnTypes());
+    VecParquetReader reader = new VecParquetReader(vec, metadata, dout, _setup.getColumnTypes(), _setup.columnsToRead());
     try {
       Integer recordNumber;
       do {
@@ -66,6 +77,52 @@ public class ParquetParser extends Parser {
     return dout;
   }
 
+  // Drops the row groups where no row can match the row predicates, as told by the min/max
+  // statistics of the tested columns; the rows of the other row groups are filtered after the parse
+  private ParquetMetadata pruneBlocks(ParquetMetadata metadata, int cidx) {
+    if (!_setup.hasPredicates())
+      return metadata;
+    MessageType schema = metadata.getFileMetaData().getSchema();
+    List<BlockMetaData> kept = new ArrayList<>();
+    for (BlockMetaData block : metadata.getBlocks()) {
+      if (mayMatch(block, schema))
+        kept.add(block);
+    }
+    int skipped = metadata.getBlocks().size() - kept.size();
+    if (skipped == 0)
+      return metadata;
+    SKIPPED_BLOCKS.addAndGet(skipped);
+    Log.info("Skipping ", skipped, " blocks of chunk #", cidx, " not matching ", Arrays.toString(_setup.getPredicates()));
+    return new ParquetMetadata(metadata.getFileMetaData(), kept);
+  }
+
+  private boolean mayMatch(BlockMetaData block, MessageType schema) {
+    byte[] types = _setup.getColumnTypes();
+    for (ParsePredicate p : _setup.getPredicates()) {
+      int col = _setup.columnIndex(p._column);
+      Type field = schema.getType(col);
+      if (types[col] != Vec.T_NUM && types[col] != Vec.T_TIME)
+        continue;
+      // only plain numbers and millisecond timestamps are stored the way H2O reads them
+      if (field.getOriginalType() != null && field.getOriginalType() != OriginalType.TIMESTAMP_MILLIS)
+        continue;
+      ColumnChunkMetaData column = block.getColumns().get(col);
+      Statistics stats = column.getStatistics();
+      if (stats == null || stats.isEmpty())
+        continue;
+      if (stats.getNumNulls() == block.getRowCount())
+        return false; // NAs never match
+      if (!stats.hasNonNullValue())
+        continue;
+      Object min = stats.genericGetMin();
+      Object max = stats.genericGetMax();
+      if (min instanceof Number && max instanceof Number &&
+              !p.mayMatch(((Number) min).doubleValue(), ((Number) max).doubleValue()))
+        return false;
+    }
+    return true;
+  }
+
   public static ParquetParseSetup guessFormatSetup(ByteVec vec, byte[] bits) {
     if (bits.length < MAGIC.length) {
       return null;
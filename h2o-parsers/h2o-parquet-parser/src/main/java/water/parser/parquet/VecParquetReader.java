@@ -61,14 +61,23 @@ public class VecParquetReader implements Closeable {
   private final ParquetMetadata metadata;
   private final ParseWriter writer;
   private final byte[] chunkSchema;
+  private final boolean[] read;
 
   private ParquetReader<Integer> reader;
 
   public VecParquetReader(Vec vec, ParquetMetadata metadata, ParseWriter writer, byte[] chunkSchema) {
+    this(vec, metadata, writer, chunkSchema, null);
+  }
+
+  /**
+   * @param read columns to read, null for all; the others are filled with NAs
+   */
+  public VecParquetReader(Vec vec, ParquetMetadata metadata, ParseWriter writer, byte[] chunkSchema, boolean[] read) {
     this.vec = vec;
     this.metadata = metadata;
     this.writer = writer;
     this.chunkSchema = chunkSchema;
+    this.read = read;
   }
 
   /**
@@ -87,7 +96,7 @@ public class VecParquetReader implements Closeable {
     assert reader == null;
     Configuration conf = VecFileSystem.makeConfiguration(vec);
     conf.setInt(PARQUET_READ_PARALLELISM, 1); // disable parallelism (just one virtual file!)
-    ChunkReadSupport crSupport = new ChunkReadSupport(writer, chunkSchema);
+    ChunkReadSupport crSupport = new ChunkReadSupport(writer, chunkSchema, read);
     ParquetReader.Builder<Integer> prBuilder = ParquetReader.builder(crSupport, VecFileSystem.VEC_PATH)
             .withConf(conf)
             .withFilter(new FilterCompat.Filter() {
@@ -12,8 +12,11 @@ import org.apache.parquet.avro.AvroParquetWriter;
 import org.apache.parquet.column.ParquetProperties;
 import org.apache.parquet.example.data.Group;
 import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.hadoop.ParquetFileReader;
 import org.apache.parquet.hadoop.ParquetWriter;
 import org.apache.parquet.hadoop.example.GroupWriteSupport;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
 import org.apache.parquet.io.api.Binary;
 import org.apache.parquet.schema.MessageType;
 import org.junit.Assert;
@@ -27,6 +30,7 @@ import water.fvec.NewChunk;
 import water.fvec.Vec;
 import water.parser.BufferedString;
 import water.parser.ParseDataset;
+import water.parser.ParsePredicate;
 import water.parser.ParseSetup;
 import water.util.IcedInt;
 
@@ -38,6 +42,7 @@ import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 import java.util.UUID;
 
 import static org.apache.parquet.hadoop.metadata.CompressionCodecName.UNCOMPRESSED;
@@ -312,6 +317,99 @@ public class ParseTestParquet extends TestUtil {
     assertFrameAssertion(assertion);
   }
 
+  @Test
+  public void testParseProjection() throws IOException {
+    File f = ParquetFileGenerator.generateSortedParquetFile(Files.createTempDir(), "projection.parquet", 10000);
+    Frame fr = null;
+    try {
+      // Leaves out the first field: the requested schema no longer lines up with the file schema
+      fr = parseFiltered(f, ar("x", "s"));
+      assertArrayEquals(ar("x", "s"), fr.names());
+      assertEquals(10000, fr.numRows());
+      for (int row = 0; row < fr.numRows(); row++) {
+        if (ParquetFileGenerator.isNullX(row))
+          assertTrue("Value in column x", fr.vec(0).isNA(row));
+        else
+          assertEquals("Value in column x", row * 0.5, fr.vec(0).at(row), EPSILON);
+        assertEquals("Value in column s", "s" + (row % 10), fr.vec(1).factor(fr.vec(1).at8(row)));
+      }
+    } finally {
+      if (fr != null) fr.delete();
+    }
+  }
+
+  @Test
+  public void testParseSkipsRowGroups() throws IOException {
+    File f = ParquetFileGenerator.generateSortedParquetFile(Files.createTempDir(), "pruning.parquet", 10000);
+    List<BlockMetaData> blocks = ParquetFileReader.readFooter(new Configuration(), new Path(f.getPath())).getBlocks();
+    assertTrue("Needs several row groups", blocks.size() > 10);
+    int expected = 0;
+    for (BlockMetaData block : blocks)
+      if (((Number) block.getColumns().get(0).getStatistics().genericGetMax()).intValue() < 8000) expected++;
+    assertTrue(expected > 0);
+    Frame fr = null;
+    try {
+      long skipped = SkippedBlocks.count();
+      // Tests a column left out of the projection
+      fr = parseFiltered(f, ar("x"), "id >= 8000");
+      assertEquals(expected, SkippedBlocks.count() - skipped);
+      assertArrayEquals(ar("x"), fr.names());
+      assertEquals(2000, fr.numRows());
+      for (int row = 0; row < fr.numRows(); row++) {
+        int id = 8000 + row;
+        if (ParquetFileGenerator.isNullX(id))
+          assertTrue("Value in column x", fr.vec(0).isNA(row));
+        else
+          assertEquals("Value in column x", id * 0.5, fr.vec(0).at(row), EPSILON);
+      }
+    } finally {
+      if (fr != null) fr.delete();
+    }
+  }
+
+  @Test
+  public void testParseSkipsAllNullRowGroups() throws IOException {
+    File f = ParquetFileGenerator.generateSortedParquetFile(Files.createTempDir(), "allNull.parquet", 10000);
+    int expected = 0;
+    for (BlockMetaData block : ParquetFileReader.readFooter(new Configuration(), new Path(f.getPath())).getBlocks()) {
+      ColumnChunkMetaData x = block.getColumns().get(1);
+      if (x.getStatistics().getNumNulls() == block.getRowCount()) expected++;
+    }
+    assertTrue("Needs row groups without any x", expected > 0);
+    Frame fr = null;
+    try {
+      long skipped = SkippedBlocks.count();
+      fr = parseFiltered(f, ar("id", "x"), "x >= 0");
+      assertEquals(expected, SkippedBlocks.count() - skipped);
+      int row = 0;
+      for (int id = 0; id < 10000; id++) {
+        if (ParquetFileGenerator.isNullX(id)) continue;
+        assertEquals("Value in column id", id, fr.vec(0).at8(row));
+        assertEquals("Value in column x", id * 0.5, fr.vec(1).at(row), EPSILON);
+        row++;
+      }
+      assertEquals(row, fr.numRows());
+    } finally {
+      if (fr != null) fr.delete();
+    }
+  }
+
+  private static Frame parseFiltered(File f, String[] projection, String... predicates) throws IOException {
+    NFSFileVec nfs = makeNfsFileVec(f.getCanonicalPath());
+    Key[] keys = new Key[]{nfs._key};
+    ParseSetup ps = ParseSetup.guessSetup(keys, false, ParseSetup.GUESS_HEADER);
+    ps.setProjection(projection).setPredicates(ParsePredicate.parse(predicates));
+    return ParseDataset.parse(Key.make(), keys, true, ps);
+  }
+
+  // Row groups skipped by all the nodes so far
+  private static class SkippedBlocks extends MRTask<SkippedBlocks> {
+    long _n;
+    @Override protected void setupLocal() { _n = ParquetParser.skippedBlocks(); }
+    @Override public void reduce(SkippedBlocks other) { _n += other._n; }
+    static long count() { return new SkippedBlocks().doAllNodes()._n; }
+  }
+
   @Test
   public void testParseCategoricalsWithZeroCharacters() {
     FrameAssertion assertion = new GenFrameAssertion("nullCharacters.parquet", TestUtil.ari(1, 100)) {
@@ -470,6 +568,33 @@ class ParquetFileGenerator {
     return f;
   }
 
+  /**
+   * Rows sorted by id, in many small row groups; x is missing in every other run of 1000 rows.
+   */
+  static File generateSortedParquetFile(File parentDir, String filename, int nrows) throws IOException {
+    File f = new File(parentDir, filename);
+
+    Configuration conf = new Configuration();
+    MessageType schema = parseMessageType(
+            "message test { required int32 id; optional double x; required binary s (UTF8); } ");
+    GroupWriteSupport.setSchema(schema, conf);
+    SimpleGroupFactory fact = new SimpleGroupFactory(schema);
+    ParquetWriter<Group> writer = new ParquetWriter<Group>(new Path(f.getPath()), new GroupWriteSupport(),
+            UNCOMPRESSED, 1024, 1024, 512, true, false, ParquetProperties.WriterVersion.PARQUET_2_0, conf);
+    try {
+      for (int i = 0; i < nrows; i++) {
+        Group g = fact.newGroup().append("id", i);
+        if (!isNullX(i)) { g = g.append("x", i * 0.5); }
+        writer.write(g.append("s", "s" + (i % 10)));
+      }
+    } finally {
+      writer.close();
+    }
+    return f;
+  }
+
+  static boolean isNullX(int i) { return (i / 1000) % 2 == 1; }
+
   static File generateParquetFileWithNullCharacters(File parentDir, String filename, int nrows) throws IOException {
     File f = new File(parentDir, filename);
 